@@ -8,6 +8,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -35,6 +36,9 @@ public class AuthController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Autowired
     private org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
 
@@ -89,6 +93,7 @@ public class AuthController {
     public ResponseEntity<?> logout(@RequestHeader("Authorization") String token) {
         try {
             String jwtToken = token.replace("Bearer ", "");
+            authService.logout(jwtUtil.getUserIdFromToken(jwtToken));
             Map<String, String> response = new HashMap<>();
             response.put("message", "Logout successful");
             return ResponseEntity.ok(response);
@@ -99,6 +104,46 @@ public class AuthController {
         }
     }
 
+    @Operation(summary = "계정 비활성화", description = "계정을 비활성화합니다. 이후 기존 토큰으로도 인증할 수 없습니다")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "비활성화 성공"),
+        @ApiResponse(responseCode = "400", description = "잘못된 토큰")
+    })
+    @PostMapping("/deactivate")
+    public ResponseEntity<?> deactivate(@RequestHeader("Authorization") String token) {
+        try {
+            String jwtToken = token.replace("Bearer ", "");
+            authService.deactivateAccount(jwtUtil.getUserIdFromToken(jwtToken));
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Account deactivated");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @Operation(summary = "회원 탈퇴", description = "개인정보를 삭제하고 계정을 비활성화합니다")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "탈퇴 성공"),
+        @ApiResponse(responseCode = "400", description = "잘못된 토큰")
+    })
+    @DeleteMapping("/account")
+    public ResponseEntity<?> deleteAccount(@RequestHeader("Authorization") String token) {
+        try {
+            String jwtToken = token.replace("Bearer ", "");
+            authService.deleteAccount(jwtUtil.getUserIdFromToken(jwtToken));
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Account deleted");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     @Operation(summary = "게스트 로그인", description = "임시 게스트 계정을 생성하고 JWT 토큰을 발급합니다")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "게스트 로그인 성공"),
@@ -123,6 +168,7 @@ public class AuthController {
                 .build();
 
             userRepository.save(guestUser);
+            eventPublisher.publishEvent(new UserProfileChangedEvent(guestUser));
 
             // 기본 "일반 채팅" 방 찾기 또는 생성
             RoomEntity defaultRoom = roomRepository.findByRoomNameAndRoomType("일반 채팅", RoomEntity.RoomType.PUBLIC)
@@ -3,6 +3,7 @@ package com.beam;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -10,6 +11,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.Random;
+import java.util.UUID;
 
 @Service
 public class AuthService {
@@ -19,6 +21,12 @@ public class AuthService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserProfileLoader userProfileLoader;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -46,6 +54,7 @@ public class AuthService {
                 .build();
 
         user = userRepository.save(user);
+        eventPublisher.publishEvent(new UserProfileChangedEvent(user));
 
         String token = jwtUtil.generateToken(user.getUsername(), user.getId());
 
@@ -75,6 +84,7 @@ public class AuthService {
         user.setLastSeen(LocalDateTime.now());
         user.setIsOnline(true);
         userRepository.save(user);
+        userProfileLoader.invalidate(user.getId());
 
         String token = jwtUtil.generateToken(user.getUsername(), user.getId());
 
@@ -96,9 +106,53 @@ public class AuthService {
             user.setIsOnline(false);
             user.setLastSeen(LocalDateTime.now());
             userRepository.save(user);
+            userProfileLoader.invalidate(userId);
+            eventPublisher.publishEvent(new UserStatusChangedEvent(userId, UserStatusChangedEvent.Reason.LOGGED_OUT));
         }
     }
 
+    /**
+     * 계정 비활성화 - 이후 로그인/토큰 인증 불가 (UserStatusCache는 커밋 후 무효화)
+     */
+    @Transactional
+    public void deactivateAccount(Long userId) {
+        UserEntity user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        user.setIsActive(false);
+        user.setIsOnline(false);
+        user.setLastSeen(LocalDateTime.now());
+        userRepository.save(user);
+        userProfileLoader.invalidate(userId);
+        eventPublisher.publishEvent(new UserProfileChangedEvent(user));
+        eventPublisher.publishEvent(new UserStatusChangedEvent(userId, UserStatusChangedEvent.Reason.DEACTIVATED));
+    }
+
+    /**
+     * 회원 탈퇴 - 메시지/친구/방 기록이 참조하므로 행은 남기고 개인정보를 지운 뒤 비활성화
+     */
+    @Transactional
+    public void deleteAccount(Long userId) {
+        UserEntity user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        user.setIsActive(false);
+        user.setIsOnline(false);
+        user.setLastSeen(LocalDateTime.now());
+        user.setPassword(passwordEncoder.encode(UUID.randomUUID().toString()));
+        user.setDisplayName("탈퇴한 사용자");
+        user.setPhoneNumber(null);
+        user.setEmail(null);
+        user.setProfileImage(null);
+        user.setStatusMessage(null);
+        user.setVerificationCode(null);
+        user.setVerificationCodeExpiresAt(null);
+        userRepository.save(user);
+        userProfileLoader.invalidate(userId);
+        eventPublisher.publishEvent(new UserProfileChangedEvent(user));
+        eventPublisher.publishEvent(new UserStatusChangedEvent(userId, UserStatusChangedEvent.Reason.DELETED));
+    }
+
     @Transactional
     public String sendVerificationCode(String phoneNumber) {
         UserEntity user = userRepository.findByPhoneNumber(phoneNumber)
@@ -0,0 +1,187 @@
+package com.beam;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * {@link ClusterBus} 공통 부분: 송신 큐와 배치 전송 스레드
+ * - publish는 큐에 넣기만 하므로 WebSocket 처리 스레드가 네트워크를 기다리지 않음
+ * - 전송 스레드는 큐에 쌓인 이벤트를 한 번에 꺼내 sendBatch로 보냄
+ *   (부하가 없으면 이벤트 1개씩 지연 없이, 부하가 있으면 전송하는 동안 쌓인 만큼 묶임)
+ * - 큐가 가득 차면 이벤트를 버림 (로컬 전송에는 영향 없음)
+ * - sendBatch 실패 시 한 번 재시도하고, 그래도 실패하면 batch를 버리고 dropped로 집계
+ *
+ * Metrics: beam_cluster_bus_events_total{bus,direction}, beam_cluster_bus_batches_total{bus},
+ * beam_cluster_bus_dropped_total{bus}, beam_cluster_bus_queue_depth{bus}
+ */
+abstract class BatchingClusterBus implements ClusterBus {
+
+    private static final long RETRY_DELAY_MS = 200;
+
+    private final String name;
+    private final BlockingQueue<ClusterEvent> queue;
+    private final int maxBatchSize;
+    private final Counter publishedCounter;
+    private final Counter receivedCounter;
+    private final Counter batchCounter;
+    private final Counter droppedCounter;
+
+    private volatile String nodeId;
+    private volatile Consumer<ClusterEvent> receiver;
+    private volatile boolean running;
+    private Thread sender;
+
+    protected BatchingClusterBus(String name, MeterRegistry meterRegistry, int queueCapacity, int maxBatchSize) {
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+
+        publishedCounter = Counter.builder("beam_cluster_bus_events_total")
+                .tag("bus", name).tag("direction", "published")
+                .description("Room events sent to or received from peer nodes")
+                .register(meterRegistry);
+        receivedCounter = Counter.builder("beam_cluster_bus_events_total")
+                .tag("bus", name).tag("direction", "received")
+                .description("Room events sent to or received from peer nodes")
+                .register(meterRegistry);
+        batchCounter = Counter.builder("beam_cluster_bus_batches_total")
+                .tag("bus", name)
+                .description("Batches sent to peer nodes")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("beam_cluster_bus_dropped_total")
+                .tag("bus", name)
+                .description("Room events dropped because the cluster send queue was full or sending failed")
+                .register(meterRegistry);
+        Gauge.builder("beam_cluster_bus_queue_depth", queue, BlockingQueue::size)
+                .tag("bus", name)
+                .description("Room events waiting to be sent to peer nodes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    protected String getNodeId() {
+        return nodeId;
+    }
+
+    protected boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public synchronized void start(String nodeId, Consumer<ClusterEvent> receiver) {
+        this.nodeId = nodeId;
+        this.receiver = receiver;
+        running = true;
+        connect();
+
+        sender = new Thread(this::sendLoop, "beam-cluster-" + name);
+        sender.setDaemon(true);
+        sender.start();
+        System.out.println("Cluster bus started: " + name + " (node " + nodeId + ")");
+    }
+
+    @Override
+    public void publish(ClusterEvent event) {
+        if (running && !queue.offer(event)) {
+            droppedCounter.increment();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            // 남은 이벤트를 보낼 시간을 잠깐 줌
+            sender.join(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        disconnect();
+    }
+
+    private void sendLoop() {
+        List<ClusterEvent> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                ClusterEvent first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                if (trySend(batch) || retrySend(batch)) {
+                    batchCounter.increment();
+                    publishedCounter.increment(batch.size());
+                } else {
+                    droppedCounter.increment(batch.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private boolean trySend(List<ClusterEvent> batch) {
+        try {
+            sendBatch(batch);
+            return true;
+        } catch (Exception e) {
+            System.err.println("Cluster bus send failed (" + name + ", " + batch.size() + " events): " + e.getMessage());
+            return false;
+        }
+    }
+
+    // 일시적인 연결 오류 대비 잠깐 쉬고 한 번만 재시도 (뒤에 쌓이는 이벤트를 오래 막지 않도록)
+    private boolean retrySend(List<ClusterEvent> batch) throws InterruptedException {
+        Thread.sleep(RETRY_DELAY_MS);
+        return trySend(batch);
+    }
+
+    /**
+     * 다른 노드에서 받은 이벤트를 handler에 전달 (자기 노드가 보낸 이벤트는 건너뜀)
+     */
+    protected void deliver(List<ClusterEvent> events) {
+        Consumer<ClusterEvent> target = receiver;
+        if (target == null) {
+            return;
+        }
+        for (ClusterEvent event : events) {
+            if (nodeId.equals(event.nodeId())) {
+                continue;
+            }
+            receivedCounter.increment();
+            try {
+                target.accept(event);
+            } catch (Exception e) {
+                System.err.println("Cluster event handling failed (" + event.type() + "): " + e.getMessage());
+            }
+        }
+    }
+
+    protected abstract void sendBatch(List<ClusterEvent> batch) throws Exception;
+
+    protected void connect() {
+    }
+
+    protected void disconnect() {
+    }
+}
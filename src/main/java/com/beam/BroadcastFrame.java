@@ -0,0 +1,33 @@
+package com.beam;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.socket.TextMessage;
+
+/**
+ * 한 번만 직렬화된 브로드캐스트용 WebSocket 프레임
+ * - 페이로드를 UTF-8 바이트로 한 번 인코딩
+ * - 동일한 TextMessage 인스턴스를 모든 수신자에게 재사용 (불변 객체)
+ */
+public final class BroadcastFrame {
+
+    private final byte[] bytes;
+    private final TextMessage textMessage;
+
+    private BroadcastFrame(byte[] bytes) {
+        this.bytes = bytes;
+        this.textMessage = new TextMessage(bytes);
+    }
+
+    public static BroadcastFrame of(ObjectMapper objectMapper, Object payload) throws JsonProcessingException {
+        return new BroadcastFrame(objectMapper.writeValueAsBytes(payload));
+    }
+
+    public TextMessage getTextMessage() {
+        return textMessage;
+    }
+
+    public int getPayloadLength() {
+        return bytes.length;
+    }
+}
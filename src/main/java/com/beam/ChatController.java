@@ -1,6 +1,7 @@
 package com.beam;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
@@ -20,6 +21,12 @@ public class ChatController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserProfileLoader userProfileLoader;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -126,6 +133,7 @@ public class ChatController {
             user.setVerificationCode(null);
             user.setVerificationCodeExpiresAt(null);
             userRepository.save(user);
+            eventPublisher.publishEvent(new UserProfileChangedEvent(user));
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -173,6 +181,8 @@ public class ChatController {
             user.setDisplayName(displayName);
             user.setIsOnline(true);
             userRepository.save(user);
+            userProfileLoader.invalidate(user.getId());
+            eventPublisher.publishEvent(new UserProfileChangedEvent(user));
 
             // JWT 토큰 생성
             String token = jwtUtil.generateToken(user.getUsername(), user.getId());
@@ -268,6 +278,7 @@ public class ChatController {
             user.setVerificationCodeExpiresAt(null);
             user.setIsOnline(true);
             userRepository.save(user);
+            userProfileLoader.invalidate(user.getId());
 
             // JWT 토큰 생성
             String token = jwtUtil.generateToken(user.getUsername(), user.getId());
@@ -391,6 +402,7 @@ public class ChatController {
             user.setVerificationCode(null);
             user.setVerificationCodeExpiresAt(null);
             userRepository.save(user);
+            eventPublisher.publishEvent(new UserProfileChangedEvent(user));
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -437,6 +449,8 @@ public class ChatController {
             user.setDisplayName(displayName);
             user.setIsOnline(true);
             userRepository.save(user);
+            userProfileLoader.invalidate(user.getId());
+            eventPublisher.publishEvent(new UserProfileChangedEvent(user));
 
             // JWT 토큰 생성
             String token = jwtUtil.generateToken(user.getUsername(), user.getId());
@@ -479,6 +493,7 @@ public class ChatController {
             // 사용자 온라인 상태 업데이트
             user.setIsOnline(true);
             userRepository.save(user);
+            userProfileLoader.invalidate(user.getId());
 
             // JWT 토큰 생성
             String token = jwtUtil.generateToken(user.getUsername(), user.getId());
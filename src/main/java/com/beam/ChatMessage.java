@@ -1,6 +1,17 @@
 package com.beam;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+import java.util.List;
+
+// 선택 필드(방 생성, 히스토리 페이지네이션 등)가 null이면 프레임에서 생략
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ChatMessage {
+    // Snowflake id (2^53 초과) - JavaScript 숫자 정밀도 손실을 피하려고 문자열로 직렬화
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long id;
     private String sender;
     private String content;
     private String timestamp;
@@ -19,6 +30,14 @@ public class ChatMessage {
     private String creator;
     private String description;
 
+    // 히스토리 페이지네이션용 필드 (getHistory 요청 / 응답)
+    private String before;
+    private String after;
+    private Integer limit;
+    private Boolean hasMore;
+    private Boolean compress;
+    private List<ChatMessage> messages;
+
     public ChatMessage() {}
 
     public ChatMessage(String sender, String content, String timestamp) {
@@ -35,6 +54,14 @@ public class ChatMessage {
         this.type = type;
     }
 
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public String getSender() {
         return sender;
     }
@@ -139,4 +166,53 @@ public class ChatMessage {
     public void setDescription(String description) {
         this.description = description;
     }
-}
\ No newline at end of file
+
+    // 히스토리 페이지네이션용 getter/setter
+    public String getBefore() {
+        return before;
+    }
+
+    public void setBefore(String before) {
+        this.before = before;
+    }
+
+    public String getAfter() {
+        return after;
+    }
+
+    public void setAfter(String after) {
+        this.after = after;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    public Boolean getHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(Boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public Boolean getCompress() {
+        return compress;
+    }
+
+    public void setCompress(Boolean compress) {
+        this.compress = compress;
+    }
+
+    public List<ChatMessage> getMessages() {
+        return messages;
+    }
+
+    public void setMessages(List<ChatMessage> messages) {
+        this.messages = messages;
+    }
+}
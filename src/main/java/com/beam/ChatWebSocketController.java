@@ -4,10 +4,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.handler.annotation.SendTo;
-import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Controller;
 
+import java.security.Principal;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -25,20 +25,12 @@ public class ChatWebSocketController {
     @Autowired
     private RoomService roomService;
 
-    @Autowired
-    private JwtUtil jwtUtil;
-
     @MessageMapping("/dm.send")
     public void sendDirectMessage(@Payload Map<String, Object> message,
-                                    SimpMessageHeaderAccessor headerAccessor) {
+                                    Principal principal) {
         try {
-            String token = (String) message.get("token");
-            Long senderId = null;
-
-            if (token != null && !token.isEmpty()) {
-                token = token.replace("Bearer ", "");
-                senderId = jwtUtil.getUserIdFromToken(token);
-            }
+            // CONNECT 시 StompAuthChannelInterceptor가 인증한 세션 사용자 (프레임마다 JWT 검증 안 함)
+            Long senderId = StompPrincipal.userIdOf(principal);
 
             if (senderId != null) {
                 Long receiverId = Long.valueOf(message.get("receiverId").toString());
@@ -69,9 +61,9 @@ public class ChatWebSocketController {
                 );
             } else {
                 Map<String, String> error = Map.of("error", "Authentication required for DM");
-                if (headerAccessor.getUser() != null) {
+                if (principal != null) {
                     messagingTemplate.convertAndSendToUser(
-                        headerAccessor.getUser().getName(),
+                        principal.getName(),
                         "/queue/errors",
                         error
                     );
@@ -79,9 +71,9 @@ public class ChatWebSocketController {
             }
         } catch (Exception e) {
             Map<String, String> error = Map.of("error", e.getMessage());
-            if (headerAccessor.getUser() != null) {
+            if (principal != null) {
                 messagingTemplate.convertAndSendToUser(
-                    headerAccessor.getUser().getName(),
+                    principal.getName(),
                     "/queue/errors",
                     error
                 );
@@ -91,15 +83,10 @@ public class ChatWebSocketController {
 
     @MessageMapping("/room.send")
     public void sendRoomMessage(@Payload Map<String, Object> message,
-                                 SimpMessageHeaderAccessor headerAccessor) {
+                                 Principal principal) {
         try {
-            String token = (String) message.get("token");
-            Long senderId = null;
-
-            if (token != null && !token.isEmpty()) {
-                token = token.replace("Bearer ", "");
-                senderId = jwtUtil.getUserIdFromToken(token);
-            }
+            // CONNECT 시 StompAuthChannelInterceptor가 인증한 세션 사용자 (프레임마다 JWT 검증 안 함)
+            Long senderId = StompPrincipal.userIdOf(principal);
 
             if (senderId != null) {
                 Long roomId = Long.valueOf(message.get("roomId").toString());
@@ -113,7 +100,7 @@ public class ChatWebSocketController {
                 Map<String, Object> response = new HashMap<>();
                 response.put("type", "ROOM");
                 response.put("messageId", savedMessage.getId());
-                response.put("roomId", savedMessage.getRoomId());
+                response.put("roomId", String.valueOf(savedMessage.getRoomId()));
                 response.put("senderId", savedMessage.getSenderId());
                 response.put("content", savedMessage.getContent());
                 response.put("timestamp", savedMessage.getTimestamp().toString());
@@ -121,9 +108,9 @@ public class ChatWebSocketController {
                 messagingTemplate.convertAndSend("/topic/room." + roomId, response);
             } else {
                 Map<String, String> error = Map.of("error", "Authentication required for room chat");
-                if (headerAccessor.getUser() != null) {
+                if (principal != null) {
                     messagingTemplate.convertAndSendToUser(
-                        headerAccessor.getUser().getName(),
+                        principal.getName(),
                         "/queue/errors",
                         error
                     );
@@ -131,9 +118,9 @@ public class ChatWebSocketController {
             }
         } catch (Exception e) {
             Map<String, String> error = Map.of("error", e.getMessage());
-            if (headerAccessor.getUser() != null) {
+            if (principal != null) {
                 messagingTemplate.convertAndSendToUser(
-                    headerAccessor.getUser().getName(),
+                    principal.getName(),
                     "/queue/errors",
                     error
                 );
@@ -142,12 +129,10 @@ public class ChatWebSocketController {
     }
 
     @MessageMapping("/typing")
-    public void handleTyping(@Payload Map<String, Object> typingData) {
+    public void handleTyping(@Payload Map<String, Object> typingData, Principal principal) {
         try {
-            String token = (String) typingData.get("token");
-            if (token != null) {
-                token = token.replace("Bearer ", "");
-                Long userId = jwtUtil.getUserIdFromToken(token);
+            Long userId = StompPrincipal.userIdOf(principal);
+            if (userId != null) {
 
                 String type = typingData.get("type").toString();
 
@@ -174,12 +159,10 @@ public class ChatWebSocketController {
     }
 
     @MessageMapping("/user.status")
-    public void updateUserStatus(@Payload Map<String, Object> statusData) {
+    public void updateUserStatus(@Payload Map<String, Object> statusData, Principal principal) {
         try {
-            String token = (String) statusData.get("token");
-            if (token != null) {
-                token = token.replace("Bearer ", "");
-                Long userId = jwtUtil.getUserIdFromToken(token);
+            Long userId = StompPrincipal.userIdOf(principal);
+            if (userId != null) {
 
                 Map<String, Object> response = new HashMap<>();
                 response.put("userId", userId);
@@ -1,13 +1,20 @@
 package com.beam;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -15,16 +22,33 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
 
 @Component
 public class ChatWebSocketHandler extends TextWebSocketHandler {
-    
-    private final Set<WebSocketSession> sessions = ConcurrentHashMap.newKeySet();
+
+    // DateTimeFormatter는 불변/스레드 안전이므로 프레임마다 새로 만들지 않고 공유
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+    private static final Set<String> DEFAULT_ROOMS = Set.of("general", "tech", "casual");
+
+    // 세션 ID -> 송신 큐로 감싼 세션 (O(1) 조회)
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    // 방 ID -> 해당 방에 입장한 세션들 (브로드캐스트 시 방 인원만 순회)
+    private final Map<String, Set<WebSocketSession>> roomSessions = new ConcurrentHashMap<>();
     private final Map<String, User> users = new ConcurrentHashMap<>();
     private final Map<String, ChatRoom> chatRooms = new ConcurrentHashMap<>();
     private final Map<String, String> sessionToRoom = new ConcurrentHashMap<>();
     private final ObjectMapper objectMapper = new ObjectMapper();
+    // 방 목록 스냅샷 (chatRooms 또는 방 인원이 바뀔 때만 다시 직렬화)
+    private volatile BroadcastFrame roomListFrame;
+    // 다른 노드 ID -> 마지막 이벤트 수신 시각 (다른 노드 세션은 방 인원에 "노드ID/세션ID" 키로 들어감)
+    private final Map<String, Long> peerLastSeen = new ConcurrentHashMap<>();
+    private ClusterBus clusterBus;
+    private String nodeId;
+    // 방 ID -> 담당 노드 (자신 + 살아 있는 다른 노드). 담당 노드가 방의 DB 요약(마지막 메시지)을 기록
+    private ConsistentHashRing shardRing;
     
     @Autowired
     private MessageService messageService;
@@ -38,6 +62,43 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
     @Autowired
     private RateLimitService rateLimitService;
 
+    @Autowired
+    private WebSocketOutboundService outboundService;
+
+    @Autowired
+    private RecentMessageCache recentMessageCache;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserProfileLoader userProfileLoader;
+
+    @Autowired
+    private RoomLastMessageWriter roomLastMessageWriter;
+
+    // compress 요청 시 이 크기 이상인 historyBatch 프레임만 gzip 바이너리로 전송
+    @Value("${websocket.history.compress-threshold-bytes:8192}")
+    private int historyCompressThreshold;
+
+    @Autowired
+    private List<ClusterBus> clusterBuses;
+
+    @Value("${cluster.bus:loopback}")
+    private String clusterBusName;
+
+    @Value("${cluster.node-timeout-ms:20000}")
+    private long clusterNodeTimeoutMs;
+
+    @Value("${app.node-id:0}")
+    private long appNodeId;
+
+    @Value("${cluster.shard.virtual-nodes:128}")
+    private int shardVirtualNodes;
+
     public ChatWebSocketHandler() {
         // 기본 그룹 채팅방들
         chatRooms.put("general", new ChatRoom("general", "일반 채팅방", RoomType.GROUP));
@@ -45,6 +106,42 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
         chatRooms.put("casual", new ChatRoom("casual", "자유 토론", RoomType.GROUP));
     }
 
+    @PostConstruct
+    public void init() {
+        loadPersistedRooms();
+
+        // 재시작한 노드를 이전 인스턴스와 구분하도록 실행마다 새 ID
+        nodeId = "node-" + appNodeId + "-" + UUID.randomUUID().toString().substring(0, 8);
+        shardRing = new ConsistentHashRing(shardVirtualNodes);
+        updateShardRing();
+        clusterBus = clusterBuses.stream()
+            .filter(candidate -> candidate.getName().equalsIgnoreCase(clusterBusName))
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("Unknown cluster.bus: " + clusterBusName));
+        clusterBus.start(nodeId, this::onClusterEvent);
+        clusterBus.publish(ClusterEvent.heartbeat(nodeId));
+    }
+
+    /**
+     * DB의 공개 그룹 방을 방 목록에 올림 (재시작해도 방이 유지되고 REST로 만든 방도 같은 목록에 보임)
+     * 1:1 방(dm_작은ID_큰ID)은 두 사용자 ID로 항상 같은 ID가 만들어지므로 메모리에만 둠
+     */
+    private void loadPersistedRooms() {
+        try {
+            List<RoomEntity> rooms = roomRepository.findByRoomTypeAndIsActiveTrue(RoomEntity.RoomType.PUBLIC);
+            Map<Long, UserProfile> creators = userProfileLoader.loadAll(rooms, RoomEntity::getCreatedBy);
+            for (RoomEntity room : rooms) {
+                UserProfile creator = creators.get(room.getCreatedBy());
+                String roomId = String.valueOf(room.getId());
+                chatRooms.put(roomId, new ChatRoom(roomId, room.getRoomName(), RoomType.GROUP,
+                    creator != null ? creator.getUsername() : null, room.getDescription()));
+            }
+            System.out.println("저장된 채팅방 " + rooms.size() + "개 로드");
+        } catch (RuntimeException e) {
+            System.err.println("저장된 채팅방 로드 실패: " + e.getMessage());
+        }
+    }
+
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
         // WebSocket 인증: Query parameter에서 토큰 추출 및 검증
@@ -52,23 +149,26 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
 
         // 게스트 모드 지원: 토큰이 없거나 "guest"인 경우 허용
         if (token != null && !"guest".equals(token)) {
-            if (!jwtUtil.validateToken(token)) {
+            TokenClaims claims = jwtUtil.verifyOrNull(token);
+            if (claims == null) {
                 System.err.println("Invalid JWT token for session: " + session.getId());
                 session.close(CloseStatus.POLICY_VIOLATION.withReason("Invalid or expired token"));
                 return;
             }
             // 유효한 토큰이면 사용자 정보를 세션에 저장
-            String username = jwtUtil.getUsernameFromToken(token);
+            String username = claims.username();
             session.getAttributes().put("username", username);
-            session.getAttributes().put("userId", jwtUtil.getUserIdFromToken(token));
+            session.getAttributes().put("userId", claims.userId());
             System.out.println("Authenticated user connected: " + username);
         } else {
             // 게스트 모드
             System.out.println("Guest user connected: " + session.getId());
         }
 
-        sessions.add(session);
-        sendRoomList(session);
+        // 이후 모든 전송은 세션별 송신 큐를 거침 (느린 클라이언트가 다른 스레드를 막지 않도록)
+        WebSocketSession outbound = outboundService.register(session);
+        sessions.put(session.getId(), outbound);
+        sendRoomList(outbound);
         System.out.println("새로운 연결: " + session.getId());
     }
 
@@ -99,6 +199,7 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
 
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        session = sessions.getOrDefault(session.getId(), session);
         try {
             // WebSocket Rate Limiting
             if (!rateLimitService.isWebSocketMessageAllowed(session.getId())) {
@@ -106,14 +207,14 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
                 ChatMessage errorMessage = new ChatMessage();
                 errorMessage.setType("error");
                 errorMessage.setContent("Rate limit exceeded. Please slow down.");
-                errorMessage.setTimestamp(LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss")));
+                errorMessage.setTimestamp(LocalDateTime.now().format(TIME_FORMAT));
                 session.sendMessage(new TextMessage(objectMapper.writeValueAsString(errorMessage)));
                 System.err.println("Rate limit exceeded for session: " + session.getId());
                 return;
             }
 
             ChatMessage chatMessage = objectMapper.readValue(message.getPayload(), ChatMessage.class);
-            chatMessage.setTimestamp(LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss")));
+            chatMessage.setTimestamp(LocalDateTime.now().format(TIME_FORMAT));
 
             if ("joinRoom".equals(chatMessage.getType())) {
                 String roomId = chatMessage.getRoomId();
@@ -128,25 +229,37 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
                     chatMessage.setType("message");
                     chatMessage.setRoomId(roomId);
                     chatMessage.setSecurityType(MessageSecurityType.NORMAL);
+                    // 보낸 사람은 클라이언트가 보낸 userId가 아니라 세션 인증 정보로 결정
+                    Long senderId = (Long) session.getAttributes().get("userId");
+                    chatMessage.setUserId(senderId);
 
                     ChatRoom room = chatRooms.get(roomId);
                     if (room != null) {
-                        messageService.saveMessage(chatMessage);
-                        broadcastToRoom(roomId, chatMessage);
+                        MessageEntity saved = messageService.saveMessage(chatMessage);
+                        chatMessage.setId(saved.getId());
+                        broadcastToRoom(roomId, chatMessage, senderId);
+                        recordLastMessage(roomId, chatMessage.getContent(), senderId);
                     }
                 }
             } else if ("file".equals(chatMessage.getType())) {
                 String roomId = sessionToRoom.get(session.getId());
                 if (roomId != null) {
                     chatMessage.setRoomId(roomId);
-                    
-                    messageService.saveMessage(chatMessage);
-                    broadcastToRoom(roomId, chatMessage);
+                    Long senderId = (Long) session.getAttributes().get("userId");
+                    chatMessage.setUserId(senderId);
+
+                    MessageEntity saved = messageService.saveMessage(chatMessage);
+                    chatMessage.setId(saved.getId());
+                    broadcastToRoom(roomId, chatMessage, senderId);
+                    recordLastMessage(roomId, chatMessage.getContent(), senderId);
                 }
             } else if ("getHistory".equals(chatMessage.getType())) {
                 String roomId = chatMessage.getRoomId();
-                if (roomId != null) {
-                    sendMessageHistory(session, roomId);
+                // 입장한 방의 히스토리만 조회 가능 (임의 roomId로 DB 조회/캐시 생성 방지)
+                if (roomId != null && roomId.equals(sessionToRoom.get(session.getId()))) {
+                    sendMessageHistory(session, roomId,
+                        chatMessage.getBefore(), chatMessage.getAfter(), chatMessage.getLimit(),
+                        Boolean.TRUE.equals(chatMessage.getCompress()));
                     // 메시지 히스토리를 불러온 후 읽음 처리
                     if (chatMessage.getUserId() != null) {
                         messageService.markRoomMessagesAsRead(roomId, chatMessage.getUserId(), chatMessage.getSender());
@@ -162,7 +275,7 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
                     // 읽음 상태 업데이트를 전체에 브로드캐스트
                     ChatMessage readUpdate = new ChatMessage("시스템",
                         username + "님이 메시지를 읽었습니다.",
-                        LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss")),
+                        LocalDateTime.now().format(TIME_FORMAT),
                         "readUpdate");
                     readUpdate.setRoomId(roomId);
                     broadcastToRoom(roomId, readUpdate);
@@ -190,29 +303,37 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
         users.put(session.getId(), user);
         room.addUser(user);
         sessionToRoom.put(session.getId(), roomId);
+        addRoomSession(roomId, session);
+        invalidateRoomList();
+        publishToPeers(ClusterEvent.join(nodeId, roomId, session.getId(), username));
         
         ChatMessage joinMessage = new ChatMessage("시스템", 
             username + "님이 " + room.getRoomName() + "에 입장하셨습니다.", 
-            LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss")), 
+            LocalDateTime.now().format(TIME_FORMAT), 
             "system");
         joinMessage.setRoomId(roomId);
         
         broadcastToRoom(roomId, joinMessage);
         sendRoomUserList(roomId);
-        sendMessageHistory(session, roomId);
+        sendMessageHistory(session, roomId, null, null, null, false);
     }
 
     private void leaveCurrentRoom(WebSocketSession session) throws Exception {
         String currentRoomId = sessionToRoom.get(session.getId());
         if (currentRoomId != null) {
+            sessionToRoom.remove(session.getId());
+            removeRoomSession(currentRoomId, session);
+
             ChatRoom room = chatRooms.get(currentRoomId);
+            if (room == null) return;
             User user = room.removeUser(session.getId());
-            sessionToRoom.remove(session.getId());
-            
+            invalidateRoomList();
+            publishToPeers(ClusterEvent.leave(nodeId, currentRoomId, session.getId()));
+
             if (user != null) {
                 ChatMessage leaveMessage = new ChatMessage("시스템", 
                     user.getUsername() + "님이 " + room.getRoomName() + "에서 퇴장하셨습니다.", 
-                    LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss")), 
+                    LocalDateTime.now().format(TIME_FORMAT), 
                     "system");
                 leaveMessage.setRoomId(currentRoomId);
                 
@@ -223,32 +344,96 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
     }
 
     private void broadcastToRoom(String roomId, ChatMessage message) throws Exception {
-        ChatRoom room = chatRooms.get(roomId);
-        if (room == null) return;
-        
-        String messageJson = objectMapper.writeValueAsString(message);
-        for (User user : room.getUsers().values()) {
-            WebSocketSession userSession = findSessionById(user.getSessionId());
-            if (userSession != null && userSession.isOpen()) {
-                userSession.sendMessage(new TextMessage(messageJson));
+        broadcastToRoom(roomId, message, null);
+    }
+
+    /**
+     * @param senderId 세션 인증 정보로 확인한 보낸 사용자 id (시스템 메시지는 null) - 다른 노드의 마지막 메시지 기록용
+     */
+    private void broadcastToRoom(String roomId, ChatMessage message, Long senderId) throws Exception {
+        // 한 번만 직렬화하고 같은 프레임을 이 노드의 수신자와 다른 노드에 재사용
+        TextMessage frame = BroadcastFrame.of(objectMapper, message).getTextMessage();
+        deliverToRoom(roomId, frame, message.getType());
+        publishToPeers(ClusterEvent.message(nodeId, roomId, message.getType(), frame.getPayload(), senderId));
+    }
+
+    // 이 노드에 연결된 방 인원에게만 직접 전송
+    private void deliverToRoom(String roomId, TextMessage frame, String type) throws Exception {
+        Set<WebSocketSession> members = roomSessions.get(roomId);
+        if (members == null || members.isEmpty()) return;
+
+        for (WebSocketSession userSession : members) {
+            if (userSession.isOpen()) {
+                send(userSession, frame, type);
             }
         }
     }
 
+    private void send(WebSocketSession session, WebSocketMessage<?> frame, String type) throws Exception {
+        if (session instanceof QueuedWebSocketSession queued) {
+            queued.sendMessage(frame, type);
+        } else {
+            session.sendMessage(frame);
+        }
+    }
+
+    // compute 계열로 갱신해서 빈 Set 제거와 새 입장이 경합해도 세션이 유실되지 않도록 함
+    private void addRoomSession(String roomId, WebSocketSession session) {
+        roomSessions.compute(roomId, (id, members) -> {
+            Set<WebSocketSession> target = members != null ? members : ConcurrentHashMap.newKeySet();
+            target.add(session);
+            return target;
+        });
+    }
+
+    private void removeRoomSession(String roomId, WebSocketSession session) {
+        roomSessions.computeIfPresent(roomId, (id, members) -> {
+            members.remove(session);
+            return members.isEmpty() ? null : members;
+        });
+    }
+
     private void sendRoomUserList(String roomId) throws Exception {
         ChatRoom room = chatRooms.get(roomId);
         if (room == null) return;
         
         ChatMessage userListMessage = new ChatMessage("시스템", 
             objectMapper.writeValueAsString(room.getUsers().values()), 
-            LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss")), 
+            LocalDateTime.now().format(TIME_FORMAT), 
             "userlist");
         userListMessage.setRoomId(roomId);
-        
-        broadcastToRoom(roomId, userListMessage);
+
+        // 인원 목록은 노드마다 같은 room.getUsers()로 만들 수 있으므로 다른 노드로 보내지 않음
+        deliverToRoom(roomId, BroadcastFrame.of(objectMapper, userListMessage).getTextMessage(),
+            userListMessage.getType());
     }
 
     private void sendRoomList(WebSocketSession session) throws Exception {
+        if (session.isOpen()) {
+            session.sendMessage(getRoomListFrame().getTextMessage());
+        }
+    }
+
+    private BroadcastFrame getRoomListFrame() throws Exception {
+        BroadcastFrame frame = roomListFrame;
+        if (frame == null) {
+            synchronized (this) {
+                frame = roomListFrame;
+                if (frame == null) {
+                    frame = buildRoomListFrame();
+                    roomListFrame = frame;
+                }
+            }
+        }
+        return frame;
+    }
+
+    // 빌드 중인 스냅샷이 변경 이전 상태로 저장되지 않도록 빌드와 같은 락에서 무효화
+    private synchronized void invalidateRoomList() {
+        roomListFrame = null;
+    }
+
+    private BroadcastFrame buildRoomListFrame() throws Exception {
         // 방 정보를 더 자세히 포함하는 객체 생성
         List<Map<String, Object>> roomDetails = new ArrayList<>();
         
@@ -267,46 +452,71 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
         
         ChatMessage roomListMessage = new ChatMessage("시스템", 
             objectMapper.writeValueAsString(roomDetails), 
-            LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss")), 
+            LocalDateTime.now().format(TIME_FORMAT), 
             "roomlist");
-            
-        if (session.isOpen()) {
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(roomListMessage)));
-        }
+
+        return BroadcastFrame.of(objectMapper, roomListMessage);
     }
 
-    private void sendMessageHistory(WebSocketSession session, String roomId) throws Exception {
-        List<MessageEntity> messages = messageService.getRecentMessages(roomId);
-        ChatRoom room = chatRooms.get(roomId);
-        
-        for (MessageEntity msg : messages) {
+    /**
+     * 메시지 히스토리 전송 (keyset 커서 지원)
+     * 한 페이지를 historyBatch 프레임 하나로 묶어 전송 (다음 페이지 요청용 커서 포함)
+     * compress=true 이고 페이로드가 임계값 이상이면 gzip 압축한 바이너리 프레임으로 전송
+     */
+    private void sendMessageHistory(WebSocketSession session, String roomId,
+                                    String before, String after, Integer limit,
+                                    boolean compress) throws Exception {
+        MessagePage<MessageEntity> page = messageService.getMessagePage(roomId, before, after, limit);
+
+        List<ChatMessage> messages = new ArrayList<>(page.getItems().size());
+        for (MessageEntity msg : page.getItems()) {
             ChatMessage historyMessage = new ChatMessage(
                 msg.getSender(), 
                 msg.getContent(), 
-                msg.getTimestamp().format(DateTimeFormatter.ofPattern("HH:mm:ss")),
+                msg.getTimestamp().format(TIME_FORMAT),
                 msg.getMessageType()
             );
+            historyMessage.setId(msg.getId());
             historyMessage.setRoomId(roomId);
             historyMessage.setSecurityType(msg.getSecurityType());
+            messages.add(historyMessage);
+        }
 
-            if (session.isOpen()) {
-                session.sendMessage(new TextMessage(objectMapper.writeValueAsString(historyMessage)));
-            }
+        ChatMessage batch = new ChatMessage("시스템", null,
+            LocalDateTime.now().format(TIME_FORMAT), "historyBatch");
+        batch.setRoomId(roomId);
+        batch.setMessages(messages);
+        batch.setBefore(page.getBeforeCursor());
+        batch.setAfter(page.getAfterCursor());
+        batch.setHasMore(page.isHasMore());
+
+        byte[] payload = objectMapper.writeValueAsBytes(batch);
+        WebSocketMessage<?> frame = compress && payload.length >= historyCompressThreshold
+            ? new BinaryMessage(gzip(payload))
+            : new TextMessage(payload);
+        if (session.isOpen()) {
+            send(session, frame, batch.getType());
         }
     }
 
+    private static byte[] gzip(byte[] payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        }
+        return out.toByteArray();
+    }
+
     private WebSocketSession findSessionById(String sessionId) {
-        return sessions.stream()
-            .filter(session -> session.getId().equals(sessionId))
-            .findFirst()
-            .orElse(null);
+        return sessions.get(sessionId);
     }
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
-        sessions.remove(session);
-        leaveCurrentRoom(session);
+        WebSocketSession outbound = sessions.remove(session.getId());
+        leaveCurrentRoom(outbound != null ? outbound : session);
         users.remove(session.getId());
+        outboundService.unregister(session.getId());
 
         // Clean up rate limiter for this session
         rateLimitService.removeWebSocketLimiter(session.getId());
@@ -332,13 +542,22 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
                 return;
             }
 
-            // 고유한 방 ID 생성
-            String roomId = "group_" + System.currentTimeMillis();
+            // 방은 DB에 저장되고 방장(room_members OWNER)이 필요하므로 로그인 사용자만 생성 가능
+            Long userId = (Long) session.getAttributes().get("userId");
+            if (userId == null) {
+                sendErrorMessage(session, "방을 만들려면 로그인이 필요합니다.");
+                return;
+            }
 
-            // 그룹 채팅방 생성
+            // 그룹 채팅방 생성 (Snowflake ID라 노드/동시 생성 간 충돌 없음)
+            RoomEntity saved = roomService.createRoom(userId, roomName.trim(), description,
+                RoomEntity.RoomType.PUBLIC, null);
+            String roomId = String.valueOf(saved.getId());
             ChatRoom newRoom = new ChatRoom(roomId, roomName.trim(), RoomType.GROUP, creator, description);
             chatRooms.put(roomId, newRoom);
-            
+            invalidateRoomList();
+            publishRoomCreated(newRoom);
+
             System.out.println("새 방 생성: " + roomName + " (GROUP) by " + creator);
             
             // 전체 사용자에게 방 목록 업데이트 전송
@@ -350,7 +569,7 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
             // 성공 메시지 전송
             ChatMessage successMessage = new ChatMessage("시스템", 
                 "방 '" + roomName + "'이 성공적으로 생성되었습니다!", 
-                LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss")), 
+                LocalDateTime.now().format(TIME_FORMAT), 
                 "success");
             session.sendMessage(new TextMessage(objectMapper.writeValueAsString(successMessage)));
             
@@ -362,16 +581,17 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
 
 
     private void broadcastRoomListUpdate() throws Exception {
-        for (WebSocketSession session : sessions) {
+        TextMessage frame = getRoomListFrame().getTextMessage();
+        for (WebSocketSession session : sessions.values()) {
             if (session.isOpen()) {
-                sendRoomList(session);
+                session.sendMessage(frame);
             }
         }
     }
 
     private void sendErrorMessage(WebSocketSession session, String errorMessage) throws Exception {
         ChatMessage error = new ChatMessage("시스템", errorMessage, 
-            LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss")), "error");
+            LocalDateTime.now().format(TIME_FORMAT), "error");
         
         if (session.isOpen()) {
             session.sendMessage(new TextMessage(objectMapper.writeValueAsString(error)));
@@ -414,6 +634,8 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
                 String roomName = "DM: " + username + " ↔ " + message.getFriendName();
                 ChatRoom newRoom = new ChatRoom(roomId, roomName, RoomType.DIRECT);
                 chatRooms.put(roomId, newRoom);
+                invalidateRoomList();
+                publishRoomCreated(newRoom);
 
                 System.out.println("새 1:1 채팅방 생성: " + roomName);
             }
@@ -428,7 +650,7 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
             // 성공 메시지 전송
             ChatMessage successMessage = new ChatMessage("시스템",
                 "1:1 채팅방에 입장했습니다.",
-                LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss")),
+                LocalDateTime.now().format(TIME_FORMAT),
                 "directMessageCreated");
             successMessage.setRoomId(roomId);
             session.sendMessage(new TextMessage(objectMapper.writeValueAsString(successMessage)));
@@ -466,39 +688,31 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
             }
             
             // 기본 방은 삭제 불가
-            if (roomId.equals("general") || roomId.equals("tech") || roomId.equals("casual")) {
+            if (DEFAULT_ROOMS.contains(roomId)) {
                 sendErrorMessage(session, "기본 방은 삭제할 수 없습니다.");
                 return;
             }
             
-            // 방장만 삭제 가능
-            if (!requestUser.equals(room.getCreator())) {
+            // 방장만 삭제 가능 (저장된 방은 room_members의 OWNER 여부로 확인)
+            if (isPersistedRoom(roomId)) {
+                Long userId = (Long) session.getAttributes().get("userId");
+                if (userId == null || !deletePersistedRoom(Long.valueOf(roomId), userId)) {
+                    sendErrorMessage(session, "방장만 방을 삭제할 수 있습니다.");
+                    return;
+                }
+            } else if (!requestUser.equals(room.getCreator())) {
                 sendErrorMessage(session, "방장만 방을 삭제할 수 있습니다.");
                 return;
             }
             
             // 방에 있는 모든 사용자를 내보냄
-            for (User user : new ArrayList<>(room.getUsers().values())) {
-                WebSocketSession userSession = findSessionById(user.getSessionId());
-                if (userSession != null) {
-                    sessionToRoom.remove(userSession.getId());
-                    
-                    // 삭제 알림 메시지 전송
-                    ChatMessage deleteMessage = new ChatMessage("시스템", 
-                        "방이 삭제되었습니다. 로비로 이동합니다.", 
-                        LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss")), 
-                        "roomDeleted");
-                    deleteMessage.setRoomId(roomId);
-                    
-                    if (userSession.isOpen()) {
-                        userSession.sendMessage(new TextMessage(objectMapper.writeValueAsString(deleteMessage)));
-                    }
-                }
-            }
+            evictRoomMembers(roomId, room);
             
             // 방 삭제
             chatRooms.remove(roomId);
-            
+            invalidateRoomList();
+            publishToPeers(ClusterEvent.roomDeleted(nodeId, roomId));
+
             System.out.println("방 삭제: " + room.getRoomName() + " by " + requestUser);
             
             // 모든 사용자에게 방 목록 업데이트
@@ -507,7 +721,7 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
             // 성공 메시지 전송
             ChatMessage successMessage = new ChatMessage("시스템", 
                 "방이 성공적으로 삭제되었습니다.", 
-                LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss")), 
+                LocalDateTime.now().format(TIME_FORMAT), 
                 "success");
             session.sendMessage(new TextMessage(objectMapper.writeValueAsString(successMessage)));
             
@@ -516,4 +730,199 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
             sendErrorMessage(session, "방 삭제 중 오류가 발생했습니다.");
         }
     }
-}
\ No newline at end of file
+
+    // 이 노드에 연결된 방 인원을 내보내고 삭제 알림 전송 (다른 노드 인원은 그 노드가 처리)
+    private void evictRoomMembers(String roomId, ChatRoom room) throws Exception {
+        roomSessions.remove(roomId);
+        for (User user : new ArrayList<>(room.getUsers().values())) {
+            WebSocketSession userSession = findSessionById(user.getSessionId());
+            if (userSession != null) {
+                sessionToRoom.remove(userSession.getId());
+
+                // 삭제 알림 메시지 전송
+                ChatMessage deleteMessage = new ChatMessage("시스템",
+                    "방이 삭제되었습니다. 로비로 이동합니다.",
+                    LocalDateTime.now().format(TIME_FORMAT),
+                    "roomDeleted");
+                deleteMessage.setRoomId(roomId);
+
+                if (userSession.isOpen()) {
+                    userSession.sendMessage(new TextMessage(objectMapper.writeValueAsString(deleteMessage)));
+                }
+            }
+        }
+    }
+
+    // 다른 노드가 없으면 보내지 않음 (새 노드가 나타나면 announceLocalState로 현재 상태를 다시 알림)
+    private void publishToPeers(ClusterEvent event) {
+        if (!peerLastSeen.isEmpty()) {
+            clusterBus.publish(event);
+        }
+    }
+
+    private void publishRoomCreated(ChatRoom room) throws Exception {
+        if (peerLastSeen.isEmpty()) {
+            return;
+        }
+        Map<String, Object> roomInfo = new HashMap<>();
+        roomInfo.put("roomName", room.getRoomName());
+        roomInfo.put("roomType", room.getRoomType().toString());
+        roomInfo.put("creator", room.getCreator());
+        roomInfo.put("description", room.getDescription());
+        clusterBus.publish(ClusterEvent.roomCreated(nodeId, room.getRoomId(), objectMapper.writeValueAsString(roomInfo)));
+    }
+
+    /**
+     * 다른 노드의 방 이벤트 처리 (버스 수신 스레드)
+     * 메시지 프레임은 다시 직렬화하지 않고 그대로 이 노드의 방 인원에게 전달
+     */
+    private void onClusterEvent(ClusterEvent event) {
+        try {
+            if (peerLastSeen.put(event.nodeId(), System.currentTimeMillis()) == null) {
+                System.out.println("클러스터 노드 연결: " + event.nodeId());
+                updateShardRing();
+                announceLocalState();
+            }
+            String roomId = event.roomId();
+            switch (event.type()) {
+                case MESSAGE -> {
+                    // 다른 노드가 저장한 메시지는 이 노드의 최근 메시지 버퍼에 없으므로 버퍼를 버림
+                    // (클러스터 버스 사용 중에는 write-behind가 꺼져 있어 다시 warm하면 DB에 모두 있음)
+                    if ("message".equals(event.frameType()) || "file".equals(event.frameType())) {
+                        recentMessageCache.evict(roomId);
+                        if (isPersistedRoom(roomId) && ownsRoom(roomId)) {
+                            ChatMessage remote = objectMapper.readValue(event.payload(), ChatMessage.class);
+                            recordLastMessage(roomId, remote.getContent(), event.senderId());
+                        }
+                    }
+                    deliverToRoom(roomId, new TextMessage(event.payload()), event.frameType());
+                }
+                case JOIN -> {
+                    ChatRoom room = chatRooms.get(roomId);
+                    if (room != null) {
+                        String key = remoteSessionKey(event.nodeId(), event.sessionId());
+                        room.addUser(new User(key, event.username(), key));
+                        invalidateRoomList();
+                        sendRoomUserList(roomId);
+                    }
+                }
+                case LEAVE -> {
+                    ChatRoom room = chatRooms.get(roomId);
+                    if (room != null && room.removeUser(remoteSessionKey(event.nodeId(), event.sessionId())) != null) {
+                        invalidateRoomList();
+                        sendRoomUserList(roomId);
+                    }
+                }
+                case ROOM_CREATED -> {
+                    Map<?, ?> roomInfo = objectMapper.readValue(event.payload(), Map.class);
+                    ChatRoom room = new ChatRoom(roomId, (String) roomInfo.get("roomName"),
+                        RoomType.valueOf((String) roomInfo.get("roomType")),
+                        (String) roomInfo.get("creator"), (String) roomInfo.get("description"));
+                    if (chatRooms.putIfAbsent(roomId, room) == null) {
+                        invalidateRoomList();
+                        broadcastRoomListUpdate();
+                    }
+                }
+                case ROOM_DELETED -> {
+                    ChatRoom room = chatRooms.remove(roomId);
+                    if (room != null) {
+                        evictRoomMembers(roomId, room);
+                        invalidateRoomList();
+                        broadcastRoomListUpdate();
+                    }
+                }
+                case HEARTBEAT -> {
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("클러스터 이벤트 처리 오류: " + e.getMessage());
+        }
+    }
+
+    // 새로 나타난 노드에게 이 노드가 아는 방과 이 노드 세션의 입장 상태를 알림 (받는 쪽에서 중복은 무시됨)
+    private void announceLocalState() throws Exception {
+        for (ChatRoom room : chatRooms.values()) {
+            if (!DEFAULT_ROOMS.contains(room.getRoomId())) {
+                publishRoomCreated(room);
+            }
+        }
+        for (Map.Entry<String, String> entry : sessionToRoom.entrySet()) {
+            User user = users.get(entry.getKey());
+            if (user != null) {
+                clusterBus.publish(ClusterEvent.join(nodeId, entry.getValue(), entry.getKey(), user.getUsername()));
+            }
+        }
+    }
+
+    private static String remoteSessionKey(String peerNodeId, String sessionId) {
+        return peerNodeId + "/" + sessionId;
+    }
+
+    /**
+     * 생존 신호 전송, 일정 시간 소식이 없는 노드의 세션을 방 인원에서 제거
+     */
+    @Scheduled(fixedDelayString = "${cluster.heartbeat-interval-ms:5000}")
+    public void clusterHeartbeat() {
+        clusterBus.publish(ClusterEvent.heartbeat(nodeId));
+
+        long cutoff = System.currentTimeMillis() - clusterNodeTimeoutMs;
+        for (Map.Entry<String, Long> peer : peerLastSeen.entrySet()) {
+            if (peer.getValue() < cutoff && peerLastSeen.remove(peer.getKey(), peer.getValue())) {
+                System.out.println("클러스터 노드 응답 없음, 세션 정리: " + peer.getKey());
+                updateShardRing();
+                String prefix = peer.getKey() + "/";
+                for (ChatRoom room : chatRooms.values()) {
+                    if (room.getUsers().keySet().removeIf(key -> key.startsWith(prefix))) {
+                        invalidateRoomList();
+                        try {
+                            sendRoomUserList(room.getRoomId());
+                        } catch (Exception e) {
+                            System.err.println("인원 목록 전송 오류: " + e.getMessage());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void updateShardRing() {
+        List<String> nodes = new ArrayList<>(peerLastSeen.keySet());
+        nodes.add(nodeId);
+        shardRing.setNodes(nodes);
+    }
+
+    private boolean ownsRoom(String roomId) {
+        return nodeId.equals(shardRing.ownerOf(roomId));
+    }
+
+    // rooms 테이블의 방 (Snowflake/시퀀스 숫자 ID). 기본 방과 1:1 방은 메모리에만 있음
+    private static boolean isPersistedRoom(String roomId) {
+        if (roomId.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < roomId.length(); i++) {
+            if (!Character.isDigit(roomId.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // RoomService는 방장이 아니거나 이미 삭제된 방이면 예외를 던짐
+    private boolean deletePersistedRoom(Long roomId, Long userId) {
+        try {
+            roomService.deleteRoom(roomId, userId);
+            return true;
+        } catch (RuntimeException e) {
+            System.err.println("방 삭제 거부: " + roomId + " - " + e.getMessage());
+            return false;
+        }
+    }
+
+    // 담당 노드만 방의 마지막 메시지를 기록 (다른 노드의 메시지는 클러스터 이벤트로 받아서 기록)
+    private void recordLastMessage(String roomId, String content, Long senderId) {
+        if (isPersistedRoom(roomId) && ownsRoom(roomId)) {
+            roomLastMessageWriter.record(Long.valueOf(roomId), content, senderId, LocalDateTime.now());
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.beam;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chunked Upload Service
+ *
+ * <p>Resumable uploads for attachments larger than a single multipart request. The client creates a
+ * session, PUTs chunks at explicit offsets (in any order, retrying only what failed), asks which
+ * ranges have arrived, and commits.
+ *
+ * <h3>Storage:</h3>
+ * <ul>
+ *   <li>Each session owns one temp file preallocated to the declared size</li>
+ *   <li>Chunks are streamed from the request body into the file with positional
+ *       {@link FileChannel#write(ByteBuffer, long)}; nothing is buffered beyond 64KB</li>
+ *   <li>Commit hands the file to {@link FileStorageService#storeAssembledFile}: signature check and
+ *       hash in one read, then a rename into the blob store (no assembly copy)</li>
+ * </ul>
+ *
+ * <h3>Limits:</h3>
+ * <ul>
+ *   <li>file.upload.max-size - Declared file size</li>
+ *   <li>file.upload.chunk-max-bytes - Bytes accepted per PUT</li>
+ *   <li>file.upload.max-sessions-per-user - Concurrent open sessions</li>
+ *   <li>file.upload.session-ttl-minutes - Idle time before a session and its file are discarded</li>
+ * </ul>
+ *
+ * <p>Sessions live in memory on the node that created them; after a restart the client starts a
+ * new session.
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ *   <li>beam_upload_sessions_active - Open sessions</li>
+ *   <li>beam_upload_chunk_bytes_total - Bytes received through chunks</li>
+ *   <li>beam_upload_sessions_expired_total - Sessions discarded after the idle timeout</li>
+ * </ul>
+ *
+ * @since 1.2.0
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final FileStorageService fileStorageService;
+    private final FileBlobStore fileBlobStore;
+    private final FileSecurityValidator fileSecurityValidator;
+    private final StorageQuotaService storageQuotaService;
+    private final long maxFileSize;
+    private final int maxChunkBytes;
+    private final int maxSessionsPerUser;
+    private final long sessionTtlMillis;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    private final Counter chunkBytesCounter;
+    private final Counter expiredCounter;
+
+    public ChunkedUploadService(
+            FileStorageService fileStorageService,
+            FileBlobStore fileBlobStore,
+            FileSecurityValidator fileSecurityValidator,
+            StorageQuotaService storageQuotaService,
+            MeterRegistry meterRegistry,
+            @Value("${file.upload.max-size:104857600}") long maxFileSize,
+            @Value("${file.upload.chunk-max-bytes:8388608}") int maxChunkBytes,
+            @Value("${file.upload.max-sessions-per-user:5}") int maxSessionsPerUser,
+            @Value("${file.upload.session-ttl-minutes:60}") long sessionTtlMinutes) {
+        this.fileStorageService = fileStorageService;
+        this.fileBlobStore = fileBlobStore;
+        this.fileSecurityValidator = fileSecurityValidator;
+        this.storageQuotaService = storageQuotaService;
+        this.maxFileSize = maxFileSize;
+        this.maxChunkBytes = maxChunkBytes;
+        this.maxSessionsPerUser = maxSessionsPerUser;
+        this.sessionTtlMillis = sessionTtlMinutes * 60_000L;
+
+        Gauge.builder("beam_upload_sessions_active", sessions, Map::size)
+                .description("Open chunked upload sessions")
+                .register(meterRegistry);
+
+        chunkBytesCounter = Counter.builder("beam_upload_chunk_bytes_total")
+                .description("Bytes received through chunked uploads")
+                .register(meterRegistry);
+
+        expiredCounter = Counter.builder("beam_upload_sessions_expired_total")
+                .description("Chunked upload sessions discarded after the idle timeout")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 업로드 세션 생성. 파일명/MIME/크기는 여기서 먼저 검증하고 내용(시그니처)은 commit에서 검증
+     */
+    public UploadSession createSession(Long uploaderId, String fileName, String fileType, Long fileSize,
+                                       String conversationId, Long roomId) throws IOException {
+        if (fileSize == null || fileSize <= 0) {
+            throw new RuntimeException("Cannot store empty file");
+        }
+        if (fileSize > maxFileSize) {
+            throw new RuntimeException("File size exceeds maximum limit of " + (maxFileSize / 1024 / 1024) + "MB");
+        }
+        if ((conversationId == null) == (roomId == null)) {
+            throw new RuntimeException("Either conversationId or roomId is required");
+        }
+        fileSecurityValidator.validateUpload(fileName, fileType);
+        storageQuotaService.checkQuota(uploaderId, fileSize);
+
+        long open = sessions.values().stream().filter(session -> session.uploaderId.equals(uploaderId)).count();
+        if (open >= maxSessionsPerUser) {
+            throw new RuntimeException("Too many uploads in progress");
+        }
+
+        Path path = fileBlobStore.newTempFile();
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            // 선언된 크기만큼 미리 확보 (마지막 바이트를 써서 파일 길이 고정)
+            channel.write(ByteBuffer.wrap(new byte[1]), fileSize - 1);
+        } catch (IOException e) {
+            channel.close();
+            Files.deleteIfExists(path);
+            throw e;
+        }
+
+        UploadSession session = new UploadSession(UUID.randomUUID().toString(), uploaderId, fileName, fileType,
+            fileSize, conversationId, roomId, path, channel);
+        sessions.put(session.uploadId, session);
+        return session;
+    }
+
+    /**
+     * offset 위치에 chunk 기록. 도중에 연결이 끊겨도 기록된 부분까지는 수신 범위에 반영됨
+     *
+     * @return 기록 후 세션 상태
+     */
+    public UploadSession writeChunk(String uploadId, Long uploaderId, long offset, InputStream body) throws IOException {
+        UploadSession session = getSession(uploadId, uploaderId);
+        if (offset < 0 || offset >= session.fileSize) {
+            throw new RuntimeException("Invalid offset: " + offset);
+        }
+        long limit = Math.min(session.fileSize - offset, maxChunkBytes);
+
+        byte[] buffer = new byte[BUFFER_BYTES];
+        long position = offset;
+        try {
+            int read;
+            while ((read = body.read(buffer)) > 0) {
+                if (position + read - offset > limit) {
+                    throw new RuntimeException("Chunk exceeds " + (offset + limit == session.fileSize
+                        ? "declared file size" : "maximum chunk size of " + maxChunkBytes + " bytes"));
+                }
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                while (chunk.hasRemaining()) {
+                    position += session.write(chunk, position);
+                }
+            }
+        } finally {
+            if (position > offset) {
+                session.received(offset, position);
+                chunkBytesCounter.increment(position - offset);
+            }
+        }
+        return session;
+    }
+
+    public UploadSession getSession(String uploadId, Long uploaderId) {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null || !session.uploaderId.equals(uploaderId)) {
+            throw new RuntimeException("Upload session not found");
+        }
+        session.touch();
+        return session;
+    }
+
+    /**
+     * 모든 범위를 받았으면 파일을 검증/저장하고 세션 종료
+     */
+    public FileMetadataEntity commit(String uploadId, Long uploaderId) throws IOException {
+        UploadSession session = getSession(uploadId, uploaderId);
+        if (!session.beginCommit()) {
+            throw new RuntimeException("Upload is incomplete: " + session.receivedBytes() + "/" + session.fileSize + " bytes");
+        }
+        sessions.remove(uploadId);
+        session.close();
+        return fileStorageService.storeAssembledFile(session.path, session.fileName, session.fileType,
+            uploaderId, session.conversationId, session.roomId);
+    }
+
+    public void abort(String uploadId, Long uploaderId) {
+        UploadSession session = getSession(uploadId, uploaderId);
+        if (sessions.remove(uploadId, session)) {
+            discard(session);
+        }
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void expireSessions() {
+        long cutoff = System.currentTimeMillis() - sessionTtlMillis;
+        for (UploadSession session : sessions.values()) {
+            if (session.lastActivityMillis < cutoff && sessions.remove(session.uploadId, session)) {
+                discard(session);
+                expiredCounter.increment();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (UploadSession session : sessions.values()) {
+            discard(session);
+        }
+        sessions.clear();
+    }
+
+    private static void discard(UploadSession session) {
+        session.close();
+        try {
+            Files.deleteIfExists(session.path);
+        } catch (IOException e) {
+            System.err.println("Failed to delete upload file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 진행 중인 분할 업로드
+     */
+    public static final class UploadSession {
+
+        private final String uploadId;
+        private final Long uploaderId;
+        private final String fileName;
+        private final String fileType;
+        private final long fileSize;
+        private final String conversationId;
+        private final Long roomId;
+        private final Path path;
+        private final FileChannel channel;
+        private final Instant createdAt = Instant.now();
+        private volatile long lastActivityMillis = System.currentTimeMillis();
+
+        // 받은 범위 [start, end), 겹치거나 맞닿은 범위는 합침
+        private final TreeMap<Long, Long> ranges = new TreeMap<>();
+        private boolean committing;
+
+        private UploadSession(String uploadId, Long uploaderId, String fileName, String fileType, long fileSize,
+                              String conversationId, Long roomId, Path path, FileChannel channel) {
+            this.uploadId = uploadId;
+            this.uploaderId = uploaderId;
+            this.fileName = fileName;
+            this.fileType = fileType;
+            this.fileSize = fileSize;
+            this.conversationId = conversationId;
+            this.roomId = roomId;
+            this.path = path;
+            this.channel = channel;
+        }
+
+        public String getUploadId() { return uploadId; }
+
+        public String getFileName() { return fileName; }
+
+        public long getFileSize() { return fileSize; }
+
+        public Instant getCreatedAt() { return createdAt; }
+
+        // FileChannel의 위치 지정 쓰기는 여러 요청이 동시에 다른 chunk를 써도 안전함
+        private int write(ByteBuffer chunk, long position) throws IOException {
+            synchronized (this) {
+                if (committing) {
+                    throw new RuntimeException("Upload is already committed");
+                }
+            }
+            return channel.write(chunk, position);
+        }
+
+        private synchronized void received(long start, long end) {
+            Map.Entry<Long, Long> before = ranges.floorEntry(start);
+            if (before != null && before.getValue() >= start) {
+                start = before.getKey();
+                end = Math.max(end, before.getValue());
+            }
+            Map.Entry<Long, Long> next = ranges.ceilingEntry(start);
+            while (next != null && next.getKey() <= end) {
+                end = Math.max(end, next.getValue());
+                ranges.remove(next.getKey());
+                next = ranges.ceilingEntry(start);
+            }
+            ranges.put(start, end);
+            touch();
+        }
+
+        public synchronized List<long[]> getReceivedRanges() {
+            List<long[]> result = new ArrayList<>(ranges.size());
+            for (Map.Entry<Long, Long> range : ranges.entrySet()) {
+                result.add(new long[] {range.getKey(), range.getValue()});
+            }
+            return result;
+        }
+
+        public synchronized long receivedBytes() {
+            long total = 0;
+            for (Map.Entry<Long, Long> range : ranges.entrySet()) {
+                total += range.getValue() - range.getKey();
+            }
+            return total;
+        }
+
+        public synchronized boolean isComplete() {
+            Long end = ranges.get(0L);
+            return end != null && end >= fileSize;
+        }
+
+        private synchronized boolean beginCommit() {
+            if (committing || !isComplete()) {
+                return false;
+            }
+            committing = true;
+            return true;
+        }
+
+        private void touch() {
+            lastActivityMillis = System.currentTimeMillis();
+        }
+
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close upload file: " + e.getMessage());
+            }
+        }
+    }
+}
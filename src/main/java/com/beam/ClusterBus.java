@@ -0,0 +1,26 @@
+package com.beam;
+
+import java.util.function.Consumer;
+
+/**
+ * 노드 간 방 이벤트 전달 ({@code cluster.bus} 설정으로 선택)
+ * - loopback: 같은 JVM 안의 버스끼리만 전달 ({@link LoopbackClusterBus}, 단일 노드 기본값)
+ * - postgres: PostgreSQL LISTEN/NOTIFY ({@link PostgresClusterBus})
+ *
+ * 로컬 세션 전송은 {@link ChatWebSocketHandler}가 직접 하고, 버스는 다른 노드로 보낼 이벤트만 다룬다.
+ * 자기 노드가 보낸 이벤트는 receiver에 전달되지 않는다.
+ */
+public interface ClusterBus {
+
+    String getName();
+
+    /**
+     * 선택되었을 때 한 번 호출. 이후 다른 노드의 이벤트가 receiver로 전달됨
+     */
+    void start(String nodeId, Consumer<ClusterEvent> receiver);
+
+    /**
+     * 비동기 전송 - 큐에 넣고 바로 반환하며, 전송은 배치로 묶어서 함
+     */
+    void publish(ClusterEvent event);
+}
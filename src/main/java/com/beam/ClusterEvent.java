@@ -0,0 +1,47 @@
+package com.beam;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * 노드 간에 전달되는 방 이벤트 ({@link ClusterBus})
+ * - MESSAGE: 이미 직렬화된 채팅 프레임(payload)을 받은 노드의 방 인원에게 그대로 전달
+ * - JOIN/LEAVE: 다른 노드 세션의 방 입장/퇴장 (인원 목록, 방 목록 인원 수 갱신용)
+ * - ROOM_CREATED/ROOM_DELETED: 방 목록 변경 (ROOM_CREATED의 payload는 방 정보 JSON)
+ * - HEARTBEAT: 노드 생존 신호, 끊긴 노드의 세션 정리에 사용
+ *
+ * @param nodeId    이벤트를 보낸 노드
+ * @param frameType MESSAGE 프레임의 ChatMessage type (송신 큐의 overflow 정책용)
+ * @param senderId  MESSAGE를 보낸 사용자 id - 보낸 노드가 세션 인증 정보에서 채움 (payload의 userId는 클라이언트 값이라 신뢰하지 않음)
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ClusterEvent(Type type, String nodeId, String roomId, String sessionId,
+                           String username, String frameType, String payload, Long senderId) {
+
+    public enum Type {
+        MESSAGE, JOIN, LEAVE, ROOM_CREATED, ROOM_DELETED, HEARTBEAT
+    }
+
+    public static ClusterEvent message(String nodeId, String roomId, String frameType, String payload, Long senderId) {
+        return new ClusterEvent(Type.MESSAGE, nodeId, roomId, null, null, frameType, payload, senderId);
+    }
+
+    public static ClusterEvent join(String nodeId, String roomId, String sessionId, String username) {
+        return new ClusterEvent(Type.JOIN, nodeId, roomId, sessionId, username, null, null, null);
+    }
+
+    public static ClusterEvent leave(String nodeId, String roomId, String sessionId) {
+        return new ClusterEvent(Type.LEAVE, nodeId, roomId, sessionId, null, null, null, null);
+    }
+
+    public static ClusterEvent roomCreated(String nodeId, String roomId, String roomJson) {
+        return new ClusterEvent(Type.ROOM_CREATED, nodeId, roomId, null, null, null, roomJson, null);
+    }
+
+    public static ClusterEvent roomDeleted(String nodeId, String roomId) {
+        return new ClusterEvent(Type.ROOM_DELETED, nodeId, roomId, null, null, null, null, null);
+    }
+
+    public static ClusterEvent heartbeat(String nodeId) {
+        return new ClusterEvent(Type.HEARTBEAT, nodeId, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,75 @@
+package com.beam;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 노드 ID 기반 consistent hashing 링 (방 ID -> 담당 노드)
+ * - 노드마다 가상 노드를 여러 개 배치해서 방이 노드에 고르게 나뉘도록 함
+ * - 노드가 추가/제거되면 그 노드 구간의 방만 담당이 바뀜
+ * - 같은 노드 집합이면 모든 노드가 같은 링을 만듦 (정렬 순서로 배치, 해시 충돌 시 작은 노드 ID 우선)
+ * - 조회는 불변 스냅샷에서 하므로 락 없음
+ */
+final class ConsistentHashRing {
+
+    private final int virtualNodes;
+    private volatile NavigableMap<Long, String> ring = Collections.emptyNavigableMap();
+    private List<String> nodes = List.of();
+
+    ConsistentHashRing(int virtualNodes) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+        this.virtualNodes = virtualNodes;
+    }
+
+    synchronized void setNodes(Collection<String> nodeIds) {
+        List<String> sorted = new ArrayList<>(nodeIds);
+        Collections.sort(sorted);
+        if (sorted.equals(nodes)) {
+            return;
+        }
+        TreeMap<Long, String> built = new TreeMap<>();
+        for (String node : sorted) {
+            for (int i = 0; i < virtualNodes; i++) {
+                built.merge(hash(node + "#" + i), node, (current, candidate) ->
+                    current.compareTo(candidate) <= 0 ? current : candidate);
+            }
+        }
+        nodes = List.copyOf(sorted);
+        ring = Collections.unmodifiableNavigableMap(built);
+    }
+
+    /**
+     * 키를 담당하는 노드 (노드가 없으면 null)
+     */
+    String ownerOf(String key) {
+        NavigableMap<Long, String> current = ring;
+        if (current.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> entry = current.ceilingEntry(hash(key));
+        return (entry != null ? entry : current.firstEntry()).getValue();
+    }
+
+    // 64비트 FNV-1a 후 murmur3 finalizer로 섞음 (비슷한 짧은 문자열도 링 전체에 퍼지도록)
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,135 @@
+package com.beam;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * DB 기반 검색 - 방 메시지와 DM을 권한 조인과 함께 한 번의 UNION ALL 쿼리로 조회
+ *
+ * <h3>PostgreSQL</h3>
+ * LOWER(content)에 대한 pg_trgm GIN 색인(db/vendor/postgresql/V7)으로 '%키워드%' 검색을 색인 스캔으로 처리.
+ * 세 글자 미만 키워드는 trigram을 만들 수 없어 순차 스캔이 될 수 있음.
+ *
+ * <h3>H2 (개발용)</h3>
+ * 같은 쿼리를 trigram 색인 없이 실행 (순차 스캔)
+ *
+ * @since 1.2.0
+ */
+@Component
+public class DatabaseSearchBackend implements SearchBackend {
+
+    private static final String ROOM_SELECT =
+        "(SELECT 'ROOM' AS kind, gm.id AS id, gm.room_id AS room_id, " +
+        "CAST(NULL AS VARCHAR(100)) AS conversation_id, gm.timestamp AS timestamp " +
+        "FROM group_messages gm " +
+        "JOIN room_members rm ON rm.room_id = gm.room_id AND rm.user_id = ? AND rm.is_active = TRUE " +
+        "WHERE gm.is_deleted = FALSE AND LOWER(gm.content) LIKE ? ESCAPE '\\' ";
+
+    private static final String DM_SELECT =
+        "(SELECT 'DM' AS kind, dm.id AS id, CAST(NULL AS BIGINT) AS room_id, " +
+        "dm.conversation_id AS conversation_id, dm.timestamp AS timestamp " +
+        "FROM direct_messages dm " +
+        "JOIN conversations c ON c.conversation_id = dm.conversation_id AND (c.user1_id = ? OR c.user2_id = ?) " +
+        "WHERE dm.is_deleted = FALSE AND LOWER(dm.content) LIKE ? ESCAPE '\\' ";
+
+    private static final String[] TRIGRAM_INDEXES = {"idx_gm_content_trgm", "idx_dm_content_trgm"};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DatabaseSearchBackend(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public String getName() {
+        return "database";
+    }
+
+    @Override
+    public List<SearchDocument> search(Long userId, String keyword, String type, MessageCursor before, int limit) {
+        String pattern = "%" + escapeLike(keyword.toLowerCase(Locale.ROOT)) + "%";
+        StringBuilder sql = new StringBuilder();
+        List<Object> args = new ArrayList<>();
+
+        if (!"DM".equalsIgnoreCase(type)) {
+            sql.append(ROOM_SELECT);
+            args.add(userId);
+            args.add(pattern);
+            appendBranchTail(sql, args, "gm", before, limit);
+        }
+        if (!"ROOM".equalsIgnoreCase(type)) {
+            if (sql.length() > 0) {
+                sql.append(" UNION ALL ");
+            }
+            sql.append(DM_SELECT);
+            args.add(userId);
+            args.add(userId);
+            args.add(pattern);
+            appendBranchTail(sql, args, "dm", before, limit);
+        }
+        sql.append(" ORDER BY timestamp DESC, id DESC LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            long micros = SearchDocument.toMicros(rs.getTimestamp("timestamp").toLocalDateTime());
+            if ("ROOM".equals(rs.getString("kind"))) {
+                return new SearchDocument(SearchDocument.Kind.ROOM, rs.getLong("id"),
+                    SearchDocument.roomScope(rs.getLong("room_id")), micros);
+            }
+            return new SearchDocument(SearchDocument.Kind.DM, rs.getLong("id"),
+                SearchDocument.conversationScope(rs.getString("conversation_id")), micros);
+        }, args.toArray());
+    }
+
+    @Override
+    public boolean isReady() {
+        return true;
+    }
+
+    @Override
+    public void activate() {
+        String product = jdbcTemplate.execute((Connection connection) -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            return metaData.getDatabaseProductName();
+        });
+        if (!"PostgreSQL".equalsIgnoreCase(product)) {
+            System.out.println("🔎 Message search: database backend on " + product + " (no trigram index, sequential scan)");
+            return;
+        }
+        Integer found = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM pg_indexes WHERE indexname IN (?, ?)", Integer.class,
+            (Object[]) TRIGRAM_INDEXES);
+        if (found == null || found < TRIGRAM_INDEXES.length) {
+            System.err.println("⚠️ Message search: pg_trgm indexes missing - apply db/vendor/postgresql/V7 " +
+                "(CREATE EXTENSION pg_trgm) or searches will scan whole message tables");
+        } else {
+            System.out.println("🔎 Message search: database backend with pg_trgm indexes");
+        }
+    }
+
+    // 같은 정렬/커서 조건을 각 분기에 넣어 분기마다 limit개만 읽게 함
+    private static void appendBranchTail(StringBuilder sql, List<Object> args, String alias,
+                                         MessageCursor before, int limit) {
+        if (before != null) {
+            Timestamp timestamp = Timestamp.valueOf(before.getTimestamp());
+            sql.append("AND (").append(alias).append(".timestamp < ? OR (")
+                .append(alias).append(".timestamp = ? AND ").append(alias).append(".id < ?)) ");
+            args.add(timestamp);
+            args.add(timestamp);
+            args.add(before.getId());
+        }
+        sql.append("ORDER BY ").append(alias).append(".timestamp DESC, ").append(alias).append(".id DESC LIMIT ?)");
+        args.add(limit);
+    }
+
+    private static String escapeLike(String keyword) {
+        return keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
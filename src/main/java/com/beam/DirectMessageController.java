@@ -15,7 +15,7 @@ public class DirectMessageController {
     private DirectMessageService directMessageService;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserProfileLoader userProfileLoader;
 
     @Autowired
     private JwtUtil jwtUtil;
@@ -55,18 +55,21 @@ public class DirectMessageController {
 
             List<ConversationEntity> conversations = directMessageService.getUserConversations(userId);
 
+            Map<Long, UserProfile> profiles = userProfileLoader.loadAll(conversations,
+                conv -> conv.getUser1Id().equals(userId) ? conv.getUser2Id() : conv.getUser1Id());
+
             List<Map<String, Object>> result = conversations.stream().map(conv -> {
                 Long otherUserId = conv.getUser1Id().equals(userId) ? conv.getUser2Id() : conv.getUser1Id();
-                Optional<UserEntity> otherUserOpt = userRepository.findById(otherUserId);
+                Optional<UserProfile> otherUserOpt = Optional.ofNullable(profiles.get(otherUserId));
 
                 Map<String, Object> convMap = new HashMap<>();
                 convMap.put("conversationId", conv.getConversationId());
                 convMap.put("otherUserId", otherUserId);
-                convMap.put("otherUserName", otherUserOpt.map(UserEntity::getDisplayName).orElse("Unknown"));
+                convMap.put("otherUserName", otherUserOpt.map(UserProfile::getDisplayName).orElse("Unknown"));
                 convMap.put("lastMessage", conv.getLastMessage());
                 convMap.put("lastMessageTime", conv.getLastMessageTime() != null ? conv.getLastMessageTime().toString() : null);
                 convMap.put("unreadCount", conv.getUnreadCount(userId));
-                convMap.put("isOnline", otherUserOpt.map(UserEntity::getIsOnline).orElse(false));
+                convMap.put("isOnline", otherUserOpt.map(UserProfile::getIsOnline).orElse(false));
 
                 return convMap;
             }).collect(Collectors.toList());
@@ -82,14 +85,18 @@ public class DirectMessageController {
     @GetMapping("/conversation/{conversationId}")
     public ResponseEntity<?> getConversationMessages(
             @RequestHeader("Authorization") String token,
-            @PathVariable String conversationId) {
+            @PathVariable String conversationId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
         try {
             String jwtToken = token.replace("Bearer ", "");
             Long userId = jwtUtil.getUserIdFromToken(jwtToken);
 
-            List<DirectMessageEntity> messages = directMessageService.getConversationMessages(conversationId, userId);
+            MessagePage<DirectMessageEntity> page = directMessageService.getConversationMessages(
+                conversationId, userId, before, after, limit);
 
-            List<Map<String, Object>> result = messages.stream().map(msg -> {
+            MessagePage<Map<String, Object>> result = page.map(msg -> {
                 Map<String, Object> msgMap = new HashMap<>();
                 msgMap.put("id", msg.getId());
                 msgMap.put("senderId", msg.getSenderId());
@@ -101,7 +108,7 @@ public class DirectMessageController {
                 msgMap.put("isMine", msg.getSenderId().equals(userId));
 
                 return msgMap;
-            }).collect(Collectors.toList());
+            });
 
             return ResponseEntity.ok(result);
         } catch (Exception e) {
@@ -122,12 +129,12 @@ public class DirectMessageController {
 
             ConversationEntity conversation = directMessageService.getOrCreateConversation(userId, otherUserId);
 
-            Optional<UserEntity> otherUser = userRepository.findById(otherUserId);
+            Optional<UserProfile> otherUser = userProfileLoader.load(otherUserId);
 
             Map<String, Object> response = new HashMap<>();
             response.put("conversationId", conversation.getConversationId());
             response.put("otherUserId", otherUserId);
-            response.put("otherUserName", otherUser.map(UserEntity::getDisplayName).orElse("Unknown"));
+            response.put("otherUserName", otherUser.map(UserProfile::getDisplayName).orElse("Unknown"));
             response.put("success", true);
 
             return ResponseEntity.ok(response);
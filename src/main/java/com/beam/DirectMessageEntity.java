@@ -7,12 +7,16 @@ import java.time.LocalDateTime;
 @Table(name = "direct_messages", indexes = {
     @Index(name = "idx_sender_receiver", columnList = "senderId,receiverId"),
     @Index(name = "idx_conversation", columnList = "conversationId"),
-    @Index(name = "idx_timestamp", columnList = "timestamp")
+    @Index(name = "idx_dm_conversation_timestamp_id", columnList = "conversationId,timestamp,id"),
+    @Index(name = "idx_timestamp", columnList = "timestamp"),
+    @Index(name = "idx_dm_timestamp_id", columnList = "timestamp,id")
 })
 public class DirectMessageEntity {
 
+    // IDENTITY는 Hibernate JDBC batch insert를 막으므로 pooled 시퀀스 사용 (V3 마이그레이션: INCREMENT BY 50)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "direct_message_seq")
+    @SequenceGenerator(name = "direct_message_seq", sequenceName = "direct_messages_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -109,6 +113,10 @@ public class DirectMessageEntity {
         return id;
     }
 
+    public MessageCursor toCursor() {
+        return MessageCursor.of(timestamp, id);
+    }
+
     public String getConversationId() {
         return conversationId;
     }
@@ -1,10 +1,12 @@
 package com.beam;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -14,6 +16,30 @@ public interface DirectMessageRepository extends JpaRepository<DirectMessageEnti
 
     List<DirectMessageEntity> findTop50ByConversationIdOrderByTimestampDesc(String conversationId);
 
+    // keyset 페이지네이션: (timestamp, id) 커서 기준, limit은 Pageable로 전달
+    @Query("SELECT d FROM DirectMessageEntity d WHERE d.conversationId = :conversationId AND d.isDeleted = false " +
+           "ORDER BY d.timestamp DESC, d.id DESC")
+    List<DirectMessageEntity> findLatestPage(@Param("conversationId") String conversationId, Pageable pageable);
+
+    @Query("SELECT d FROM DirectMessageEntity d WHERE d.conversationId = :conversationId AND d.isDeleted = false " +
+           "AND (d.timestamp < :timestamp OR (d.timestamp = :timestamp AND d.id < :id)) " +
+           "ORDER BY d.timestamp DESC, d.id DESC")
+    List<DirectMessageEntity> findPageBefore(@Param("conversationId") String conversationId, @Param("timestamp") LocalDateTime timestamp,
+                                  @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT d FROM DirectMessageEntity d WHERE d.conversationId = :conversationId AND d.isDeleted = false " +
+           "AND (d.timestamp > :timestamp OR (d.timestamp = :timestamp AND d.id > :id)) " +
+           "ORDER BY d.timestamp ASC, d.id ASC")
+    List<DirectMessageEntity> findPageAfter(@Param("conversationId") String conversationId, @Param("timestamp") LocalDateTime timestamp,
+                                 @Param("id") Long id, Pageable pageable);
+
+    // 검색 색인 생성용 전체 순회 (timestamp, id) keyset
+    @Query("SELECT d FROM DirectMessageEntity d WHERE d.isDeleted = false " +
+           "AND (d.timestamp > :timestamp OR (d.timestamp = :timestamp AND d.id > :id)) " +
+           "ORDER BY d.timestamp ASC, d.id ASC")
+    List<DirectMessageEntity> findIndexBatch(@Param("timestamp") LocalDateTime timestamp,
+                                             @Param("id") Long id, Pageable pageable);
+
     @Query("SELECT COUNT(d) FROM DirectMessageEntity d WHERE d.conversationId = :conversationId " +
            "AND d.receiverId = :userId AND d.isRead = false")
     Integer countUnreadMessages(@Param("conversationId") String conversationId, @Param("userId") Long userId);
@@ -1,6 +1,8 @@
 package com.beam;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +22,9 @@ public class DirectMessageService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private MessageSearchIndex messageSearchIndex;
+
     @Transactional
     public DirectMessageEntity sendMessage(Long senderId, Long receiverId, String content) {
         UserEntity sender = userRepository.findById(senderId)
@@ -44,6 +49,8 @@ public class DirectMessageService {
             .build();
 
         message = directMessageRepository.save(message);
+        // 롤백되더라도 검색 시 DB 재확인 단계에서 걸러짐
+        messageSearchIndex.index(message);
 
         conversation.setLastMessage(content);
         conversation.setLastMessageTime(message.getTimestamp());
@@ -54,14 +61,41 @@ public class DirectMessageService {
         return message;
     }
 
+    /**
+     * 대화 메시지 keyset 페이지 조회
+     * 최신 페이지(또는 after 방향)를 조회할 때만 읽음 처리
+     *
+     * @param before 이 커서보다 오래된 메시지 (null이면 최신 페이지)
+     * @param after  이 커서보다 최신 메시지 (지정 시 before보다 우선)
+     */
     @Transactional
-    public List<DirectMessageEntity> getConversationMessages(String conversationId, Long userId) {
-        List<DirectMessageEntity> messages = directMessageRepository
-            .findByConversationIdOrderByTimestampAsc(conversationId);
+    public MessagePage<DirectMessageEntity> getConversationMessages(String conversationId, Long userId,
+                                                                    String before, String after, Integer limit) {
+        int size = MessagePage.clampLimit(limit);
+        Pageable page = PageRequest.of(0, size + 1);
+
+        MessagePage<DirectMessageEntity> result;
+        if (after != null) {
+            MessageCursor cursor = MessageCursor.decode(after);
+            result = MessagePage.fromAscending(
+                directMessageRepository.findPageAfter(conversationId, cursor.getTimestamp(), cursor.getId(), page),
+                size, DirectMessageEntity::toCursor);
+        } else if (before != null) {
+            MessageCursor cursor = MessageCursor.decode(before);
+            result = MessagePage.fromDescending(
+                directMessageRepository.findPageBefore(conversationId, cursor.getTimestamp(), cursor.getId(), page),
+                size, DirectMessageEntity::toCursor);
+        } else {
+            result = MessagePage.fromDescending(
+                directMessageRepository.findLatestPage(conversationId, page),
+                size, DirectMessageEntity::toCursor);
+        }
 
-        markMessagesAsRead(conversationId, userId);
+        if (before == null) {
+            markMessagesAsRead(conversationId, userId);
+        }
 
-        return messages;
+        return result;
     }
 
     @Transactional
@@ -0,0 +1,82 @@
+package com.beam;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 내용 주소 기반 파일 blob (SHA-256)
+ * - 같은 내용의 업로드는 물리 파일 하나를 공유하고 refCount로 참조하는 file_metadata 수를 셈
+ * - refCount가 0이 되면 행과 물리 파일(파생 파일 포함)을 삭제
+ */
+@Entity
+@Table(name = "file_blobs")
+public class FileBlobEntity {
+
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // 업로드 디렉터리 기준 상대 경로 (blobs/ab/cd/<hash>)
+    @Column(name = "storage_path", nullable = false, length = 200)
+    private String storagePath;
+
+    @Column(name = "file_size", nullable = false)
+    private Long fileSize;
+
+    @Column(name = "ref_count", nullable = false)
+    private Long refCount = 1L;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public FileBlobEntity() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public FileBlobEntity(String contentHash, String storagePath, Long fileSize) {
+        this.contentHash = contentHash;
+        this.storagePath = storagePath;
+        this.fileSize = fileSize;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getStoragePath() {
+        return storagePath;
+    }
+
+    public void setStoragePath(String storagePath) {
+        this.storagePath = storagePath;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public Long getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(Long refCount) {
+        this.refCount = refCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
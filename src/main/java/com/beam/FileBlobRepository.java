@@ -0,0 +1,39 @@
+package com.beam;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface FileBlobRepository extends JpaRepository<FileBlobEntity, String> {
+
+    // 참조 추가 (blob이 없으면 0 반환 → 새 blob 생성)
+    @Transactional
+    @Modifying
+    @Query("UPDATE FileBlobEntity b SET b.refCount = b.refCount + 1 WHERE b.contentHash = :hash")
+    int acquire(@Param("hash") String hash);
+
+    // save()는 id가 있으면 merge가 되어 다른 노드가 만든 행의 refCount를 덮어쓸 수 있으므로 INSERT만 사용
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO file_blobs (content_hash, storage_path, file_size, ref_count, created_at) " +
+                   "VALUES (:hash, :storagePath, :fileSize, 1, :now)", nativeQuery = true)
+    int insertBlob(@Param("hash") String hash, @Param("storagePath") String storagePath,
+                   @Param("fileSize") long fileSize, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE FileBlobEntity b SET b.refCount = b.refCount - 1 WHERE b.contentHash = :hash AND b.refCount > 0")
+    int release(@Param("hash") String hash);
+
+    // 마지막 참조가 사라진 blob 행 삭제 (1이면 물리 파일도 삭제해도 됨)
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM FileBlobEntity b WHERE b.contentHash = :hash AND b.refCount <= 0")
+    int deleteIfUnreferenced(@Param("hash") String hash);
+}
@@ -0,0 +1,356 @@
+package com.beam;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * File Blob Store
+ *
+ * <p>Content-addressed storage for uploaded files. Each distinct content (SHA-256) is stored once
+ * under {@code blobs/ab/cd/<hash>} and shared by every {@link FileMetadataEntity} that references it,
+ * so a file forwarded to many rooms costs one copy on disk.
+ *
+ * <h3>Write path (one pass over the content):</h3>
+ * <ul>
+ *   <li>{@link #put}: a stream is written to a temp file while the signature is checked on the first
+ *       bytes, the hash is computed and the size limit is enforced</li>
+ *   <li>{@link #putFile}: a part the container already spooled to disk is renamed into the temp
+ *       directory and read once for the signature and hash</li>
+ *   <li>Known content: the reference count is incremented and the temp file discarded</li>
+ *   <li>New content: the temp file is moved (rename, no copy) into its shard directory</li>
+ * </ul>
+ *
+ * <h3>Reference counting ({@link FileBlobEntity}):</h3>
+ * <ul>
+ *   <li>Acquire/release are single conditional UPDATEs; the physical blob and its derivatives are
+ *       removed only when the row is deleted at refCount 0</li>
+ *   <li>Release-to-zero runs in one transaction: the row lock taken by the decrement is held while
+ *       the row is deleted and the files are renamed to tombstones, so an {@code acquire} of the same
+ *       content on any node sharing the upload directory waits, sees no row and stores a fresh copy
+ *       only after the old files are gone. Tombstones are restored if the transaction fails and
+ *       deleted after it commits</li>
+ *   <li>A striped lock per hash additionally orders release and upload of the same content on this
+ *       node without waiting on the database</li>
+ *   <li>Files stored before this change keep their UUID names and are deleted directly</li>
+ * </ul>
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ *   <li>beam_file_blob_dedup_total - Uploads that reused an existing blob</li>
+ *   <li>beam_file_blob_dedup_bytes_total - Bytes not written thanks to deduplication</li>
+ *   <li>beam_file_upload_seconds{path=stream|file} - Hash/validate/store time per upload</li>
+ *   <li>beam_file_upload_bytes - Stored upload sizes (throughput = bytes / seconds)</li>
+ * </ul>
+ *
+ * @since 1.2.0
+ */
+@Service
+public class FileBlobStore {
+
+    static final String BLOB_DIR = "blobs";
+    private static final String TEMP_DIR = "tmp";
+    private static final int LOCK_STRIPES = 64;
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final FileBlobRepository fileBlobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Path root;
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    private final MeterRegistry meterRegistry;
+    private final Counter dedupCounter;
+    private final Counter dedupBytesCounter;
+    private final DistributionSummary uploadBytes;
+    private final Map<String, Timer> uploadTimers = new ConcurrentHashMap<>();
+
+    public record StoredBlob(String contentHash, String storagePath, long size, boolean reused) {}
+
+    public FileBlobStore(FileBlobRepository fileBlobRepository,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${file.upload-dir:uploads}") String uploadDir) {
+        this.fileBlobRepository = fileBlobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.meterRegistry = meterRegistry;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+
+        dedupCounter = Counter.builder("beam_file_blob_dedup_total")
+                .description("Uploads that reused an existing content blob")
+                .register(meterRegistry);
+
+        dedupBytesCounter = Counter.builder("beam_file_blob_dedup_bytes_total")
+                .description("Bytes not written because the content was already stored")
+                .register(meterRegistry);
+
+        uploadBytes = DistributionSummary.builder("beam_file_upload_bytes")
+                .description("Stored upload sizes")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 업로드 내용을 한 번 읽으면서 시그니처 확인, 해시 계산, 크기 제한, 기록을 함께 처리
+     * (같은 내용이 있으면 참조만 추가)
+     */
+    public StoredBlob put(InputStream content, long maxSize, HeaderCheck headerCheck) throws IOException {
+        Timer.Sample sample = Timer.start();
+        Path temp = newTempFile();
+        try {
+            MessageDigest digest = sha256();
+            long size = 0;
+            byte[] buffer = new byte[BUFFER_BYTES];
+            try (InputStream input = content; OutputStream output = Files.newOutputStream(temp)) {
+                int read = input.readNBytes(buffer, 0, FileSecurityValidator.SIGNATURE_HEADER_BYTES);
+                headerCheck.check(buffer, read);
+                while (read > 0) {
+                    size += read;
+                    checkSize(size, maxSize);
+                    digest.update(buffer, 0, read);
+                    output.write(buffer, 0, read);
+                    read = input.read(buffer);
+                }
+            }
+            StoredBlob blob = commit(temp, HexFormat.of().formatHex(digest.digest()), size);
+            record(sample, "stream", size);
+            return blob;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 이미 디스크에 받은 임시 파일(newTempFile)을 blob으로 등록. 파일은 한 번만 읽고 복사 없이 rename
+     */
+    public StoredBlob putFile(Path temp, long maxSize, HeaderCheck headerCheck) throws IOException {
+        Timer.Sample sample = Timer.start();
+        try {
+            long size = Files.size(temp);
+            checkSize(size, maxSize);
+
+            MessageDigest digest = sha256();
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ)) {
+                boolean first = true;
+                while (channel.read(buffer) > 0) {
+                    buffer.flip();
+                    if (first) {
+                        headerCheck.check(buffer.array(), Math.min(buffer.limit(), FileSecurityValidator.SIGNATURE_HEADER_BYTES));
+                        first = false;
+                    }
+                    digest.update(buffer);
+                    buffer.clear();
+                }
+                if (first) {
+                    headerCheck.check(buffer.array(), 0);
+                }
+            }
+            StoredBlob blob = commit(temp, HexFormat.of().formatHex(digest.digest()), size);
+            record(sample, "file", size);
+            return blob;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 저장 전에 파일 앞부분으로 형식을 검사 (예외를 던지면 업로드 중단)
+     */
+    @FunctionalInterface
+    public interface HeaderCheck {
+        void check(byte[] header, int length);
+    }
+
+    /**
+     * 이미 해시를 아는 임시 파일을 blob으로 등록. 임시 파일은 이동되거나 삭제됨
+     */
+    public StoredBlob commit(Path temp, String contentHash, long size) throws IOException {
+        String storagePath = storagePath(contentHash);
+        Path target = resolve(storagePath);
+
+        ReentrantLock lock = lockFor(contentHash);
+        lock.lock();
+        try {
+            for (int attempt = 0; attempt < 2; attempt++) {
+                if (fileBlobRepository.acquire(contentHash) > 0) {
+                    if (Files.exists(target)) {
+                        Files.deleteIfExists(temp);
+                    } else {
+                        // 행은 있는데 파일이 없으면 이번 업로드로 복구
+                        moveInto(temp, target);
+                    }
+                    dedupCounter.increment();
+                    dedupBytesCounter.increment(size);
+                    return new StoredBlob(contentHash, storagePath, size, true);
+                }
+                moveInto(temp, target);
+                try {
+                    fileBlobRepository.insertBlob(contentHash, storagePath, size, LocalDateTime.now());
+                    return new StoredBlob(contentHash, storagePath, size, false);
+                } catch (DataIntegrityViolationException e) {
+                    // 다른 노드가 먼저 등록함 → 참조 추가로 재시도 (파일은 같은 내용이므로 그대로 둠)
+                }
+            }
+            throw new IllegalStateException("Could not register blob " + contentHash);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 참조 해제. 마지막 참조였으면 blob 파일과 파생 파일 삭제
+     * - 행 삭제와 파일 tombstone 이동을 한 트랜잭션에서 처리 (행 잠금 동안 다른 노드의 acquire가 대기)
+     * - 커밋 전에 파일을 지우면 롤백 시 참조가 남은 blob을 잃으므로 커밋 후에 tombstone을 삭제
+     */
+    public void release(String contentHash) {
+        ReentrantLock lock = lockFor(contentHash);
+        lock.lock();
+        List<Path[]> tombstones = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                fileBlobRepository.release(contentHash);
+                if (fileBlobRepository.deleteIfUnreferenced(contentHash) == 1) {
+                    moveToTombstones(contentHash, tombstones);
+                }
+            });
+        } catch (RuntimeException e) {
+            restoreTombstones(tombstones);
+            System.err.println("Failed to release blob " + contentHash + ": " + e.getMessage());
+            return;
+        } finally {
+            lock.unlock();
+        }
+
+        for (Path[] tombstone : tombstones) {
+            try {
+                Files.deleteIfExists(tombstone[1]);
+            } catch (IOException e) {
+                System.err.println("Failed to delete blob tombstone " + tombstone[1] + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // blob 파일과 파생 파일을 임시 디렉터리로 이동 ({원래 위치, tombstone} 쌍을 기록)
+    private void moveToTombstones(String contentHash, List<Path[]> tombstones) {
+        Path target = resolve(storagePath(contentHash));
+        try {
+            List<Path> files = new ArrayList<>();
+            if (Files.exists(target)) {
+                files.add(target);
+            }
+            if (Files.isDirectory(target.getParent())) {
+                try (DirectoryStream<Path> derivatives = Files.newDirectoryStream(target.getParent(), "d_*_" + contentHash + ".*")) {
+                    derivatives.forEach(files::add);
+                }
+            }
+            Path tempDir = root.resolve(TEMP_DIR);
+            Files.createDirectories(tempDir);
+            for (Path file : files) {
+                Path tombstone = tempDir.resolve(UUID.randomUUID() + ".deleted");
+                Files.move(file, tombstone, StandardCopyOption.ATOMIC_MOVE);
+                tombstones.add(new Path[] {file, tombstone});
+            }
+        } catch (IOException e) {
+            // 트랜잭션을 롤백해서 행을 되살리고 이미 옮긴 파일은 호출자가 복구
+            throw new IllegalStateException("Could not remove blob files: " + e.getMessage(), e);
+        }
+    }
+
+    private static void restoreTombstones(List<Path[]> tombstones) {
+        for (Path[] tombstone : tombstones) {
+            try {
+                Files.move(tombstone[1], tombstone[0], StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                System.err.println("Failed to restore blob file " + tombstone[0] + ": " + e.getMessage());
+            }
+        }
+    }
+
+    public static boolean isBlobPath(String filePath) {
+        return filePath != null && filePath.startsWith(BLOB_DIR + "/");
+    }
+
+    /**
+     * 업로드 디렉터리 안의 임시 파일 (같은 파일 시스템이므로 blob으로 rename 가능)
+     */
+    public Path newTempFile() throws IOException {
+        Path tempDir = root.resolve(TEMP_DIR);
+        Files.createDirectories(tempDir);
+        return tempDir.resolve(UUID.randomUUID() + ".part");
+    }
+
+    private static void checkSize(long size, long maxSize) {
+        if (size > maxSize) {
+            throw new RuntimeException("File size exceeds maximum limit of " + (maxSize / 1024 / 1024) + "MB");
+        }
+    }
+
+    private void record(Timer.Sample sample, String path, long size) {
+        sample.stop(uploadTimers.computeIfAbsent(path, key -> Timer.builder("beam_file_upload_seconds")
+                .description("Time to hash, validate and store an upload")
+                .tag("path", key)
+                .register(meterRegistry)));
+        uploadBytes.record(size);
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 디렉터리당 파일 수를 제한하기 위해 해시 앞 4자리로 2단계 분산
+    static String storagePath(String contentHash) {
+        return BLOB_DIR + "/" + contentHash.substring(0, 2) + "/" + contentHash.substring(2, 4) + "/" + contentHash;
+    }
+
+    private Path resolve(String storagePath) {
+        Path path = root.resolve(storagePath).normalize();
+        if (!path.startsWith(root)) {
+            throw new SecurityException("Invalid file path");
+        }
+        return path;
+    }
+
+    private static void moveInto(Path temp, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private ReentrantLock lockFor(String contentHash) {
+        return locks[Math.floorMod(contentHash.hashCode(), LOCK_STRIPES)];
+    }
+}
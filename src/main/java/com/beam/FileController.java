@@ -1,15 +1,16 @@
 package com.beam;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.http.HttpHeaders;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -20,6 +21,21 @@ public class FileController {
     @Autowired
     private FileStorageService fileStorageService;
 
+    @Autowired
+    private FileDownloadService fileDownloadService;
+
+    @Autowired
+    private ChunkedUploadService chunkedUploadService;
+
+    @Autowired
+    private StorageQuotaService storageQuotaService;
+
+    @Autowired
+    private UserProfileLoader userProfileLoader;
+
+    @Value("${file.upload.chunk-max-bytes:8388608}")
+    private int chunkMaxBytes;
+
     @Autowired
     private FileMetadataRepository fileMetadataRepository;
 
@@ -48,6 +64,7 @@ public class FileController {
             response.put("fileType", metadata.getFileType());
             response.put("category", metadata.getCategory().toString());
             response.put("hasThumbnail", metadata.getThumbnailPath() != null);
+            response.put("derivativeStatus", metadata.getDerivativeStatus() != null ? metadata.getDerivativeStatus().toString() : null);
             response.put("message", "File uploaded successfully");
 
             return ResponseEntity.ok(response);
@@ -77,6 +94,7 @@ public class FileController {
             response.put("fileType", metadata.getFileType());
             response.put("category", metadata.getCategory().toString());
             response.put("hasThumbnail", metadata.getThumbnailPath() != null);
+            response.put("derivativeStatus", metadata.getDerivativeStatus() != null ? metadata.getDerivativeStatus().toString() : null);
             response.put("message", "File uploaded successfully");
 
             return ResponseEntity.ok(response);
@@ -87,79 +105,189 @@ public class FileController {
         }
     }
 
-    @GetMapping("/download/{fileId}")
-    public ResponseEntity<Resource> downloadFile(
+    /**
+     * 분할 업로드 세션 생성
+     * body: fileName, fileSize, fileType, conversationId 또는 roomId
+     */
+    @PostMapping("/uploads")
+    public ResponseEntity<?> createUploadSession(
             @RequestHeader("Authorization") String token,
-            @PathVariable Long fileId,
+            @RequestBody Map<String, Object> request) {
+        try {
+            String jwtToken = token.replace("Bearer ", "");
+            Long userId = jwtUtil.getUserIdFromToken(jwtToken);
+
+            ChunkedUploadService.UploadSession session = chunkedUploadService.createSession(
+                userId,
+                (String) request.get("fileName"),
+                (String) request.get("fileType"),
+                request.get("fileSize") != null ? Long.valueOf(request.get("fileSize").toString()) : null,
+                request.get("conversationId") != null ? request.get("conversationId").toString() : null,
+                request.get("roomId") != null ? Long.valueOf(request.get("roomId").toString()) : null);
+
+            Map<String, Object> response = uploadStatus(session);
+            response.put("maxChunkBytes", chunkMaxBytes);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    /**
+     * chunk 업로드 (본문은 application/octet-stream 원본 바이트)
+     */
+    @PutMapping("/uploads/{uploadId}")
+    public ResponseEntity<?> uploadChunk(
+            @RequestHeader("Authorization") String token,
+            @PathVariable String uploadId,
+            @RequestParam long offset,
             HttpServletRequest request) {
         try {
-            FileMetadataEntity metadata = fileMetadataRepository.findByIdAndIsDeletedFalse(fileId)
-                .orElseThrow(() -> new RuntimeException("File not found"));
+            String jwtToken = token.replace("Bearer ", "");
+            Long userId = jwtUtil.getUserIdFromToken(jwtToken);
 
-            Resource resource = fileStorageService.loadFileAsResource(fileId);
+            ChunkedUploadService.UploadSession session =
+                chunkedUploadService.writeChunk(uploadId, userId, offset, request.getInputStream());
 
-            String contentType = null;
-            try {
-                contentType = request.getServletContext().getMimeType(resource.getFile().getAbsolutePath());
-            } catch (IOException ex) {
-                contentType = "application/octet-stream";
-            }
+            return ResponseEntity.ok(uploadStatus(session));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
 
-            if (contentType == null) {
-                contentType = "application/octet-stream";
-            }
+    /**
+     * 받은 범위 조회 (재개 시 빠진 부분만 다시 전송)
+     */
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<?> getUploadStatus(
+            @RequestHeader("Authorization") String token,
+            @PathVariable String uploadId) {
+        try {
+            String jwtToken = token.replace("Bearer ", "");
+            Long userId = jwtUtil.getUserIdFromToken(jwtToken);
 
-            return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + metadata.getFileName() + "\"")
-                .body(resource);
+            return ResponseEntity.ok(uploadStatus(chunkedUploadService.getSession(uploadId, userId)));
         } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
         }
     }
 
-    @GetMapping("/thumbnail/{fileId}")
-    public ResponseEntity<Resource> getThumbnail(
+    @PostMapping("/uploads/{uploadId}/commit")
+    public ResponseEntity<?> commitUpload(
             @RequestHeader("Authorization") String token,
-            @PathVariable Long fileId) {
+            @PathVariable String uploadId) {
         try {
-            Resource resource = fileStorageService.loadThumbnailAsResource(fileId);
+            String jwtToken = token.replace("Bearer ", "");
+            Long userId = jwtUtil.getUserIdFromToken(jwtToken);
+
+            FileMetadataEntity metadata = chunkedUploadService.commit(uploadId, userId);
 
-            return ResponseEntity.ok()
-                .contentType(MediaType.IMAGE_JPEG)
-                .body(resource);
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("fileId", metadata.getId());
+            response.put("fileName", metadata.getFileName());
+            response.put("fileSize", metadata.getFileSize());
+            response.put("fileType", metadata.getFileType());
+            response.put("category", metadata.getCategory().toString());
+            response.put("hasThumbnail", metadata.getThumbnailPath() != null);
+            response.put("derivativeStatus", metadata.getDerivativeStatus() != null ? metadata.getDerivativeStatus().toString() : null);
+            response.put("message", "File uploaded successfully");
+
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @DeleteMapping("/uploads/{uploadId}")
+    public ResponseEntity<?> abortUpload(
+            @RequestHeader("Authorization") String token,
+            @PathVariable String uploadId) {
+        try {
+            String jwtToken = token.replace("Bearer ", "");
+            Long userId = jwtUtil.getUserIdFromToken(jwtToken);
+
+            chunkedUploadService.abort(uploadId, userId);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            return ResponseEntity.ok(response);
         } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    private static Map<String, Object> uploadStatus(ChunkedUploadService.UploadSession session) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("uploadId", session.getUploadId());
+        response.put("fileName", session.getFileName());
+        response.put("fileSize", session.getFileSize());
+        response.put("received", session.getReceivedRanges());
+        response.put("receivedBytes", session.receivedBytes());
+        response.put("complete", session.isComplete());
+        return response;
+    }
+
+    @RequestMapping(value = "/download/{fileId}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void downloadFile(
+            @RequestHeader("Authorization") String token,
+            @PathVariable Long fileId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        FileMetadataEntity metadata = fileMetadataRepository.findByIdAndIsDeletedFalse(fileId).orElse(null);
+        if (metadata == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        fileDownloadService.serveFile(metadata, fileStorageService.resolveStoredPath(metadata), request, response);
+    }
+
+    @GetMapping("/thumbnail/{fileId}")
+    public void getThumbnail(
+            @RequestHeader("Authorization") String token,
+            @PathVariable Long fileId,
+            @RequestParam(defaultValue = MediaDerivativeService.DEFAULT_THUMBNAIL) String variant,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        FileMetadataEntity metadata = fileMetadataRepository.findByIdAndIsDeletedFalse(fileId).orElse(null);
+        if (metadata == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Path path;
+        try {
+            path = fileStorageService.resolveThumbnailPath(metadata, variant);
+        } catch (RuntimeException e) {
+            // 아직 생성 중이거나 없는 변형
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
         }
+        String contentType = variant.startsWith("webp") ? "image/webp" : MediaType.IMAGE_JPEG_VALUE;
+        fileDownloadService.serveDerivative(metadata, variant, path, contentType, request, response);
     }
 
     @GetMapping("/conversation/{conversationId}")
     public ResponseEntity<?> getConversationFiles(
             @RequestHeader("Authorization") String token,
-            @PathVariable String conversationId) {
+            @PathVariable String conversationId,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<FileMetadataEntity> files = fileMetadataRepository
-                .findByConversationIdAndIsDeletedFalseOrderByUploadedAtDesc(conversationId);
-
-            List<Map<String, Object>> result = files.stream().map(file -> {
-                Optional<UserEntity> uploaderOpt = userRepository.findById(file.getUploaderId());
-
-                Map<String, Object> fileMap = new HashMap<>();
-                fileMap.put("fileId", file.getId());
-                fileMap.put("fileName", file.getFileName());
-                fileMap.put("fileSize", file.getFileSize());
-                fileMap.put("fileType", file.getFileType());
-                fileMap.put("category", file.getCategory().toString());
-                fileMap.put("uploaderId", file.getUploaderId());
-                fileMap.put("uploaderName", uploaderOpt.map(UserEntity::getDisplayName).orElse("Unknown"));
-                fileMap.put("uploadedAt", file.getUploadedAt().toString());
-                fileMap.put("downloadCount", file.getDownloadCount());
-                fileMap.put("hasThumbnail", file.getThumbnailPath() != null);
-
-                return fileMap;
-            }).collect(Collectors.toList());
-
-            return ResponseEntity.ok(result);
+            FileStorageService.FilePage page = fileStorageService.listFiles(
+                FileMetadataRepositoryCustom.FileScope.CONVERSATION, conversationId, parseCategory(category), before, limit);
+
+            return ResponseEntity.ok(toPageResponse(page, true));
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -170,30 +298,15 @@ public class FileController {
     @GetMapping("/room/{roomId}")
     public ResponseEntity<?> getRoomFiles(
             @RequestHeader("Authorization") String token,
-            @PathVariable Long roomId) {
+            @PathVariable Long roomId,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<FileMetadataEntity> files = fileMetadataRepository
-                .findByRoomIdAndIsDeletedFalseOrderByUploadedAtDesc(roomId);
-
-            List<Map<String, Object>> result = files.stream().map(file -> {
-                Optional<UserEntity> uploaderOpt = userRepository.findById(file.getUploaderId());
-
-                Map<String, Object> fileMap = new HashMap<>();
-                fileMap.put("fileId", file.getId());
-                fileMap.put("fileName", file.getFileName());
-                fileMap.put("fileSize", file.getFileSize());
-                fileMap.put("fileType", file.getFileType());
-                fileMap.put("category", file.getCategory().toString());
-                fileMap.put("uploaderId", file.getUploaderId());
-                fileMap.put("uploaderName", uploaderOpt.map(UserEntity::getDisplayName).orElse("Unknown"));
-                fileMap.put("uploadedAt", file.getUploadedAt().toString());
-                fileMap.put("downloadCount", file.getDownloadCount());
-                fileMap.put("hasThumbnail", file.getThumbnailPath() != null);
-
-                return fileMap;
-            }).collect(Collectors.toList());
-
-            return ResponseEntity.ok(result);
+            FileStorageService.FilePage page = fileStorageService.listFiles(
+                FileMetadataRepositoryCustom.FileScope.ROOM, roomId, parseCategory(category), before, limit);
+
+            return ResponseEntity.ok(toPageResponse(page, true));
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -202,36 +315,25 @@ public class FileController {
     }
 
     @GetMapping("/my-files")
-    public ResponseEntity<?> getMyFiles(@RequestHeader("Authorization") String token) {
+    public ResponseEntity<?> getMyFiles(
+            @RequestHeader("Authorization") String token,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer limit) {
         try {
             String jwtToken = token.replace("Bearer ", "");
             Long userId = jwtUtil.getUserIdFromToken(jwtToken);
 
-            List<FileMetadataEntity> files = fileMetadataRepository
-                .findByUploaderIdAndIsDeletedFalseOrderByUploadedAtDesc(userId);
+            FileStorageService.FilePage page = fileStorageService.listFiles(
+                FileMetadataRepositoryCustom.FileScope.UPLOADER, userId, parseCategory(category), before, limit);
 
-            Long totalSize = fileMetadataRepository.getTotalFileSizeByUser(userId);
+            // 합계는 매번 SUM하지 않고 사용자별 집계 행에서 조회
+            UserStorageUsageEntity usage = storageQuotaService.getUsage(userId);
 
-            List<Map<String, Object>> fileList = files.stream().map(file -> {
-                Map<String, Object> fileMap = new HashMap<>();
-                fileMap.put("fileId", file.getId());
-                fileMap.put("fileName", file.getFileName());
-                fileMap.put("fileSize", file.getFileSize());
-                fileMap.put("fileType", file.getFileType());
-                fileMap.put("category", file.getCategory().toString());
-                fileMap.put("uploadedAt", file.getUploadedAt().toString());
-                fileMap.put("downloadCount", file.getDownloadCount());
-                fileMap.put("conversationId", file.getConversationId());
-                fileMap.put("roomId", file.getRoomId());
-                fileMap.put("hasThumbnail", file.getThumbnailPath() != null);
-
-                return fileMap;
-            }).collect(Collectors.toList());
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("files", fileList);
-            response.put("totalFiles", files.size());
-            response.put("totalSize", totalSize != null ? totalSize : 0);
+            Map<String, Object> response = toPageResponse(page, false);
+            response.put("totalFiles", usage.getFileCount());
+            response.put("totalSize", usage.getUsedBytes());
+            response.put("quotaBytes", storageQuotaService.getMaxBytesPerUser());
 
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -241,6 +343,48 @@ public class FileController {
         }
     }
 
+    private static FileMetadataEntity.FileCategory parseCategory(String category) {
+        return category != null && !category.isEmpty()
+            ? FileMetadataEntity.FileCategory.valueOf(category.toUpperCase())
+            : null;
+    }
+
+    private Map<String, Object> toPageResponse(FileStorageService.FilePage page, boolean withUploader) {
+        Map<Long, UserProfile> uploaders = withUploader
+            ? userProfileLoader.loadAll(page.files(), FileMetadataEntity::getUploaderId)
+            : Map.of();
+
+        List<Map<String, Object>> files = page.files().stream().map(file -> {
+            Map<String, Object> fileMap = new HashMap<>();
+            fileMap.put("fileId", file.getId());
+            fileMap.put("fileName", file.getFileName());
+            fileMap.put("fileSize", file.getFileSize());
+            fileMap.put("fileType", file.getFileType());
+            fileMap.put("category", file.getCategory().toString());
+            fileMap.put("uploaderId", file.getUploaderId());
+            if (withUploader) {
+                Optional<UserProfile> uploader = Optional.ofNullable(uploaders.get(file.getUploaderId()));
+                fileMap.put("uploaderName", uploader.map(UserProfile::getDisplayName).orElse("Unknown"));
+            } else {
+                fileMap.put("conversationId", file.getConversationId());
+                fileMap.put("roomId", file.getRoomId() != null ? String.valueOf(file.getRoomId()) : null);
+            }
+            fileMap.put("uploadedAt", file.getUploadedAt().toString());
+            fileMap.put("downloadCount", file.getDownloadCount());
+            fileMap.put("hasThumbnail", file.getThumbnailPath() != null);
+            fileMap.put("imageWidth", file.getImageWidth());
+            fileMap.put("imageHeight", file.getImageHeight());
+
+            return fileMap;
+        }).collect(Collectors.toList());
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("files", files);
+        response.put("nextCursor", page.nextCursor());
+        response.put("hasMore", page.hasMore());
+        return response;
+    }
+
     @DeleteMapping("/{fileId}")
     public ResponseEntity<?> deleteFile(
             @RequestHeader("Authorization") String token,
@@ -284,8 +428,12 @@ public class FileController {
             response.put("uploadedAt", file.getUploadedAt().toString());
             response.put("downloadCount", file.getDownloadCount());
             response.put("conversationId", file.getConversationId());
-            response.put("roomId", file.getRoomId());
+            response.put("roomId", file.getRoomId() != null ? String.valueOf(file.getRoomId()) : null);
             response.put("hasThumbnail", file.getThumbnailPath() != null);
+            response.put("derivativeStatus", file.getDerivativeStatus() != null ? file.getDerivativeStatus().toString() : null);
+            response.put("derivatives", file.getDerivatives() != null ? Arrays.asList(file.getDerivatives().split(",")) : List.of());
+            response.put("imageWidth", file.getImageWidth());
+            response.put("imageHeight", file.getImageHeight());
 
             return ResponseEntity.ok(response);
         } catch (Exception e) {
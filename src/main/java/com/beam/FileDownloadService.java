@@ -0,0 +1,272 @@
+package com.beam;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * File Download Service
+ *
+ * <p>Streams stored files with HTTP caching and byte-range support so clients can revalidate
+ * instead of re-downloading, and resume or seek into large media.
+ *
+ * <h3>HTTP semantics:</h3>
+ * <ul>
+ *   <li>ETag: quoted SHA-256 of the content (computed once for files uploaded before hashing existed)</li>
+ *   <li>If-None-Match / If-Modified-Since → 304 without a body</li>
+ *   <li>Range: single {@code bytes=} range → 206 with Content-Range; unsatisfiable → 416;
+ *       multi-range requests are answered with the full body (200)</li>
+ *   <li>If-Range: the range is honoured only while the ETag still matches</li>
+ *   <li>HEAD: headers only</li>
+ * </ul>
+ *
+ * <h3>Transfer:</h3>
+ * <ul>
+ *   <li>Tomcat sendfile when the connector supports it (kernel copy, request thread released)</li>
+ *   <li>Otherwise {@link FileChannel#transferTo} into the response stream</li>
+ * </ul>
+ *
+ * <p>Download counts go through {@link FileDownloadCounter}; only requests starting at byte 0 are
+ * counted so a resumed or seeking client does not inflate the count.
+ *
+ * @since 1.2.0
+ */
+@Service
+public class FileDownloadService {
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final FileMetadataRepository fileMetadataRepository;
+    private final FileDownloadCounter fileDownloadCounter;
+    private final String cacheControl;
+
+    public FileDownloadService(
+            FileMetadataRepository fileMetadataRepository,
+            FileDownloadCounter fileDownloadCounter,
+            @Value("${file.download.cache-control:private, max-age=86400}") String cacheControl) {
+        this.fileMetadataRepository = fileMetadataRepository;
+        this.fileDownloadCounter = fileDownloadCounter;
+        this.cacheControl = cacheControl;
+    }
+
+    /**
+     * 원본 파일 다운로드 (attachment, Range 지원, 다운로드 횟수 집계)
+     */
+    public void serveFile(FileMetadataEntity metadata, Path path,
+                          HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ContentDisposition disposition = ContentDisposition.attachment()
+            .filename(metadata.getFileName(), StandardCharsets.UTF_8)
+            .build();
+        long start = serve(path, metadata.getFileType(), contentETag(metadata, path), disposition, request, response);
+        if (start == 0) {
+            fileDownloadCounter.increment(metadata.getId());
+        }
+    }
+
+    /**
+     * 썸네일 등 파생 파일 (inline). 파생 파일은 내용이 바뀌지 않으므로 원본 해시 + 변형 이름을 ETag로 사용
+     */
+    public void serveDerivative(FileMetadataEntity metadata, String variant, Path path, String contentType,
+                                HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String etag = contentETag(metadata, null);
+        etag = etag != null ? etag.substring(0, etag.length() - 1) + "-" + variant + "\"" : null;
+        serve(path, contentType, etag, ContentDisposition.inline().build(), request, response);
+    }
+
+    /**
+     * @return 전송을 시작한 바이트 위치 (본문을 보내지 않았으면 -1)
+     */
+    private long serve(Path path, String contentType, String etag, ContentDisposition disposition,
+                       HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return -1;
+        }
+        long length = Files.size(path);
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+
+        // If-None-Match / If-Modified-Since 처리, 해당하면 304 상태와 ETag/Last-Modified 헤더를 설정함
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        boolean notModified = etag != null
+            ? webRequest.checkNotModified(etag, lastModified)
+            : webRequest.checkNotModified(lastModified);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        if (notModified) {
+            return -1;
+        }
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(contentType != null ? contentType : "application/octet-stream");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, disposition.toString());
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && rangeApplies(request, etag, lastModified)) {
+            long[] parsed = parseRange(range, length);
+            if (parsed == null) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return -1;
+            }
+            if (parsed.length == 2) {
+                start = parsed[0];
+                end = parsed[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(Math.max(count, 0));
+
+        if ("HEAD".equalsIgnoreCase(request.getMethod()) || count <= 0) {
+            return -1;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat이 응답 완료 후 커널 sendfile로 전송
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return start;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            OutputStream output = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(output);
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, target);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+            output.flush();
+        }
+        return start;
+    }
+
+    // If-Range가 있으면 ETag(또는 날짜)가 현재 파일과 같을 때만 Range 적용, 다르면 전체 전송
+    private static boolean rangeApplies(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return etag != null && etag.equals(ifRange);
+        }
+        try {
+            long date = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return date >= 0 && lastModified / 1000 <= date / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 단일 bytes 범위 해석 (RFC 9110 14.1.2)
+     * - 문법에 맞지 않는 범위(bytes=5-3, bytes=abc, 음수 등)는 무시하고 전체 200 응답
+     * - 문법은 맞지만 파일 범위를 벗어난 경우(시작 위치 >= 길이, bytes=-0)만 416
+     *
+     * @return {start, end} (포함), 전체 전송이면 빈 배열, 만족할 수 없는 범위면 null
+     */
+    static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=")) {
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        if (spec.contains(",")) {
+            // 다중 범위(multipart/byteranges)는 지원하지 않으므로 전체 전송
+            return new long[0];
+        }
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        String first = spec.substring(0, dash).trim();
+        String last = spec.substring(dash + 1).trim();
+        try {
+            if (first.isEmpty()) {
+                // bytes=-N: 마지막 N 바이트
+                if (!isDigits(last)) {
+                    return new long[0];
+                }
+                long suffix = Long.parseLong(last);
+                if (suffix == 0 || length == 0) {
+                    return null;
+                }
+                return new long[] {Math.max(0, length - suffix), length - 1};
+            }
+
+            if (!isDigits(first) || (!last.isEmpty() && !isDigits(last))) {
+                return new long[0];
+            }
+            long start = Long.parseLong(first);
+            long lastPosition = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (lastPosition < start) {
+                return new long[0];
+            }
+            if (start >= length) {
+                return null;
+            }
+            return new long[] {start, Math.min(lastPosition, length - 1)};
+        } catch (NumberFormatException e) {
+            // long 범위를 넘는 숫자
+            return new long[0];
+        }
+    }
+
+    private static boolean isDigits(String value) {
+        return !value.isEmpty() && value.chars().allMatch(c -> c >= '0' && c <= '9');
+    }
+
+    /**
+     * 원본 내용 기반 ETag. 해시가 없는 기존 파일은 처음 요청 시 한 번 계산해서 저장
+     */
+    private String contentETag(FileMetadataEntity metadata, Path path) throws IOException {
+        String hash = metadata.getContentHash();
+        if (hash == null && path != null && Files.isRegularFile(path)) {
+            hash = sha256(path);
+            fileMetadataRepository.updateContentHash(metadata.getId(), hash);
+            metadata.setContentHash(hash);
+        }
+        return hash != null ? "\"" + hash + "\"" : null;
+    }
+
+    private static String sha256(Path path) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream input = new DigestInputStream(Files.newInputStream(path), digest)) {
+                input.transferTo(OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -2,12 +2,21 @@ package com.beam;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 
 @Entity
 @Table(name = "file_metadata", indexes = {
     @Index(name = "idx_uploader", columnList = "uploaderId"),
     @Index(name = "idx_file_conversation", columnList = "conversationId"),
-    @Index(name = "idx_room", columnList = "roomId")
+    @Index(name = "idx_room", columnList = "roomId"),
+    @Index(name = "idx_file_derivative_status", columnList = "derivativeStatus, derivativeUpdatedAt"),
+    @Index(name = "idx_file_content_hash", columnList = "contentHash"),
+    // 파일 목록 keyset 페이지 (최신순, 카테고리별 갤러리)
+    @Index(name = "idx_file_room_uploaded", columnList = "roomId, isDeleted, uploadedAt"),
+    @Index(name = "idx_file_room_category_uploaded", columnList = "roomId, category, uploadedAt"),
+    @Index(name = "idx_file_conversation_uploaded", columnList = "conversationId, isDeleted, uploadedAt"),
+    @Index(name = "idx_file_conversation_category_uploaded", columnList = "conversationId, category, uploadedAt"),
+    @Index(name = "idx_file_uploader_uploaded", columnList = "uploaderId, isDeleted, uploadedAt")
 })
 public class FileMetadataEntity {
 
@@ -58,6 +67,31 @@ public class FileMetadataEntity {
     @Column(nullable = false)
     private LocalDateTime uploadedAt = LocalDateTime.now();
 
+    // 내용 SHA-256 (hex) - 강한 ETag
+    @Column(length = 64)
+    private String contentHash;
+
+    // 썸네일/재인코딩 파생 파일 생성 상태 (MediaDerivativeService)
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private DerivativeStatus derivativeStatus;
+
+    @Column
+    private Integer derivativeAttempts = 0;
+
+    @Column
+    private LocalDateTime derivativeUpdatedAt;
+
+    // 생성된 파생 파일 종류 (쉼표 구분, 예: "thumb-200,thumb-480,jpeg-1280")
+    @Column(length = 200)
+    private String derivatives;
+
+    @Column
+    private Integer imageWidth;
+
+    @Column
+    private Integer imageHeight;
+
     public enum FileCategory {
         IMAGE,
         VIDEO,
@@ -66,6 +100,13 @@ public class FileMetadataEntity {
         OTHER
     }
 
+    public enum DerivativeStatus {
+        PENDING,
+        PROCESSING,
+        READY,
+        FAILED
+    }
+
     public FileMetadataEntity() {
     }
 
@@ -110,6 +151,21 @@ public class FileMetadataEntity {
         this.downloadCount++;
     }
 
+    public boolean hasDerivative(String variant) {
+        return derivatives != null && variant != null
+            && Arrays.asList(derivatives.split(",")).contains(variant);
+    }
+
+    // 같은 내용(blob)의 다른 업로드에서 생성된 파생 파일 정보 복사
+    public void copyDerivativesFrom(FileMetadataEntity source) {
+        this.derivativeStatus = source.derivativeStatus;
+        this.derivativeUpdatedAt = source.derivativeUpdatedAt;
+        this.derivatives = source.derivatives;
+        this.thumbnailPath = source.thumbnailPath;
+        this.imageWidth = source.imageWidth;
+        this.imageHeight = source.imageHeight;
+    }
+
     public static FileCategory getCategoryFromMimeType(String mimeType) {
         if (mimeType == null) return FileCategory.OTHER;
 
@@ -184,6 +240,34 @@ public class FileMetadataEntity {
         return uploadedAt;
     }
 
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public DerivativeStatus getDerivativeStatus() {
+        return derivativeStatus;
+    }
+
+    public Integer getDerivativeAttempts() {
+        return derivativeAttempts;
+    }
+
+    public LocalDateTime getDerivativeUpdatedAt() {
+        return derivativeUpdatedAt;
+    }
+
+    public String getDerivatives() {
+        return derivatives;
+    }
+
+    public Integer getImageWidth() {
+        return imageWidth;
+    }
+
+    public Integer getImageHeight() {
+        return imageHeight;
+    }
+
     // Setters
     public void setId(Long id) {
         this.id = id;
@@ -245,6 +329,34 @@ public class FileMetadataEntity {
         this.uploadedAt = uploadedAt;
     }
 
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public void setDerivativeStatus(DerivativeStatus derivativeStatus) {
+        this.derivativeStatus = derivativeStatus;
+    }
+
+    public void setDerivativeAttempts(Integer derivativeAttempts) {
+        this.derivativeAttempts = derivativeAttempts;
+    }
+
+    public void setDerivativeUpdatedAt(LocalDateTime derivativeUpdatedAt) {
+        this.derivativeUpdatedAt = derivativeUpdatedAt;
+    }
+
+    public void setDerivatives(String derivatives) {
+        this.derivatives = derivatives;
+    }
+
+    public void setImageWidth(Integer imageWidth) {
+        this.imageWidth = imageWidth;
+    }
+
+    public void setImageHeight(Integer imageHeight) {
+        this.imageHeight = imageHeight;
+    }
+
     // Builder
     public static Builder builder() {
         return new Builder();
@@ -266,6 +378,8 @@ public class FileMetadataEntity {
         private Boolean isDeleted = false;
         private LocalDateTime deletedAt;
         private LocalDateTime uploadedAt = LocalDateTime.now();
+        private String contentHash;
+        private DerivativeStatus derivativeStatus;
 
         public Builder id(Long id) {
             this.id = id;
@@ -342,6 +456,16 @@ public class FileMetadataEntity {
             return this;
         }
 
+        public Builder contentHash(String contentHash) {
+            this.contentHash = contentHash;
+            return this;
+        }
+
+        public Builder derivativeStatus(DerivativeStatus derivativeStatus) {
+            this.derivativeStatus = derivativeStatus;
+            return this;
+        }
+
         public FileMetadataEntity build() {
             FileMetadataEntity entity = new FileMetadataEntity();
             entity.id = this.id;
@@ -359,6 +483,9 @@ public class FileMetadataEntity {
             entity.isDeleted = this.isDeleted;
             entity.deletedAt = this.deletedAt;
             entity.uploadedAt = this.uploadedAt;
+            entity.contentHash = this.contentHash;
+            entity.derivativeStatus = this.derivativeStatus;
+            entity.derivativeUpdatedAt = this.derivativeStatus != null ? this.uploadedAt : null;
             return entity;
         }
     }
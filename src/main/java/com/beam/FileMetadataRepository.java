@@ -1,15 +1,19 @@
 package com.beam;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface FileMetadataRepository extends JpaRepository<FileMetadataEntity, Long> {
+public interface FileMetadataRepository extends JpaRepository<FileMetadataEntity, Long>, FileMetadataRepositoryCustom {
 
     Optional<FileMetadataEntity> findByIdAndIsDeletedFalse(Long id);
 
@@ -38,4 +42,56 @@ public interface FileMetadataRepository extends JpaRepository<FileMetadataEntity
     @Query("SELECT SUM(f.fileSize) FROM FileMetadataEntity f WHERE " +
            "f.uploaderId = :userId AND f.isDeleted = false")
     Long getTotalFileSizeByUser(@Param("userId") Long userId);
-}
\ No newline at end of file
+
+    long countByUploaderIdAndIsDeletedFalse(Long uploaderId);
+
+    // 다운로드 수는 메모리에서 모은 뒤 증분만 반영 (엔티티 save로 덮어쓰지 않음)
+    @Transactional
+    @Modifying
+    @Query("UPDATE FileMetadataEntity f SET f.downloadCount = f.downloadCount + :delta WHERE f.id = :id")
+    int addDownloadCount(@Param("id") Long id, @Param("delta") int delta);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE FileMetadataEntity f SET f.contentHash = :contentHash WHERE f.id = :id AND f.contentHash IS NULL")
+    int updateContentHash(@Param("id") Long id, @Param("contentHash") String contentHash);
+
+    // 파생 파일 작업 선점 (from 상태일 때만 성공)
+    @Transactional
+    @Modifying
+    @Query("UPDATE FileMetadataEntity f SET f.derivativeStatus = :to, f.derivativeUpdatedAt = :now " +
+           "WHERE f.id = :id AND f.derivativeStatus = :from")
+    int transitionDerivativeStatus(@Param("id") Long id,
+                                   @Param("from") FileMetadataEntity.DerivativeStatus from,
+                                   @Param("to") FileMetadataEntity.DerivativeStatus to,
+                                   @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE FileMetadataEntity f SET f.derivativeStatus = com.beam.FileMetadataEntity.DerivativeStatus.READY, " +
+           "f.derivativeUpdatedAt = :now, f.thumbnailPath = :thumbnailPath, f.derivatives = :derivatives, " +
+           "f.imageWidth = :width, f.imageHeight = :height WHERE f.id = :id")
+    int completeDerivatives(@Param("id") Long id,
+                            @Param("thumbnailPath") String thumbnailPath,
+                            @Param("derivatives") String derivatives,
+                            @Param("width") Integer width,
+                            @Param("height") Integer height,
+                            @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE FileMetadataEntity f SET f.derivativeStatus = :status, f.derivativeAttempts = :attempts, " +
+           "f.derivativeUpdatedAt = :now WHERE f.id = :id")
+    int failDerivatives(@Param("id") Long id,
+                        @Param("status") FileMetadataEntity.DerivativeStatus status,
+                        @Param("attempts") Integer attempts,
+                        @Param("now") LocalDateTime now);
+
+    // 같은 blob으로 이미 만들어진 파생 파일 재사용
+    Optional<FileMetadataEntity> findFirstByContentHashAndDerivativeStatusAndIsDeletedFalse(
+        String contentHash, FileMetadataEntity.DerivativeStatus status);
+
+    // 재시도/재시작 복구 대상 (오래 머문 PENDING/PROCESSING)
+    List<FileMetadataEntity> findByDerivativeStatusAndDerivativeUpdatedAtBeforeOrderByDerivativeUpdatedAtAsc(
+        FileMetadataEntity.DerivativeStatus status, LocalDateTime before, Pageable pageable);
+}
@@ -0,0 +1,37 @@
+package com.beam;
+
+import java.util.List;
+
+/**
+ * FileMetadataRepository 확장 - 파일 목록 keyset 페이지 조회
+ */
+public interface FileMetadataRepositoryCustom {
+
+    /**
+     * 목록 범위 (각각 (컬럼, isDeleted|category, uploadedAt) 복합 인덱스 사용)
+     */
+    enum FileScope {
+        ROOM("roomId"),
+        CONVERSATION("conversationId"),
+        UPLOADER("uploaderId");
+
+        private final String field;
+
+        FileScope(String field) {
+            this.field = field;
+        }
+
+        String getField() {
+            return field;
+        }
+    }
+
+    /**
+     * 삭제되지 않은 파일을 최신순(uploadedAt, id 내림차순)으로 limit개 조회
+     *
+     * @param category null이면 전체
+     * @param before   이 커서보다 오래된 파일 (null이면 최신부터)
+     */
+    List<FileMetadataEntity> findPage(FileScope scope, Object scopeId, FileMetadataEntity.FileCategory category,
+                                      MessageCursor before, int limit);
+}
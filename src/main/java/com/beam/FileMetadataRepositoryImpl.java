@@ -0,0 +1,44 @@
+package com.beam;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.List;
+
+/**
+ * FileMetadataRepositoryCustom 구현체
+ * - 범위/카테고리/커서 조합마다 쿼리 메서드를 만들지 않고 필요한 조건만 넣은 JPQL을 생성
+ *   (선택 조건을 ":category IS NULL OR ..."로 쓰면 인덱스를 타지 못하는 실행 계획이 재사용될 수 있음)
+ */
+public class FileMetadataRepositoryImpl implements FileMetadataRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<FileMetadataEntity> findPage(FileScope scope, Object scopeId, FileMetadataEntity.FileCategory category,
+                                             MessageCursor before, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT f FROM FileMetadataEntity f WHERE f.")
+            .append(scope.getField()).append(" = :scopeId AND f.isDeleted = false");
+        if (category != null) {
+            jpql.append(" AND f.category = :category");
+        }
+        if (before != null) {
+            jpql.append(" AND (f.uploadedAt < :timestamp OR (f.uploadedAt = :timestamp AND f.id < :id))");
+        }
+        jpql.append(" ORDER BY f.uploadedAt DESC, f.id DESC");
+
+        TypedQuery<FileMetadataEntity> query = entityManager.createQuery(jpql.toString(), FileMetadataEntity.class)
+            .setParameter("scopeId", scopeId)
+            .setMaxResults(limit);
+        if (category != null) {
+            query.setParameter("category", category);
+        }
+        if (before != null) {
+            query.setParameter("timestamp", before.getTimestamp());
+            query.setParameter("id", before.getId());
+        }
+        return query.getResultList();
+    }
+}
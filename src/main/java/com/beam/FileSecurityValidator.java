@@ -36,6 +36,9 @@ public class FileSecurityValidator {
         "php", "asp", "aspx", "jsp", "py", "rb"      // 서버 스크립트
     );
 
+    // 시그니처 검증에 필요한 파일 앞부분 길이
+    static final int SIGNATURE_HEADER_BYTES = 20;
+
     // 파일 시그니처 (매직 넘버) - 주요 파일 타입
     private static final Map<String, byte[][]> FILE_SIGNATURES = new HashMap<>();
 
@@ -85,11 +88,34 @@ public class FileSecurityValidator {
      * 파일 업로드 보안 검증
      */
     public void validateFile(MultipartFile file) throws SecurityException {
+        validateUpload(file);
+
+        // 4. 매직 넘버(파일 시그니처) 검증
+        try (InputStream is = file.getInputStream()) {
+            byte[] fileHeader = new byte[SIGNATURE_HEADER_BYTES];
+            int bytesRead = is.readNBytes(fileHeader, 0, fileHeader.length);
+            validateSignature(file.getOriginalFilename(), fileHeader, bytesRead);
+        } catch (IOException e) {
+            throw new SecurityException("파일 내용을 읽을 수 없습니다");
+        }
+    }
+
+    /**
+     * 내용을 읽지 않는 검증 (파일명/확장자/MIME)
+     * - 시그니처는 저장하면서 읽은 첫 바이트로 {@link #validateSignature} 에서 확인
+     */
+    public void validateUpload(MultipartFile file) throws SecurityException {
         if (file == null || file.isEmpty()) {
             throw new SecurityException("파일이 비어있습니다");
         }
 
-        String originalFilename = file.getOriginalFilename();
+        validateUpload(file.getOriginalFilename(), file.getContentType());
+    }
+
+    /**
+     * 본문 없이 선언된 파일명/MIME만으로 검증 (분할 업로드 세션 생성 시)
+     */
+    public void validateUpload(String originalFilename, String mimeType) throws SecurityException {
         if (originalFilename == null || originalFilename.trim().isEmpty()) {
             throw new SecurityException("파일명이 유효하지 않습니다");
         }
@@ -102,15 +128,7 @@ public class FileSecurityValidator {
         validateExtension(extension);
 
         // 3. MIME 타입 검증
-        String mimeType = file.getContentType();
         validateMimeType(mimeType, extension);
-
-        // 4. 매직 넘버(파일 시그니처) 검증
-        try {
-            validateFileSignature(file, extension);
-        } catch (IOException e) {
-            throw new SecurityException("파일 내용을 읽을 수 없습니다");
-        }
     }
 
     /**
@@ -178,9 +196,12 @@ public class FileSecurityValidator {
 
     /**
      * 파일 시그니처(매직 넘버) 검증
+     *
+     * @param fileHeader 파일의 처음 바이트 (최대 {@link #SIGNATURE_HEADER_BYTES})
+     * @param bytesRead  fileHeader 중 실제로 읽은 길이
      */
-    private void validateFileSignature(MultipartFile file, String extension) throws IOException {
-        String lowerExt = extension.toLowerCase();
+    public void validateSignature(String filename, byte[] fileHeader, int bytesRead) {
+        String lowerExt = getFileExtension(filename).toLowerCase();
 
         // ZIP 기반 문서 형식 (docx, xlsx, etc.)
         if (Arrays.asList("docx", "xlsx", "pptx").contains(lowerExt)) {
@@ -195,35 +216,29 @@ public class FileSecurityValidator {
             return;
         }
 
-        try (InputStream is = file.getInputStream()) {
-            // 파일의 처음 20바이트 읽기
-            byte[] fileHeader = new byte[20];
-            int bytesRead = is.read(fileHeader);
-
-            if (bytesRead < 4) {
-                throw new SecurityException("파일이 너무 작습니다");
-            }
+        if (bytesRead < 4) {
+            throw new SecurityException("파일이 너무 작습니다");
+        }
 
-            // 시그니처 매칭
-            boolean matches = false;
-            for (byte[] signature : signatures) {
-                if (matchesSignature(fileHeader, signature)) {
-                    matches = true;
-                    break;
-                }
+        // 시그니처 매칭
+        boolean matches = false;
+        for (byte[] signature : signatures) {
+            if (matchesSignature(fileHeader, bytesRead, signature)) {
+                matches = true;
+                break;
             }
+        }
 
-            if (!matches) {
-                throw new SecurityException("파일 형식이 확장자와 일치하지 않습니다");
-            }
+        if (!matches) {
+            throw new SecurityException("파일 형식이 확장자와 일치하지 않습니다");
         }
     }
 
     /**
      * 바이트 시그니처 매칭
      */
-    private boolean matchesSignature(byte[] fileHeader, byte[] signature) {
-        if (fileHeader.length < signature.length) {
+    private boolean matchesSignature(byte[] fileHeader, int bytesRead, byte[] signature) {
+        if (bytesRead < signature.length) {
             return false;
         }
 
@@ -2,23 +2,17 @@ package com.beam;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
-import javax.imageio.ImageIO;
-import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.List;
 
 @Service
 public class FileStorageService {
@@ -29,12 +23,24 @@ public class FileStorageService {
     @Value("${file.max-size:10485760}")
     private Long maxFileSize;
 
+    @Value("${file.upload.max-size:104857600}")
+    private Long maxChunkedFileSize;
+
     @Autowired
     private FileMetadataRepository fileMetadataRepository;
 
     @Autowired
     private FileSecurityValidator fileSecurityValidator;
 
+    @Autowired
+    private FileBlobStore fileBlobStore;
+
+    @Autowired
+    private StorageQuotaService storageQuotaService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public FileMetadataEntity storeFile(MultipartFile file, Long uploaderId,
                                          String conversationId, Long roomId) {
         if (file.isEmpty()) {
@@ -45,8 +51,10 @@ public class FileStorageService {
             throw new RuntimeException("File size exceeds maximum limit of " + (maxFileSize / 1024 / 1024) + "MB");
         }
 
-        // 보안 검증 추가
-        fileSecurityValidator.validateFile(file);
+        // 보안 검증 추가 (파일명/확장자/MIME, 시그니처는 저장하면서 확인)
+        fileSecurityValidator.validateUpload(file);
+
+        storageQuotaService.checkQuota(uploaderId, file.getSize());
 
         try {
             String originalFilename = StringUtils.cleanPath(file.getOriginalFilename());
@@ -54,93 +62,164 @@ public class FileStorageService {
             // 파일명 sanitize
             originalFilename = fileSecurityValidator.sanitizeFilename(originalFilename);
 
-            String fileExtension = getFileExtension(originalFilename);
-            String uniqueFileName = UUID.randomUUID().toString() + "." + fileExtension;
-
-            Path uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
-            Files.createDirectories(uploadPath);
-
-            // Path Traversal 방지: 업로드 경로 검증
-            Path targetLocation = uploadPath.resolve(uniqueFileName).normalize();
-            if (!targetLocation.startsWith(uploadPath)) {
-                throw new SecurityException("Invalid file path");
-            }
+            // 내용 주소 저장: 같은 내용이 이미 있으면 디스크에 쓰지 않고 참조만 추가
+            String signatureName = originalFilename;
+            FileBlobStore.StoredBlob blob = receive(file, (header, length) ->
+                fileSecurityValidator.validateSignature(signatureName, header, length));
 
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-
-            String mimeType = file.getContentType();
-            FileMetadataEntity.FileCategory category = FileMetadataEntity.getCategoryFromMimeType(mimeType);
-
-            FileMetadataEntity metadata = FileMetadataEntity.builder()
-                .fileName(originalFilename)
-                .filePath(uniqueFileName)
-                .fileType(mimeType != null ? mimeType : "application/octet-stream")
-                .fileSize(file.getSize())
-                .uploaderId(uploaderId)
-                .conversationId(conversationId)
-                .roomId(roomId)
-                .category(category)
-                .uploadedAt(LocalDateTime.now())
-                .build();
-
-            if (category == FileMetadataEntity.FileCategory.IMAGE) {
-                try {
-                    String thumbnailPath = generateThumbnail(targetLocation.toString(), uniqueFileName);
-                    metadata.setThumbnailPath(thumbnailPath);
-                } catch (Exception e) {
-                    System.err.println("Failed to generate thumbnail: " + e.getMessage());
-                }
-            }
+            return register(blob, originalFilename, file.getContentType(), uploaderId, conversationId, roomId);
 
-            return fileMetadataRepository.save(metadata);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store file. Please try again!", ex);
+        }
+    }
 
+    /**
+     * 분할 업로드로 모두 받은 임시 파일 저장 (시그니처 검증 + 해시 후 복사 없이 blob으로 이동)
+     *
+     * @param assembled {@link FileBlobStore#newTempFile()}로 만든 파일. 성공/실패와 관계없이 정리됨
+     */
+    public FileMetadataEntity storeAssembledFile(Path assembled, String fileName, String mimeType,
+                                                 Long uploaderId, String conversationId, Long roomId) {
+        String originalFilename = fileSecurityValidator.sanitizeFilename(StringUtils.cleanPath(fileName));
+        try {
+            storageQuotaService.checkQuota(uploaderId, Files.size(assembled));
+            FileBlobStore.StoredBlob blob = fileBlobStore.putFile(assembled, maxChunkedFileSize, (header, length) ->
+                fileSecurityValidator.validateSignature(originalFilename, header, length));
+            return register(blob, originalFilename, mimeType, uploaderId, conversationId, roomId);
         } catch (IOException ex) {
             throw new RuntimeException("Could not store file. Please try again!", ex);
         }
     }
 
-    public Resource loadFileAsResource(Long fileId) {
+    // blob을 참조하는 메타데이터 저장 (썸네일 등 파생 파일은 MediaDerivativeService가 백그라운드에서 생성)
+    private FileMetadataEntity register(FileBlobStore.StoredBlob blob, String originalFilename, String mimeType,
+                                        Long uploaderId, String conversationId, Long roomId) {
+        FileMetadataEntity.FileCategory category = FileMetadataEntity.getCategoryFromMimeType(mimeType);
+
+        FileMetadataEntity metadata = FileMetadataEntity.builder()
+            .fileName(originalFilename)
+            .filePath(blob.storagePath())
+            .fileType(mimeType != null ? mimeType : "application/octet-stream")
+            .fileSize(blob.size())
+            .uploaderId(uploaderId)
+            .conversationId(conversationId)
+            .roomId(roomId)
+            .category(category)
+            .contentHash(blob.contentHash())
+            .derivativeStatus(category == FileMetadataEntity.FileCategory.IMAGE
+                ? FileMetadataEntity.DerivativeStatus.PENDING : null)
+            .uploadedAt(LocalDateTime.now())
+            .build();
+
+        if (blob.reused() && metadata.getDerivativeStatus() != null) {
+            // 같은 blob의 파생 파일이 이미 있으면 재사용
+            fileMetadataRepository.findFirstByContentHashAndDerivativeStatusAndIsDeletedFalse(
+                    blob.contentHash(), FileMetadataEntity.DerivativeStatus.READY)
+                .ifPresent(metadata::copyDerivativesFrom);
+        }
+
+        FileMetadataEntity saved;
         try {
-            FileMetadataEntity metadata = fileMetadataRepository.findByIdAndIsDeletedFalse(fileId)
-                .orElseThrow(() -> new RuntimeException("File not found"));
-
-            Path uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
-            Path filePath = uploadPath.resolve(metadata.getFilePath()).normalize();
-
-            Resource resource = new UrlResource(filePath.toUri());
-            if (resource.exists()) {
-                metadata.incrementDownloadCount();
-                fileMetadataRepository.save(metadata);
-                return resource;
-            } else {
-                throw new RuntimeException("File not found");
-            }
-        } catch (Exception ex) {
-            throw new RuntimeException("File not found", ex);
+            saved = fileMetadataRepository.save(metadata);
+        } catch (RuntimeException e) {
+            fileBlobStore.release(blob.contentHash());
+            throw e;
         }
+        storageQuotaService.recordUpload(uploaderId, saved.getFileSize());
+        eventPublisher.publishEvent(new FileStoredEvent(saved));
+        return saved;
     }
 
-    public Resource loadThumbnailAsResource(Long fileId) {
+    /**
+     * 업로드 본문을 한 번만 읽어 blob으로 저장
+     * - 컨테이너가 이미 임시 파일로 받은 경우 transferTo(File)가 rename으로 처리되므로 복사 없이 해시만 계산
+     * - 메모리에 있는 part나 transferTo를 지원하지 않는 구현은 스트림에서 바로 기록
+     */
+    private FileBlobStore.StoredBlob receive(MultipartFile file, FileBlobStore.HeaderCheck signatureCheck) throws IOException {
+        Path temp = fileBlobStore.newTempFile();
         try {
-            FileMetadataEntity metadata = fileMetadataRepository.findByIdAndIsDeletedFalse(fileId)
-                .orElseThrow(() -> new RuntimeException("File not found"));
+            // transferTo(Path)는 항상 스트림 복사이므로 Part.write(rename)를 쓰는 File 버전 사용
+            file.transferTo(temp.toFile());
+        } catch (IllegalStateException | UnsupportedOperationException e) {
+            Files.deleteIfExists(temp);
+            return fileBlobStore.put(file.getInputStream(), maxFileSize, signatureCheck);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return fileBlobStore.putFile(temp, maxFileSize, signatureCheck);
+    }
 
-            if (metadata.getThumbnailPath() == null) {
-                throw new RuntimeException("Thumbnail not available");
-            }
+    /**
+     * 파일 목록 한 페이지 (최신순)
+     *
+     * @param category null이면 전체
+     * @param before   이전 페이지의 nextCursor (null이면 최신부터)
+     */
+    public FilePage listFiles(FileMetadataRepositoryCustom.FileScope scope, Object scopeId,
+                              FileMetadataEntity.FileCategory category, String before, Integer limit) {
+        int size = MessagePage.clampLimit(limit);
+        MessageCursor cursor = before != null ? MessageCursor.decode(before) : null;
+        List<FileMetadataEntity> rows = fileMetadataRepository.findPage(scope, scopeId, category, cursor, size + 1);
+
+        boolean hasMore = rows.size() > size;
+        List<FileMetadataEntity> files = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            FileMetadataEntity last = files.get(files.size() - 1);
+            nextCursor = MessageCursor.of(last.getUploadedAt(), last.getId()).encode();
+        }
+        return new FilePage(files, nextCursor, hasMore);
+    }
 
-            Path uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
-            Path thumbnailPath = uploadPath.resolve(metadata.getThumbnailPath()).normalize();
+    /**
+     * 파일 목록 페이지 (files: 최신순, nextCursor: 더 오래된 페이지 요청용, 없으면 null)
+     */
+    public record FilePage(List<FileMetadataEntity> files, String nextCursor, boolean hasMore) {}
 
-            Resource resource = new UrlResource(thumbnailPath.toUri());
-            if (resource.exists()) {
-                return resource;
-            } else {
-                throw new RuntimeException("Thumbnail not found");
-            }
-        } catch (Exception ex) {
-            throw new RuntimeException("Thumbnail not found", ex);
+    public FileMetadataEntity getFile(Long fileId) {
+        return fileMetadataRepository.findByIdAndIsDeletedFalse(fileId)
+            .orElseThrow(() -> new RuntimeException("File not found"));
+    }
+
+    /**
+     * 원본 파일 경로 (업로드 디렉터리 밖을 가리키면 예외)
+     */
+    public Path resolveStoredPath(FileMetadataEntity metadata) {
+        return resolve(metadata.getFilePath());
+    }
+
+    /**
+     * 파생 파일 경로 (예: thumb-200 → d_thumb-200_&lt;uuid&gt;.jpg)
+     */
+    public Path resolveDerivativePath(FileMetadataEntity metadata, String variant) {
+        return resolve(derivativeFileName(metadata.getFilePath(), variant));
+    }
+
+    /**
+     * 클라이언트가 요청한 파생 파일 경로. 아직 만들어지지 않았으면 예외
+     * - 파생 파일 도입 전에 업로드된 파일은 기존 thumbnailPath로 대체
+     */
+    public Path resolveThumbnailPath(FileMetadataEntity metadata, String variant) {
+        if (metadata.hasDerivative(variant)) {
+            return resolveDerivativePath(metadata, variant);
         }
+        if (metadata.getThumbnailPath() != null && metadata.getDerivatives() == null) {
+            return resolve(metadata.getThumbnailPath());
+        }
+        throw new RuntimeException("Thumbnail not available");
+    }
+
+    // blob과 같은 디렉터리에 둠 (blobs/ab/cd/<hash> → blobs/ab/cd/d_thumb-200_<hash>.jpg)
+    static String derivativeFileName(String storedFileName, String variant) {
+        int slash = storedFileName.lastIndexOf('/');
+        String directory = storedFileName.substring(0, slash + 1);
+        String name = storedFileName.substring(slash + 1);
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String extension = variant.startsWith("webp") ? "webp" : "jpg";
+        return directory + "d_" + variant + "_" + base + "." + extension;
     }
 
     public void deleteFile(Long fileId, Long userId) {
@@ -154,51 +233,36 @@ public class FileStorageService {
         metadata.setIsDeleted(true);
         metadata.setDeletedAt(LocalDateTime.now());
         fileMetadataRepository.save(metadata);
+        storageQuotaService.recordDelete(metadata.getUploaderId(), metadata.getFileSize());
+
+        if (FileBlobStore.isBlobPath(metadata.getFilePath())) {
+            // 공유 blob: 마지막 참조일 때만 물리 파일과 파생 파일 삭제
+            fileBlobStore.release(metadata.getContentHash());
+            return;
+        }
 
         try {
-            Path uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
-            Path filePath = uploadPath.resolve(metadata.getFilePath()).normalize();
-            Files.deleteIfExists(filePath);
+            Files.deleteIfExists(resolveStoredPath(metadata));
 
             if (metadata.getThumbnailPath() != null) {
-                Path thumbnailPath = uploadPath.resolve(metadata.getThumbnailPath()).normalize();
-                Files.deleteIfExists(thumbnailPath);
+                Files.deleteIfExists(resolve(metadata.getThumbnailPath()));
+            }
+            if (metadata.getDerivatives() != null) {
+                for (String variant : metadata.getDerivatives().split(",")) {
+                    Files.deleteIfExists(resolveDerivativePath(metadata, variant));
+                }
             }
         } catch (IOException ex) {
             System.err.println("Failed to delete physical file: " + ex.getMessage());
         }
     }
 
-    private String generateThumbnail(String originalFilePath, String originalFileName) throws IOException {
-        BufferedImage originalImage = ImageIO.read(new File(originalFilePath));
-        if (originalImage == null) {
-            throw new IOException("Cannot read image file");
-        }
-
-        int thumbnailWidth = 200;
-        int thumbnailHeight = (int) (originalImage.getHeight() * ((double) thumbnailWidth / originalImage.getWidth()));
-
-        BufferedImage thumbnail = new BufferedImage(thumbnailWidth, thumbnailHeight, BufferedImage.TYPE_INT_RGB);
-        Graphics2D g = thumbnail.createGraphics();
-        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-        g.drawImage(originalImage, 0, 0, thumbnailWidth, thumbnailHeight, null);
-        g.dispose();
-
-        String thumbnailFileName = "thumb_" + originalFileName;
+    private Path resolve(String fileName) {
         Path uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
-        Path thumbnailPath = uploadPath.resolve(thumbnailFileName);
-
-        String extension = getFileExtension(originalFileName).toLowerCase();
-        String formatName = extension.equals("jpg") ? "jpeg" : extension;
-        ImageIO.write(thumbnail, formatName, thumbnailPath.toFile());
-
-        return thumbnailFileName;
-    }
-
-    private String getFileExtension(String filename) {
-        if (filename == null || filename.lastIndexOf(".") == -1) {
-            return "";
+        Path filePath = uploadPath.resolve(fileName).normalize();
+        if (!filePath.startsWith(uploadPath)) {
+            throw new SecurityException("Invalid file path");
         }
-        return filename.substring(filename.lastIndexOf(".") + 1);
+        return filePath;
     }
 }
\ No newline at end of file
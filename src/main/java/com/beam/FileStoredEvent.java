@@ -0,0 +1,20 @@
+package com.beam;
+
+/**
+ * 파일 업로드 저장 완료 이벤트
+ * - 파생 파일이 필요한 경우(derivativeStatus=PENDING) {@link MediaDerivativeService}가 커밋 후 작업 예약
+ */
+public class FileStoredEvent {
+
+    private final Long fileId;
+    private final boolean derivativesPending;
+
+    public FileStoredEvent(FileMetadataEntity metadata) {
+        this.fileId = metadata.getId();
+        this.derivativesPending = metadata.getDerivativeStatus() == FileMetadataEntity.DerivativeStatus.PENDING;
+    }
+
+    public Long getFileId() { return fileId; }
+
+    public boolean isDerivativesPending() { return derivativesPending; }
+}
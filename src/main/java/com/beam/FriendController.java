@@ -29,7 +29,7 @@ public class FriendController {
     private FriendService friendService;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserProfileLoader userProfileLoader;
 
     @Autowired
     private JwtUtil jwtUtil;
@@ -146,19 +146,22 @@ public class FriendController {
 
             List<FriendEntity> friendships = friendService.getFriendList(userId);
 
+            Map<Long, UserProfile> profiles = userProfileLoader.loadAll(friendships,
+                friendship -> friendship.getUserId().equals(userId) ? friendship.getFriendId() : friendship.getUserId());
+
             List<Map<String, Object>> result = friendships.stream().map(friendship -> {
                 Long friendId = friendship.getUserId().equals(userId)
                     ? friendship.getFriendId()
                     : friendship.getUserId();
 
-                Optional<UserEntity> friendOpt = userRepository.findById(friendId);
+                Optional<UserProfile> friendOpt = Optional.ofNullable(profiles.get(friendId));
 
                 Map<String, Object> friendMap = new HashMap<>();
                 friendMap.put("friendId", friendId);
-                friendMap.put("username", friendOpt.map(UserEntity::getUsername).orElse("Unknown"));
-                friendMap.put("displayName", friendOpt.map(UserEntity::getDisplayName).orElse("Unknown"));
-                friendMap.put("phoneNumber", friendOpt.map(UserEntity::getPhoneNumber).orElse(null));
-                friendMap.put("isOnline", friendOpt.map(UserEntity::getIsOnline).orElse(false));
+                friendMap.put("username", friendOpt.map(UserProfile::getUsername).orElse("Unknown"));
+                friendMap.put("displayName", friendOpt.map(UserProfile::getDisplayName).orElse("Unknown"));
+                friendMap.put("phoneNumber", friendOpt.map(UserProfile::getPhoneNumber).orElse(null));
+                friendMap.put("isOnline", friendOpt.map(UserProfile::getIsOnline).orElse(false));
                 friendMap.put("lastSeen", friendOpt.map(u -> u.getLastSeen() != null ? u.getLastSeen().toString() : null).orElse(null));
                 friendMap.put("friendsSince", friendship.getAcceptedAt() != null ? friendship.getAcceptedAt().toString() : null);
 
@@ -182,15 +185,17 @@ public class FriendController {
 
             List<FriendEntity> requests = friendService.getPendingRequestsReceived(userId);
 
+            Map<Long, UserProfile> profiles = userProfileLoader.loadAll(requests, FriendEntity::getUserId);
+
             List<Map<String, Object>> result = requests.stream().map(request -> {
                 Long requesterId = request.getUserId();
-                Optional<UserEntity> requesterOpt = userRepository.findById(requesterId);
+                Optional<UserProfile> requesterOpt = Optional.ofNullable(profiles.get(requesterId));
 
                 Map<String, Object> requestMap = new HashMap<>();
                 requestMap.put("requestId", request.getId());
                 requestMap.put("requesterId", requesterId);
-                requestMap.put("username", requesterOpt.map(UserEntity::getUsername).orElse("Unknown"));
-                requestMap.put("displayName", requesterOpt.map(UserEntity::getDisplayName).orElse("Unknown"));
+                requestMap.put("username", requesterOpt.map(UserProfile::getUsername).orElse("Unknown"));
+                requestMap.put("displayName", requesterOpt.map(UserProfile::getDisplayName).orElse("Unknown"));
                 requestMap.put("requestedAt", request.getRequestedAt() != null ? request.getRequestedAt().toString() : null);
 
                 return requestMap;
@@ -213,15 +218,17 @@ public class FriendController {
 
             List<FriendEntity> requests = friendService.getPendingRequestsSent(userId);
 
+            Map<Long, UserProfile> profiles = userProfileLoader.loadAll(requests, FriendEntity::getFriendId);
+
             List<Map<String, Object>> result = requests.stream().map(request -> {
                 Long friendId = request.getFriendId();
-                Optional<UserEntity> friendOpt = userRepository.findById(friendId);
+                Optional<UserProfile> friendOpt = Optional.ofNullable(profiles.get(friendId));
 
                 Map<String, Object> requestMap = new HashMap<>();
                 requestMap.put("requestId", request.getId());
                 requestMap.put("friendId", friendId);
-                requestMap.put("username", friendOpt.map(UserEntity::getUsername).orElse("Unknown"));
-                requestMap.put("displayName", friendOpt.map(UserEntity::getDisplayName).orElse("Unknown"));
+                requestMap.put("username", friendOpt.map(UserProfile::getUsername).orElse("Unknown"));
+                requestMap.put("displayName", friendOpt.map(UserProfile::getDisplayName).orElse("Unknown"));
                 requestMap.put("requestedAt", request.getRequestedAt() != null ? request.getRequestedAt().toString() : null);
 
                 return requestMap;
@@ -255,35 +262,56 @@ public class FriendController {
         }
     }
 
-    @Operation(summary = "사용자 검색", description = "사용자명 또는 전화번호로 사용자를 검색합니다")
+    @Operation(summary = "사용자 검색", description = "사용자명, 이름 또는 전화번호로 사용자를 검색합니다 (접두사/오타 허용)")
     @GetMapping("/search")
     public ResponseEntity<?> searchUsers(
             @RequestHeader("Authorization") String token,
-            @RequestParam String query) {
+            @RequestParam String query,
+            @RequestParam(defaultValue = "20") int limit) {
         try {
             String jwtToken = token.replace("Bearer ", "");
             Long userId = jwtUtil.getUserIdFromToken(jwtToken);
 
-            List<UserEntity> users = friendService.searchUsers(query);
-
-            List<Map<String, Object>> result = users.stream()
-                .filter(user -> !user.getId().equals(userId))
-                .map(user -> {
-                    Map<String, Object> userMap = new HashMap<>();
-                    userMap.put("userId", user.getId());
-                    userMap.put("username", user.getUsername());
-                    userMap.put("displayName", user.getDisplayName());
-                    userMap.put("phoneNumber", user.getPhoneNumber());
-                    userMap.put("isOnline", user.getIsOnline());
+            return ResponseEntity.ok(toSearchResults(userId, query, Math.min(Math.max(limit, 1), 50)));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
 
-                    return userMap;
-                }).collect(Collectors.toList());
+    @Operation(summary = "사용자 자동완성", description = "입력 중인 검색어로 사용자를 추천합니다")
+    @GetMapping("/typeahead")
+    public ResponseEntity<?> typeahead(
+            @RequestHeader("Authorization") String token,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            String jwtToken = token.replace("Bearer ", "");
+            Long userId = jwtUtil.getUserIdFromToken(jwtToken);
 
-            return ResponseEntity.ok(result);
+            return ResponseEntity.ok(toSearchResults(userId, q, Math.min(Math.max(limit, 1), 20)));
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
             return ResponseEntity.badRequest().body(error);
         }
     }
+
+    // 본인은 제외하므로 한 명 더 조회
+    private List<Map<String, Object>> toSearchResults(Long userId, String query, int limit) {
+        return friendService.searchUsers(query, limit + 1).stream()
+            .filter(user -> !user.getId().equals(userId))
+            .limit(limit)
+            .map(user -> {
+                Map<String, Object> userMap = new HashMap<>();
+                userMap.put("userId", user.getId());
+                userMap.put("username", user.getUsername());
+                userMap.put("displayName", user.getDisplayName());
+                userMap.put("profileImage", user.getProfileImage());
+                userMap.put("isOnline", user.getIsOnline());
+
+                return userMap;
+            }).collect(Collectors.toList());
+    }
 }
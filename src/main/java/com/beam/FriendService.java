@@ -10,7 +10,10 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Friend Service
@@ -29,6 +32,12 @@ public class FriendService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserDirectoryIndex userDirectoryIndex;
+
+    @Autowired
+    private UserProfileLoader userProfileLoader;
+
     @Transactional
     @Caching(evict = {
         @CacheEvict(value = "friends", key = "#userId"),
@@ -167,20 +176,29 @@ public class FriendService {
         return friendRepository.countPendingRequests(userId);
     }
 
+    /**
+     * 사용자명/표시 이름 접두사 및 오타 허용 검색, 전화번호는 전체 번호 정확 일치만 ({@link UserDirectoryIndex})
+     * - 색인 적재 전에는 사용자명/전화번호 정확 일치만 조회
+     */
     @Transactional(readOnly = true)
-    public List<UserEntity> searchUsers(String query) {
-        List<UserEntity> users = new ArrayList<>();
-
-        Optional<UserEntity> byUsername = userRepository.findByUsername(query);
-        byUsername.ifPresent(users::add);
-
-        Optional<UserEntity> byPhone = userRepository.findByPhoneNumber(query);
-        byPhone.ifPresent(user -> {
-            if (!users.contains(user)) {
-                users.add(user);
-            }
-        });
+    public List<UserProfile> searchUsers(String query, int limit) {
+        List<Long> userIds;
+        if (userDirectoryIndex.isReady()) {
+            userIds = userDirectoryIndex.lookup(query, limit);
+        } else {
+            userIds = new ArrayList<>();
+            userRepository.findByUsername(query).ifPresent(user -> userIds.add(user.getId()));
+            userRepository.findByPhoneNumber(query).ifPresent(user -> {
+                if (!userIds.contains(user.getId())) {
+                    userIds.add(user.getId());
+                }
+            });
+        }
 
-        return users;
+        Map<Long, UserProfile> profiles = userProfileLoader.loadAll(userIds);
+        return userIds.stream()
+            .map(profiles::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
     }
 }
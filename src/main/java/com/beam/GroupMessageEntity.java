@@ -6,12 +6,16 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "group_messages", indexes = {
     @Index(name = "idx_room_timestamp", columnList = "roomId,timestamp"),
+    @Index(name = "idx_gm_room_timestamp_id", columnList = "roomId,timestamp,id"),
+    @Index(name = "idx_gm_timestamp_id", columnList = "timestamp,id"),
     @Index(name = "idx_sender", columnList = "senderId")
 })
 public class GroupMessageEntity {
 
+    // IDENTITY는 Hibernate JDBC batch insert를 막으므로 pooled 시퀀스 사용 (V3 마이그레이션: INCREMENT BY 50)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "group_message_seq")
+    @SequenceGenerator(name = "group_message_seq", sequenceName = "group_messages_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -94,6 +98,10 @@ public class GroupMessageEntity {
         return id;
     }
 
+    public MessageCursor toCursor() {
+        return MessageCursor.of(timestamp, id);
+    }
+
     public Long getRoomId() {
         return roomId;
     }
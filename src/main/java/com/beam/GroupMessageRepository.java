@@ -1,5 +1,6 @@
 package com.beam;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,6 +16,30 @@ public interface GroupMessageRepository extends JpaRepository<GroupMessageEntity
 
     List<GroupMessageEntity> findTop100ByRoomIdAndIsDeletedFalseOrderByTimestampDesc(Long roomId);
 
+    // keyset 페이지네이션: (timestamp, id) 커서 기준, limit은 Pageable로 전달
+    @Query("SELECT gm FROM GroupMessageEntity gm WHERE gm.roomId = :roomId AND gm.isDeleted = false " +
+           "ORDER BY gm.timestamp DESC, gm.id DESC")
+    List<GroupMessageEntity> findLatestPage(@Param("roomId") Long roomId, Pageable pageable);
+
+    @Query("SELECT gm FROM GroupMessageEntity gm WHERE gm.roomId = :roomId AND gm.isDeleted = false " +
+           "AND (gm.timestamp < :timestamp OR (gm.timestamp = :timestamp AND gm.id < :id)) " +
+           "ORDER BY gm.timestamp DESC, gm.id DESC")
+    List<GroupMessageEntity> findPageBefore(@Param("roomId") Long roomId, @Param("timestamp") LocalDateTime timestamp,
+                                  @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT gm FROM GroupMessageEntity gm WHERE gm.roomId = :roomId AND gm.isDeleted = false " +
+           "AND (gm.timestamp > :timestamp OR (gm.timestamp = :timestamp AND gm.id > :id)) " +
+           "ORDER BY gm.timestamp ASC, gm.id ASC")
+    List<GroupMessageEntity> findPageAfter(@Param("roomId") Long roomId, @Param("timestamp") LocalDateTime timestamp,
+                                 @Param("id") Long id, Pageable pageable);
+
+    // 검색 색인 생성용 전체 순회 (timestamp, id) keyset
+    @Query("SELECT gm FROM GroupMessageEntity gm WHERE gm.isDeleted = false " +
+           "AND (gm.timestamp > :timestamp OR (gm.timestamp = :timestamp AND gm.id > :id)) " +
+           "ORDER BY gm.timestamp ASC, gm.id ASC")
+    List<GroupMessageEntity> findIndexBatch(@Param("timestamp") LocalDateTime timestamp,
+                                            @Param("id") Long id, Pageable pageable);
+
     @Query("SELECT gm FROM GroupMessageEntity gm WHERE " +
            "gm.roomId = :roomId AND " +
            "gm.timestamp > :since AND " +
@@ -15,6 +15,9 @@ public class HealthController {
     @Autowired
     private MonitoringService monitoringService;
 
+    @Autowired
+    private WebSocketOutboundService outboundService;
+
     @GetMapping
     public ResponseEntity<?> healthCheck() {
         Map<String, Object> health = new HashMap<>();
@@ -38,6 +41,15 @@ public class HealthController {
         return ResponseEntity.ok(metrics);
     }
 
+    @GetMapping("/websocket/outbound")
+    public ResponseEntity<?> getWebSocketOutboundStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("sessions", outboundService.getSessionStats());
+        stats.put("timestamp", LocalDateTime.now().toString());
+
+        return ResponseEntity.ok(stats);
+    }
+
     @GetMapping("/status")
     public ResponseEntity<?> getServiceStatus() {
         Map<String, Object> status = new HashMap<>();
@@ -0,0 +1,121 @@
+package com.beam;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * 아직 디스크에 쓰지 않은 최근 색인 문서 (메모리)
+ * - 문서 번호는 추가 순서이므로 timestamp 순서가 보장되지 않음 → 검색 시 조건에 맞는 문서를 모두 hits에 넣음
+ * - flush 시 (timestamp, messageId) 순으로 번호를 다시 매겨 세그먼트 파일로 기록
+ * - 동기화는 호출자({@link MessageSearchIndex})가 담당
+ */
+final class IndexMemtable {
+
+    private final List<SearchDocument> documents = new ArrayList<>();
+    private final Map<String, IntList> postings = new HashMap<>();
+    // 백필과 실시간 색인이 겹쳐 같은 메시지가 다시 들어오는 경우 무시
+    private final Set<String> keys = new HashSet<>();
+    private long maxTimestampMicros = Long.MIN_VALUE;
+
+    void add(SearchDocument document, Collection<String> tokens) {
+        if (!keys.add(document.key())) {
+            return;
+        }
+        int docId = documents.size();
+        documents.add(document);
+        for (String token : tokens) {
+            postings.computeIfAbsent(token, t -> new IntList()).add(docId);
+        }
+        maxTimestampMicros = Math.max(maxTimestampMicros, document.getTimestampMicros());
+    }
+
+    int size() {
+        return documents.size();
+    }
+
+    long getMaxTimestampMicros() {
+        return maxTimestampMicros;
+    }
+
+    void collect(SearchQuery query, SearchTopHits hits) {
+        IntList[] lists = new IntList[query.getTokens().size()];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = postings.get(query.getTokens().get(i));
+            if (lists[i] == null) {
+                return;
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+        IntList driver = lists[0];
+        for (int i = driver.size - 1; i >= 0; i--) {
+            int docId = driver.values[i];
+            SearchDocument document = documents.get(docId);
+            if (!query.getScopes().contains(document.getScope())
+                    || !query.isBefore(document.getTimestampMicros(), document.getMessageId())
+                    || !containsAll(lists, docId)) {
+                continue;
+            }
+            hits.offer(document);
+        }
+    }
+
+    void writeTo(Path path) throws IOException {
+        Integer[] order = new Integer[documents.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> SearchDocument.NEWEST_FIRST.compare(documents.get(b), documents.get(a)));
+
+        int[] renumbered = new int[order.length];
+        List<SearchDocument> sorted = new ArrayList<>(order.length);
+        for (int newId = 0; newId < order.length; newId++) {
+            renumbered[order[newId]] = newId;
+            sorted.add(documents.get(order[newId]));
+        }
+
+        SortedMap<String, int[]> sortedPostings = new TreeMap<>();
+        for (Map.Entry<String, IntList> entry : postings.entrySet()) {
+            IntList list = entry.getValue();
+            int[] docIds = new int[list.size];
+            for (int i = 0; i < list.size; i++) {
+                docIds[i] = renumbered[list.values[i]];
+            }
+            Arrays.sort(docIds);
+            sortedPostings.put(entry.getKey(), docIds);
+        }
+        IndexSegmentWriter.write(path, sorted, sortedPostings);
+    }
+
+    private static boolean containsAll(IntList[] lists, int docId) {
+        for (int i = 1; i < lists.length; i++) {
+            if (Arrays.binarySearch(lists[i].values, 0, lists[i].size, docId) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 추가 순서대로(오름차순) 쌓이는 문서 번호 목록
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.beam;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link MessageSearchIndex} 기반 검색
+ * - 사용자의 방/대화 목록으로 scope 집합을 만든 뒤 색인에서 최신순 상위 limit개 조회
+ */
+@Component
+public class IndexSearchBackend implements SearchBackend {
+
+    @Autowired
+    private MessageSearchIndex messageSearchIndex;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private RoomMemberRepository roomMemberRepository;
+
+    @Override
+    public String getName() {
+        return "index";
+    }
+
+    @Override
+    public List<SearchDocument> search(Long userId, String keyword, String type, MessageCursor before, int limit) {
+        return messageSearchIndex.search(keyword, userScopes(userId, type), before, limit);
+    }
+
+    @Override
+    public boolean isReady() {
+        return messageSearchIndex.isReady();
+    }
+
+    @Override
+    public void activate() {
+        if (!messageSearchIndex.isEnabled()) {
+            System.err.println("⚠️ search.backend=index but search.index.enabled=false - message search will return no results");
+        }
+    }
+
+    private Set<String> userScopes(Long userId, String type) {
+        Set<String> scopes = new HashSet<>();
+        if (!"ROOM".equalsIgnoreCase(type)) {
+            for (ConversationEntity conversation : conversationRepository.findUserConversations(userId)) {
+                scopes.add(SearchDocument.conversationScope(conversation.getConversationId()));
+            }
+        }
+        if (!"DM".equalsIgnoreCase(type)) {
+            for (RoomMemberEntity membership : roomMemberRepository.findByUserIdAndIsActiveTrue(userId)) {
+                scopes.add(SearchDocument.roomScope(membership.getRoomId()));
+            }
+        }
+        return scopes;
+    }
+}
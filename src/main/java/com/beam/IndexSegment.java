@@ -0,0 +1,211 @@
+package com.beam;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 디스크의 불변 색인 세그먼트 (형식은 {@link IndexSegmentWriter} 참고)
+ * - 파일 전체를 memory-map 하고 term 사전/scope 표만 힙에 올림 (파일 크기는 {@link IndexSegmentWriter#MAX_SEGMENT_BYTES} 미만)
+ * - postings와 문서 표는 필요한 부분만 mmap에서 직접 읽음
+ */
+final class IndexSegment {
+
+    private static final SearchDocument.Kind[] KINDS = SearchDocument.Kind.values();
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final String[] terms;
+    private final long[] postingOffsets;
+    private final int[] postingCounts;
+    private final String[] scopes;
+    private final Map<String, Integer> scopeIds;
+    private final long docTableOffset;
+    private final int documentCount;
+    private final long minTimestampMicros;
+    private final long maxTimestampMicros;
+
+    private IndexSegment(Path path, ByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+
+        int footer = buffer.limit() - IndexSegmentWriter.FOOTER_BYTES;
+        if (buffer.getInt(0) != IndexSegmentWriter.MAGIC
+                || buffer.getInt(buffer.limit() - 4) != IndexSegmentWriter.MAGIC) {
+            throw new IllegalStateException("Corrupt search index segment: " + path);
+        }
+        docTableOffset = buffer.getLong(footer);
+        documentCount = buffer.getInt(footer + 8);
+        long scopeTableOffset = buffer.getLong(footer + 12);
+        int scopeCount = buffer.getInt(footer + 20);
+        long dictionaryOffset = buffer.getLong(footer + 24);
+        int termCount = buffer.getInt(footer + 32);
+        minTimestampMicros = buffer.getLong(footer + 36);
+        maxTimestampMicros = buffer.getLong(footer + 44);
+
+        scopes = new String[scopeCount];
+        scopeIds = new HashMap<>(scopeCount * 2);
+        int position = (int) scopeTableOffset;
+        for (int i = 0; i < scopeCount; i++) {
+            int length = buffer.getInt(position);
+            scopes[i] = readString(position + 4, length);
+            scopeIds.put(scopes[i], i);
+            position += 4 + length;
+        }
+
+        terms = new String[termCount];
+        postingOffsets = new long[termCount];
+        postingCounts = new int[termCount];
+        position = (int) dictionaryOffset;
+        for (int i = 0; i < termCount; i++) {
+            int length = buffer.getInt(position);
+            terms[i] = readString(position + 4, length);
+            position += 4 + length;
+            postingOffsets[i] = buffer.getLong(position);
+            postingCounts[i] = buffer.getInt(position + 8);
+            position += 12;
+        }
+    }
+
+    static IndexSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > IndexSegmentWriter.MAX_SEGMENT_BYTES) {
+                throw new IOException("Search index segment too large to map: " + path + " (" + channel.size() + " bytes)");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new IndexSegment(path, buffer);
+        }
+    }
+
+    /**
+     * 조건에 맞는 문서를 최신순으로 hits에 추가. 더 이상 상위 k에 들 수 없으면 중단
+     */
+    void collect(SearchQuery query, SearchTopHits hits) {
+        if (documentCount == 0 || query.excludesAllFrom(minTimestampMicros)) {
+            return;
+        }
+
+        BitSet allowedScopes = new BitSet(scopes.length);
+        for (String scope : query.getScopes()) {
+            Integer scopeId = scopeIds.get(scope);
+            if (scopeId != null) {
+                allowedScopes.set(scopeId);
+            }
+        }
+        if (allowedScopes.isEmpty()) {
+            return;
+        }
+
+        IntBuffer[] lists = new IntBuffer[query.getTokens().size()];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = postings(query.getTokens().get(i));
+            if (lists[i] == null) {
+                return;
+            }
+        }
+        // 가장 짧은 목록을 기준으로 순회하고 나머지는 이진 탐색
+        Arrays.sort(lists, Comparator.comparingInt(IntBuffer::limit));
+        IntBuffer driver = lists[0];
+
+        for (int i = driver.limit() - 1; i >= 0; i--) {
+            int docId = driver.get(i);
+            int record = (int) (docTableOffset + (long) docId * IndexSegmentWriter.DOC_BYTES);
+            if (!allowedScopes.get(buffer.getInt(record + 17))) {
+                continue;
+            }
+            long messageId = buffer.getLong(record + 1);
+            long timestampMicros = buffer.getLong(record + 9);
+            if (!query.isBefore(timestampMicros, messageId) || !containsAll(lists, docId)) {
+                continue;
+            }
+            SearchDocument document = new SearchDocument(KINDS[buffer.get(record)], messageId,
+                scopes[buffer.getInt(record + 17)], timestampMicros);
+            if (!hits.offer(document)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 세그먼트 병합용 - 문서 번호 순 문서
+     */
+    SearchDocument document(int docId) {
+        int record = (int) (docTableOffset + (long) docId * IndexSegmentWriter.DOC_BYTES);
+        return new SearchDocument(KINDS[buffer.get(record)], buffer.getLong(record + 1),
+            scopes[buffer.getInt(record + 17)], buffer.getLong(record + 9));
+    }
+
+    String[] terms() {
+        return terms;
+    }
+
+    IntBuffer postings(String term) {
+        int index = Arrays.binarySearch(terms, term);
+        if (index < 0) {
+            return null;
+        }
+        return buffer.slice((int) postingOffsets[index], postingCounts[index] * 4).asIntBuffer();
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    int getDocumentCount() {
+        return documentCount;
+    }
+
+    long getSizeBytes() {
+        return buffer.limit();
+    }
+
+    long getMinTimestampMicros() {
+        return minTimestampMicros;
+    }
+
+    long getMaxTimestampMicros() {
+        return maxTimestampMicros;
+    }
+
+    private static boolean containsAll(IntBuffer[] lists, int docId) {
+        for (int i = 1; i < lists.length; i++) {
+            if (!contains(lists[i], docId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contains(IntBuffer list, int docId) {
+        int low = 0;
+        int high = list.limit() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = list.get(mid);
+            if (value < docId) {
+                low = mid + 1;
+            } else if (value > docId) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String readString(int position, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,276 @@
+package com.beam;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SortedMap;
+
+/**
+ * 불변 색인 세그먼트 파일 작성
+ *
+ * 파일 구조 (big-endian):
+ * <pre>
+ * [magic][version]
+ * [postings]    term 순서대로 문서 번호(int) 오름차순 배열
+ * [doc table]   문서 번호 순 고정 길이 레코드: kind(byte) messageId(long) timestamp(long) scope(int)
+ * [scope table] scope 문자열
+ * [dictionary]  term 문자열, postings 시작 위치(long), 문서 수(int) - term 오름차순
+ * [footer]      각 영역 위치/개수, 최소/최대 timestamp, magic
+ * </pre>
+ * 문서 번호는 (timestamp, messageId) 오름차순으로 부여하므로 큰 번호부터 읽으면 최신순
+ */
+final class IndexSegmentWriter {
+
+    static final int MAGIC = 0x42534931; // "BSI1"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final int DOC_BYTES = 1 + 8 + 8 + 4;
+    static final int FOOTER_BYTES = 8 + 4 + 8 + 4 + 8 + 4 + 8 + 8 + 4;
+    // 세그먼트는 파일 전체를 하나의 ByteBuffer(int 위치)로 mmap 하므로 2GB 미만이어야 함
+    static final long MAX_SEGMENT_BYTES = Integer.MAX_VALUE;
+
+    private IndexSegmentWriter() {
+    }
+
+    /**
+     * @param documents 문서 번호 순으로 정렬된 문서 (timestamp 오름차순)
+     * @param postings  term -> 문서 번호 오름차순 배열
+     */
+    static void write(Path path, List<SearchDocument> documents, SortedMap<String, int[]> postings) throws IOException {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (SegmentOutput out = new SegmentOutput(tmp, postings.size())) {
+            for (Map.Entry<String, int[]> entry : postings.entrySet()) {
+                out.addPostings(entry.getKey(), entry.getValue(), entry.getValue().length);
+            }
+            out.startDocuments();
+            for (SearchDocument document : documents) {
+                out.addDocument(document);
+            }
+            out.finish();
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 여러 세그먼트를 하나로 병합 (같은 메시지는 한 번만 남기고 문서 번호를 다시 매김)
+     * - 문서는 세그먼트별로 이미 정렬되어 있으므로 k-way merge로 순회하고, 힙에는 세그먼트별 새 문서 번호 표(int[])만 둠
+     * - postings는 term 순서대로 한 term씩 병합해 바로 파일에 씀
+     */
+    static void merge(Path path, List<IndexSegment> segments) throws IOException {
+        int[][] renumbered = new int[segments.size()][];
+        for (int s = 0; s < segments.size(); s++) {
+            renumbered[s] = new int[segments.get(s).getDocumentCount()];
+            Arrays.fill(renumbered[s], -1);
+        }
+        int[] documentCount = new int[1];
+        forEachInOrder(segments, (s, docId, document) -> renumbered[s][docId] = documentCount[0]++);
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (SegmentOutput out = new SegmentOutput(tmp, 0)) {
+            String[][] terms = new String[segments.size()][];
+            int[] termCursors = new int[segments.size()];
+            for (int s = 0; s < segments.size(); s++) {
+                terms[s] = segments.get(s).terms();
+            }
+            int[] merged = new int[0];
+            String term;
+            while ((term = nextTerm(terms, termCursors)) != null) {
+                int size = 0;
+                for (int s = 0; s < segments.size(); s++) {
+                    if (termCursors[s] >= terms[s].length || !terms[s][termCursors[s]].equals(term)) {
+                        continue;
+                    }
+                    termCursors[s]++;
+                    IntBuffer list = segments.get(s).postings(term);
+                    if (merged.length < size + list.limit()) {
+                        merged = Arrays.copyOf(merged, Math.max(size + list.limit(), merged.length * 2));
+                    }
+                    for (int i = 0; i < list.limit(); i++) {
+                        int docId = renumbered[s][list.get(i)];
+                        if (docId >= 0) {
+                            merged[size++] = docId;
+                        }
+                    }
+                }
+                Arrays.sort(merged, 0, size);
+                out.addPostings(term, merged, size);
+            }
+
+            out.startDocuments();
+            forEachInOrder(segments, (s, docId, document) -> {
+                if (renumbered[s][docId] >= 0) {
+                    out.addDocument(document);
+                }
+            });
+            out.finish();
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // 아직 소비하지 않은 term 중 가장 작은 것 (모두 소비했으면 null)
+    private static String nextTerm(String[][] terms, int[] cursors) {
+        String min = null;
+        for (int s = 0; s < terms.length; s++) {
+            if (cursors[s] < terms[s].length && (min == null || terms[s][cursors[s]].compareTo(min) < 0)) {
+                min = terms[s][cursors[s]];
+            }
+        }
+        return min;
+    }
+
+    /**
+     * 세그먼트들의 문서를 (timestamp, messageId, kind) 오름차순으로 방문. 같은 메시지는 처음 한 번만 방문
+     */
+    private static void forEachInOrder(List<IndexSegment> segments, DocumentVisitor visitor) throws IOException {
+        Comparator<SearchDocument> order = SearchDocument.NEWEST_FIRST.reversed();
+        PriorityQueue<DocRef> heads = new PriorityQueue<>((a, b) -> order.compare(a.document(), b.document()));
+        for (int s = 0; s < segments.size(); s++) {
+            if (segments.get(s).getDocumentCount() > 0) {
+                heads.add(new DocRef(segments.get(s).document(0), s, 0));
+            }
+        }
+        String previousKey = null;
+        while (!heads.isEmpty()) {
+            DocRef head = heads.poll();
+            // 같은 메시지는 정렬 키가 같으므로 연속해서 나옴
+            String key = head.document().key();
+            if (!key.equals(previousKey)) {
+                visitor.visit(head.segment(), head.docId(), head.document());
+                previousKey = key;
+            }
+            IndexSegment segment = segments.get(head.segment());
+            int next = head.docId() + 1;
+            if (next < segment.getDocumentCount()) {
+                heads.add(new DocRef(segment.document(next), head.segment(), next));
+            }
+        }
+    }
+
+    private static int writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        return 4 + bytes.length;
+    }
+
+    private record DocRef(SearchDocument document, int segment, int docId) {
+    }
+
+    @FunctionalInterface
+    private interface DocumentVisitor {
+        void visit(int segment, int docId, SearchDocument document) throws IOException;
+    }
+
+    /**
+     * 파일 구조 순서대로 쓰는 스트리밍 출력 (postings → doc table → scope table → dictionary → footer)
+     * - 힙에는 dictionary용 term/위치/개수와 scope 목록만 둠
+     */
+    private static final class SegmentOutput implements AutoCloseable {
+
+        private final DataOutputStream out;
+        private final List<String> terms;
+        private long[] offsets;
+        private int[] counts;
+        private final Map<String, Integer> scopeIds = new HashMap<>();
+        private final List<String> scopes = new ArrayList<>();
+        private long position = HEADER_BYTES;
+        private long docTableOffset = -1;
+        private int documentCount;
+        private long minTimestampMicros = Long.MAX_VALUE;
+        private long maxTimestampMicros = Long.MIN_VALUE;
+
+        private SegmentOutput(Path path, int expectedTerms) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+            this.terms = new ArrayList<>(expectedTerms);
+            this.offsets = new long[Math.max(expectedTerms, 16)];
+            this.counts = new int[offsets.length];
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+        }
+
+        void addPostings(String term, int[] docIds, int size) throws IOException {
+            int index = terms.size();
+            if (index == offsets.length) {
+                offsets = Arrays.copyOf(offsets, index * 2);
+                counts = Arrays.copyOf(counts, index * 2);
+            }
+            terms.add(term);
+            offsets[index] = position;
+            counts[index] = size;
+            for (int i = 0; i < size; i++) {
+                out.writeInt(docIds[i]);
+            }
+            position += (long) size * 4;
+        }
+
+        void startDocuments() {
+            docTableOffset = position;
+        }
+
+        // 문서 번호 순(timestamp 오름차순)으로 호출
+        void addDocument(SearchDocument document) throws IOException {
+            Integer scopeId = scopeIds.get(document.getScope());
+            if (scopeId == null) {
+                scopeId = scopes.size();
+                scopeIds.put(document.getScope(), scopeId);
+                scopes.add(document.getScope());
+            }
+            out.writeByte(document.getKind().ordinal());
+            out.writeLong(document.getMessageId());
+            out.writeLong(document.getTimestampMicros());
+            out.writeInt(scopeId);
+            position += DOC_BYTES;
+            if (documentCount == 0) {
+                minTimestampMicros = document.getTimestampMicros();
+            }
+            maxTimestampMicros = document.getTimestampMicros();
+            documentCount++;
+        }
+
+        void finish() throws IOException {
+            long scopeTableOffset = position;
+            for (String scope : scopes) {
+                position += writeString(out, scope);
+            }
+
+            long dictionaryOffset = position;
+            for (int i = 0; i < terms.size(); i++) {
+                position += writeString(out, terms.get(i));
+                out.writeLong(offsets[i]);
+                out.writeInt(counts[i]);
+                position += 12;
+            }
+
+            out.writeLong(docTableOffset);
+            out.writeInt(documentCount);
+            out.writeLong(scopeTableOffset);
+            out.writeInt(scopes.size());
+            out.writeLong(dictionaryOffset);
+            out.writeInt(terms.size());
+            out.writeLong(minTimestampMicros);
+            out.writeLong(maxTimestampMicros);
+            out.writeInt(MAGIC);
+            position += FOOTER_BYTES;
+            if (position > MAX_SEGMENT_BYTES) {
+                throw new IOException("Search index segment exceeds " + MAX_SEGMENT_BYTES + " bytes: " + position);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
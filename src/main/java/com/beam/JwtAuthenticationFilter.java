@@ -24,7 +24,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtUtil jwtUtil;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserStatusCache userStatusCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -34,28 +34,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = extractJwtFromRequest(request);
 
-            if (jwt != null && jwtUtil.validateToken(jwt)) {
-                Long userId = jwtUtil.getUserIdFromToken(jwt);
-                String username = jwtUtil.getUsernameFromToken(jwt);
+            TokenClaims claims = jwt != null ? jwtUtil.verifyOrNull(jwt) : null;
 
-                // 사용자 존재 여부 및 활성 상태 확인
-                UserEntity user = userRepository.findById(userId).orElse(null);
+            // 사용자 존재 여부 및 활성 상태 확인 (캐시, 변경 시 이벤트로 무효화)
+            if (claims != null && userStatusCache.isActive(claims.userId())) {
+                // Spring Security 인증 객체 생성
+                UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(
+                        claims.userId(),
+                        null,
+                        new ArrayList<>() // 권한 목록 (필요시 확장)
+                    );
 
-                if (user != null && user.getIsActive()) {
-                    // Spring Security 인증 객체 생성
-                    UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                            userId,
-                            null,
-                            new ArrayList<>() // 권한 목록 (필요시 확장)
-                        );
+                // 추가 정보 설정 (UserEntity 대신 토큰 내용)
+                authentication.setDetails(claims);
 
-                    // 추가 정보 설정
-                    authentication.setDetails(user);
-
-                    // SecurityContext에 인증 정보 설정
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                }
+                // SecurityContext에 인증 정보 설정
+                SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         } catch (Exception e) {
             logger.error("JWT 인증 처리 중 오류 발생: " + e.getMessage());
@@ -1,14 +1,32 @@
 package com.beam;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * JWT 발급/검증
+ * - 서명 키와 parser는 시작 시 한 번만 생성 (thread-safe)
+ * - {@link #verify}: 서명 검증 결과를 {@link TokenClaims}로 반환, 같은 토큰은 exp까지 캐시에서 바로 반환
+ * - 캐시 키는 토큰 원문이 아닌 SHA-256 (메모리 덤프에 토큰이 남지 않도록)
+ */
 @Component
 public class JwtUtil {
 
@@ -18,9 +36,44 @@ public class JwtUtil {
     @Value("${jwt.expiration:86400000}")
     private Long expiration;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Value("${jwt.verification-cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private Cache<String, TokenClaims> verified;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        verified = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, TokenClaims>() {
+                    @Override
+                    public long expireAfterCreate(String key, TokenClaims claims, long currentTime) {
+                        return untilExpiry(claims);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, TokenClaims claims, long currentTime, long currentDuration) {
+                        return untilExpiry(claims);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, TokenClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "jwtVerifications");
     }
 
     public String generateToken(String username, Long userId) {
@@ -32,39 +85,72 @@ public class JwtUtil {
                 .claim("userId", userId)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * 토큰 검증 후 내용 반환
+     *
+     * @throws JwtException 서명 불일치, 만료, 형식 오류
+     */
+    public TokenClaims verify(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("Token is empty");
+        }
+        String key = cacheKey(token);
+        TokenClaims claims = verified.getIfPresent(key);
+        if (claims != null) {
+            return claims;
+        }
 
-        return claims.getSubject();
+        Claims payload = parser.parseSignedClaims(token).getPayload();
+        claims = new TokenClaims(
+                payload.getSubject(),
+                payload.get("userId", Long.class),
+                payload.getIssuedAt() != null ? payload.getIssuedAt().toInstant() : null,
+                payload.getExpiration() != null ? payload.getExpiration().toInstant() : null);
+        if (claims.expiresAt() != null) {
+            // exp가 없는 토큰은 캐시하지 않음 (매번 검증)
+            verified.put(key, claims);
+        }
+        return claims;
     }
 
-    public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * 유효하지 않으면 null
+     */
+    public TokenClaims verifyOrNull(String token) {
+        try {
+            return verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public String getUsernameFromToken(String token) {
+        return verify(token).username();
+    }
 
-        return claims.get("userId", Long.class);
+    public Long getUserIdFromToken(String token) {
+        return verify(token).userId();
     }
 
     public boolean validateToken(String token) {
+        return verifyOrNull(token) != null;
+    }
+
+    private static long untilExpiry(TokenClaims claims) {
+        long nanos = TimeUnit.MILLISECONDS.toNanos(claims.expiresAt().toEpochMilli() - Instant.now().toEpochMilli());
+        return Math.max(0, nanos);
+    }
+
+    private static String cacheKey(String token) {
         try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
-}
\ No newline at end of file
+}
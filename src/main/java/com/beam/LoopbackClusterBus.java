@@ -0,0 +1,48 @@
+package com.beam;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 같은 JVM 안의 버스끼리만 이벤트를 전달하는 {@link ClusterBus}
+ * - 단일 노드 배포의 기본값 (다른 버스가 없으므로 아무 데도 보내지 않음)
+ * - 애플리케이션 컨텍스트를 여러 개 띄워 다중 노드를 흉내 낼 때 사용
+ */
+@Component
+public class LoopbackClusterBus extends BatchingClusterBus {
+
+    // 시작된 loopback 버스 전체 (컨텍스트마다 하나)
+    private static final Set<LoopbackClusterBus> BUSES = ConcurrentHashMap.newKeySet();
+
+    public LoopbackClusterBus(
+            MeterRegistry meterRegistry,
+            @Value("${cluster.bus.queue-capacity:10000}") int queueCapacity,
+            @Value("${cluster.bus.max-batch-size:256}") int maxBatchSize) {
+        super("loopback", meterRegistry, queueCapacity, maxBatchSize);
+    }
+
+    @Override
+    protected void connect() {
+        BUSES.add(this);
+    }
+
+    @Override
+    protected void disconnect() {
+        BUSES.remove(this);
+    }
+
+    @Override
+    protected void sendBatch(List<ClusterEvent> batch) {
+        List<ClusterEvent> events = List.copyOf(batch);
+        for (LoopbackClusterBus bus : BUSES) {
+            if (bus != this) {
+                bus.deliver(events);
+            }
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.beam;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Media Derivative Service
+ *
+ * <p>Generates image derivatives (thumbnails, re-encoded previews, dimensions) in a bounded
+ * background pool after an upload is stored, instead of decoding full images on the request thread.
+ *
+ * <h3>Derivatives:</h3>
+ * <ul>
+ *   <li>thumb-200, thumb-480: JPEG thumbnails (longest side); thumb-200 is also {@code thumbnailPath}</li>
+ *   <li>jpeg-1280: JPEG preview</li>
+ *   <li>webp-1280: WebP preview, only when an ImageIO WebP writer is on the classpath</li>
+ * </ul>
+ *
+ * <h3>Bounded work:</h3>
+ * <ul>
+ *   <li>Decoding uses {@link ImageReadParam#setSourceSubsampling} so the decoded raster is at most
+ *       about twice the largest derivative, whatever the source resolution</li>
+ *   <li>Worker threads: file.derivatives.threads (default: available cores), queue:
+ *       file.derivatives.queue-capacity; when full, work stays PENDING in the database</li>
+ * </ul>
+ *
+ * <h3>Status ({@link FileMetadataEntity.DerivativeStatus}):</h3>
+ * <ul>
+ *   <li>PENDING → PROCESSING (claimed with a conditional UPDATE) → READY, or back to PENDING on
+ *       failure until file.derivatives.max-attempts, then FAILED</li>
+ *   <li>A periodic sweep re-queues PENDING work and resets PROCESSING rows left by a restart</li>
+ * </ul>
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ *   <li>beam_media_derivative_queue_depth - Queued jobs</li>
+ *   <li>beam_media_derivative_seconds - Per-file processing time</li>
+ *   <li>beam_media_derivative_failed_total - Failed attempts</li>
+ *   <li>beam_media_derivative_rejected_total - Jobs deferred because the queue was full</li>
+ * </ul>
+ *
+ * @since 1.2.0
+ */
+@Service
+public class MediaDerivativeService {
+
+    static final int[] THUMBNAIL_SIZES = {200, 480};
+    static final int PREVIEW_SIZE = 1280;
+    static final String DEFAULT_THUMBNAIL = "thumb-200";
+
+    private static final float JPEG_QUALITY = 0.82f;
+    // 압축 폭탄 방지 (서브샘플링 전 원본 픽셀 수)
+    private static final long MAX_SOURCE_PIXELS = 200_000_000L;
+    // PROCESSING 상태로 이 시간 이상 머물면 처리 중 재시작된 것으로 보고 되돌림
+    private static final long STUCK_MINUTES = 10;
+
+    private final FileMetadataRepository fileMetadataRepository;
+    private final FileStorageService fileStorageService;
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final long retryDelayMs;
+    private final int queueCapacity;
+    private final boolean webpAvailable;
+
+    private final ThreadPoolExecutor executor;
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+
+    private final Timer processTimer;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+
+    public MediaDerivativeService(
+            FileMetadataRepository fileMetadataRepository,
+            FileStorageService fileStorageService,
+            MeterRegistry meterRegistry,
+            @Value("${file.derivatives.enabled:true}") boolean enabled,
+            @Value("${file.derivatives.threads:0}") int threads,
+            @Value("${file.derivatives.queue-capacity:256}") int queueCapacity,
+            @Value("${file.derivatives.max-attempts:3}") int maxAttempts,
+            @Value("${file.derivatives.retry-delay-ms:30000}") long retryDelayMs) {
+        this.fileMetadataRepository = fileMetadataRepository;
+        this.fileStorageService = fileStorageService;
+        this.enabled = enabled;
+        this.maxAttempts = maxAttempts;
+        this.retryDelayMs = retryDelayMs;
+        this.queueCapacity = queueCapacity;
+        this.webpAvailable = ImageIO.getImageWritersByFormatName("webp").hasNext();
+
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "beam-media-derivative-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                thread.setPriority(Thread.NORM_PRIORITY - 1);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("beam_media_derivative_queue_depth", executor, pool -> pool.getQueue().size())
+                .description("Queued media derivative jobs")
+                .register(meterRegistry);
+
+        processTimer = Timer.builder("beam_media_derivative_seconds")
+                .description("Media derivative generation time per file")
+                .register(meterRegistry);
+
+        failedCounter = Counter.builder("beam_media_derivative_failed_total")
+                .description("Failed media derivative attempts")
+                .register(meterRegistry);
+
+        rejectedCounter = Counter.builder("beam_media_derivative_rejected_total")
+                .description("Media derivative jobs deferred because the queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 파생 파일 생성 예약. 큐가 가득 차면 PENDING으로 남아 다음 sweep에서 다시 예약됨
+     */
+    public void enqueue(Long fileId) {
+        if (!enabled || !queued.add(fileId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    process(fileId);
+                } finally {
+                    queued.remove(fileId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queued.remove(fileId);
+            rejectedCounter.increment();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFileStored(FileStoredEvent event) {
+        if (event.isDerivativesPending()) {
+            enqueue(event.getFileId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${file.derivatives.retry-delay-ms:30000}",
+               initialDelayString = "${file.derivatives.retry-delay-ms:30000}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (FileMetadataEntity stuck : fileMetadataRepository
+                .findByDerivativeStatusAndDerivativeUpdatedAtBeforeOrderByDerivativeUpdatedAtAsc(
+                    FileMetadataEntity.DerivativeStatus.PROCESSING, now.minusMinutes(STUCK_MINUTES),
+                    PageRequest.of(0, queueCapacity))) {
+            if (!queued.contains(stuck.getId())) {
+                fileMetadataRepository.transitionDerivativeStatus(stuck.getId(),
+                    FileMetadataEntity.DerivativeStatus.PROCESSING, FileMetadataEntity.DerivativeStatus.PENDING, now);
+            }
+        }
+
+        int free = executor.getQueue().remainingCapacity();
+        if (free == 0) {
+            return;
+        }
+        for (FileMetadataEntity pending : fileMetadataRepository
+                .findByDerivativeStatusAndDerivativeUpdatedAtBeforeOrderByDerivativeUpdatedAtAsc(
+                    FileMetadataEntity.DerivativeStatus.PENDING, now.minusNanos(retryDelayMs * 1_000_000L),
+                    PageRequest.of(0, free))) {
+            enqueue(pending.getId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // 남은 작업은 PENDING/PROCESSING으로 DB에 남아 다음 기동 시 sweep에서 처리
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private void process(Long fileId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (fileMetadataRepository.transitionDerivativeStatus(fileId,
+                FileMetadataEntity.DerivativeStatus.PENDING, FileMetadataEntity.DerivativeStatus.PROCESSING, now) == 0) {
+            return;
+        }
+        FileMetadataEntity metadata = fileMetadataRepository.findById(fileId).orElse(null);
+        if (metadata == null || Boolean.TRUE.equals(metadata.getIsDeleted())) {
+            return;
+        }
+
+        Timer.Sample sample = Timer.start();
+        try {
+            render(metadata);
+        } catch (Exception e) {
+            int attempts = (metadata.getDerivativeAttempts() != null ? metadata.getDerivativeAttempts() : 0) + 1;
+            FileMetadataEntity.DerivativeStatus status = attempts >= maxAttempts
+                ? FileMetadataEntity.DerivativeStatus.FAILED
+                : FileMetadataEntity.DerivativeStatus.PENDING;
+            fileMetadataRepository.failDerivatives(fileId, status, attempts, LocalDateTime.now());
+            failedCounter.increment();
+            System.err.println("❌ Media derivatives failed for file " + fileId + " (attempt " + attempts + "): " + e.getMessage());
+        } finally {
+            sample.stop(processTimer);
+        }
+    }
+
+    private void render(FileMetadataEntity metadata) throws IOException {
+        Path source = fileStorageService.resolveStoredPath(metadata);
+        BufferedImage decoded;
+        int width;
+        int height;
+
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            if (input == null) {
+                throw new IOException("Cannot open image file");
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                width = reader.getWidth(0);
+                height = reader.getHeight(0);
+                if ((long) width * height > MAX_SOURCE_PIXELS) {
+                    throw new IOException("Image too large: " + width + "x" + height);
+                }
+                // 가장 큰 파생 크기의 약 2배 이하로만 디코딩
+                int factor = Math.max(1, (int) Math.ceil(Math.max(width, height) / (2.0 * PREVIEW_SIZE)));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(factor, factor, 0, 0);
+                decoded = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        List<String> variants = new ArrayList<>();
+        BufferedImage preview = scale(decoded, PREVIEW_SIZE);
+        decoded.flush();
+        write(preview, "jpeg", fileStorageService.resolveDerivativePath(metadata, "jpeg-" + PREVIEW_SIZE));
+        variants.add("jpeg-" + PREVIEW_SIZE);
+        if (webpAvailable) {
+            write(preview, "webp", fileStorageService.resolveDerivativePath(metadata, "webp-" + PREVIEW_SIZE));
+            variants.add("webp-" + PREVIEW_SIZE);
+        }
+        // 작은 썸네일은 이미 줄인 미리보기에서 다시 축소
+        for (int i = THUMBNAIL_SIZES.length - 1; i >= 0; i--) {
+            String variant = "thumb-" + THUMBNAIL_SIZES[i];
+            write(scale(preview, THUMBNAIL_SIZES[i]), "jpeg", fileStorageService.resolveDerivativePath(metadata, variant));
+            variants.add(variant);
+        }
+
+        fileMetadataRepository.completeDerivatives(metadata.getId(),
+            FileStorageService.derivativeFileName(metadata.getFilePath(), DEFAULT_THUMBNAIL),
+            String.join(",", variants), width, height, LocalDateTime.now());
+    }
+
+    /**
+     * 긴 변이 size 이하가 되도록 축소 (확대하지 않음). 큰 비율은 절반씩 나눠 줄여 계단 현상 방지
+     * 알파 채널은 흰 배경으로 합성 (JPEG)
+     */
+    static BufferedImage scale(BufferedImage source, int size) {
+        BufferedImage current = source;
+        int longest = Math.max(current.getWidth(), current.getHeight());
+        while (longest / 2 >= size) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2);
+            longest /= 2;
+        }
+        double ratio = Math.min(1.0, (double) size / Math.max(current.getWidth(), current.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(current.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(current.getHeight() * ratio));
+        if (current.getType() == BufferedImage.TYPE_INT_RGB
+                && targetWidth == current.getWidth() && targetHeight == current.getHeight()) {
+            return current;
+        }
+        return draw(current, targetWidth, targetHeight);
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(Math.max(1, width), Math.max(1, height), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, target.getWidth(), target.getHeight());
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, target.getWidth(), target.getHeight(), null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private static void write(BufferedImage image, String format, Path target) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext()) {
+            throw new IOException("No ImageIO writer for " + format);
+        }
+        ImageWriter writer = writers.next();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (param.getCompressionTypes() != null && param.getCompressionType() == null) {
+                    param.setCompressionType(param.getCompressionTypes()[0]);
+                }
+                param.setCompressionQuality(JPEG_QUALITY);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,47 @@
+package com.beam;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * 이미 정렬된 여러 iterator를 하나의 정렬된 iterator로 합침 (k-way merge)
+ * - 각 source에서 현재 head 하나씩만 힙에 유지 → 다음 원소가 필요할 때만 source를 읽음
+ * - 호출자가 읽기를 멈추면 남은 source는 더 이상 읽지 않음
+ */
+final class MergingIterator<T> implements Iterator<T> {
+
+    private final PriorityQueue<Head<T>> heads;
+
+    MergingIterator(List<? extends Iterator<T>> sources, Comparator<? super T> order) {
+        this.heads = new PriorityQueue<>(Math.max(1, sources.size()),
+            (a, b) -> order.compare(a.value, b.value));
+        for (Iterator<T> source : sources) {
+            if (source.hasNext()) {
+                heads.add(new Head<>(source.next(), source));
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        Head<T> head = heads.poll();
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+        if (head.source.hasNext()) {
+            heads.add(new Head<>(head.source.next(), head.source));
+        }
+        return head.value;
+    }
+
+    private record Head<T>(T value, Iterator<T> source) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.beam;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 메시지 히스토리 keyset 페이지네이션 커서 (timestamp, id)
+ * - 클라이언트에는 URL-safe Base64 문자열로 전달 (내부 형식에 의존하지 않도록)
+ * - timestamp가 같은 메시지는 id로 순서를 구분
+ */
+public final class MessageCursor {
+
+    private final LocalDateTime timestamp;
+    private final long id;
+
+    private MessageCursor(LocalDateTime timestamp, long id) {
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    public static MessageCursor of(LocalDateTime timestamp, Long id) {
+        return new MessageCursor(timestamp, id);
+    }
+
+    /**
+     * @throws IllegalArgumentException 잘못된 커서 문자열
+     */
+    public static MessageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new MessageCursor(
+                LocalDateTime.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
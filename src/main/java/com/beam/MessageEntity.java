@@ -2,9 +2,12 @@ package com.beam;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+    @Index(name = "idx_messages_room_timestamp_id", columnList = "room_id,timestamp,id")
+})
 public class MessageEntity {
     
     @Id
@@ -55,13 +58,18 @@ public class MessageEntity {
         this.content = content;
         this.roomId = roomId;
         this.messageType = messageType;
-        this.timestamp = LocalDateTime.now();
+        // DB 컬럼 정밀도(마이크로초)에 맞춰 메모리 캐시와 DB에서 만든 커서가 같도록 함
+        this.timestamp = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 
     public Long getId() {
         return id;
     }
 
+    public MessageCursor toCursor() {
+        return MessageCursor.of(timestamp, id);
+    }
+
     public void setId(Long id) {
         this.id = id;
     }
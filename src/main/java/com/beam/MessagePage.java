@@ -0,0 +1,93 @@
+package com.beam;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * keyset 페이지네이션 결과
+ * - items: 항상 오래된 순(오름차순)
+ * - beforeCursor: 더 오래된 페이지 요청용 (첫 항목 기준)
+ * - afterCursor: 더 최신 페이지 요청용 (마지막 항목 기준)
+ * - hasMore: 조회한 방향으로 더 가져올 메시지가 있는지
+ */
+public class MessagePage<T> {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 100;
+
+    private final List<T> items;
+    private final String beforeCursor;
+    private final String afterCursor;
+    private final boolean hasMore;
+
+    private MessagePage(List<T> items, String beforeCursor, String afterCursor, boolean hasMore) {
+        this.items = items;
+        this.beforeCursor = beforeCursor;
+        this.afterCursor = afterCursor;
+        this.hasMore = hasMore;
+    }
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * 최신순(내림차순)으로 limit + 1개 조회한 결과로 페이지 생성
+     */
+    public static <T> MessagePage<T> fromDescending(List<T> rows, int limit, Function<T, MessageCursor> cursorOf) {
+        boolean hasMore = rows.size() > limit;
+        List<T> items = new ArrayList<>(hasMore ? rows.subList(0, limit) : rows);
+        Collections.reverse(items);
+        return of(items, hasMore, cursorOf);
+    }
+
+    /**
+     * 오래된순(오름차순)으로 limit + 1개 조회한 결과로 페이지 생성
+     */
+    public static <T> MessagePage<T> fromAscending(List<T> rows, int limit, Function<T, MessageCursor> cursorOf) {
+        boolean hasMore = rows.size() > limit;
+        List<T> items = new ArrayList<>(hasMore ? rows.subList(0, limit) : rows);
+        return of(items, hasMore, cursorOf);
+    }
+
+    private static <T> MessagePage<T> of(List<T> items, boolean hasMore, Function<T, MessageCursor> cursorOf) {
+        if (items.isEmpty()) {
+            return new MessagePage<>(items, null, null, false);
+        }
+        return new MessagePage<>(
+            items,
+            cursorOf.apply(items.get(0)).encode(),
+            cursorOf.apply(items.get(items.size() - 1)).encode(),
+            hasMore
+        );
+    }
+
+    public <R> MessagePage<R> map(Function<T, R> mapper) {
+        List<R> mapped = new ArrayList<>(items.size());
+        for (T item : items) {
+            mapped.add(mapper.apply(item));
+        }
+        return new MessagePage<>(mapped, beforeCursor, afterCursor, hasMore);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getBeforeCursor() {
+        return beforeCursor;
+    }
+
+    public String getAfterCursor() {
+        return afterCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
@@ -1,66 +0,0 @@
-package com.beam;
-
-import jakarta.persistence.*;
-import java.time.LocalDateTime;
-
-@Entity
-@Table(name = "message_read_receipts", uniqueConstraints = {
-    @UniqueConstraint(columnNames = {"message_id", "user_id"})
-})
-public class MessageReadReceipt {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @Column(name = "message_id", nullable = false)
-    private Long messageId;
-
-    @Column(name = "user_id", nullable = false)
-    private Long userId;
-
-    @Column(name = "read_at", nullable = false)
-    private LocalDateTime readAt;
-
-    public MessageReadReceipt() {
-        this.readAt = LocalDateTime.now();
-    }
-
-    public MessageReadReceipt(Long messageId, Long userId) {
-        this.messageId = messageId;
-        this.userId = userId;
-        this.readAt = LocalDateTime.now();
-    }
-
-    public Long getId() {
-        return id;
-    }
-
-    public void setId(Long id) {
-        this.id = id;
-    }
-
-    public Long getMessageId() {
-        return messageId;
-    }
-
-    public void setMessageId(Long messageId) {
-        this.messageId = messageId;
-    }
-
-    public Long getUserId() {
-        return userId;
-    }
-
-    public void setUserId(Long userId) {
-        this.userId = userId;
-    }
-
-    public LocalDateTime getReadAt() {
-        return readAt;
-    }
-
-    public void setReadAt(LocalDateTime readAt) {
-        this.readAt = readAt;
-    }
-}
@@ -1,5 +1,6 @@
 package com.beam;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -7,15 +8,43 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface MessageRepository extends JpaRepository<MessageEntity, Long> {
+public interface MessageRepository extends JpaRepository<MessageEntity, Long>, MessageRepositoryCustom {
     
     @Query("SELECT m FROM MessageEntity m WHERE m.roomId = :roomId ORDER BY m.timestamp DESC LIMIT 50")
     List<MessageEntity> findTop50ByRoomIdOrderByTimestampDesc(@Param("roomId") String roomId);
     
     List<MessageEntity> findByRoomIdOrderByTimestampAsc(String roomId);
 
+    Optional<MessageEntity> findFirstByRoomIdOrderByTimestampDescIdDesc(String roomId);
+
+    // keyset 페이지네이션: (timestamp, id) 커서 기준, limit은 Pageable로 전달
+    @Query("SELECT m FROM MessageEntity m WHERE m.roomId = :roomId AND m.isDeleted = false " +
+           "ORDER BY m.timestamp DESC, m.id DESC")
+    List<MessageEntity> findLatestPage(@Param("roomId") String roomId, Pageable pageable);
+
+    @Query("SELECT m FROM MessageEntity m WHERE m.roomId = :roomId AND m.isDeleted = false " +
+           "AND (m.timestamp < :timestamp OR (m.timestamp = :timestamp AND m.id < :id)) " +
+           "ORDER BY m.timestamp DESC, m.id DESC")
+    List<MessageEntity> findPageBefore(@Param("roomId") String roomId, @Param("timestamp") LocalDateTime timestamp,
+                                  @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT m FROM MessageEntity m WHERE m.roomId = :roomId AND m.isDeleted = false " +
+           "AND (m.timestamp > :timestamp OR (m.timestamp = :timestamp AND m.id > :id)) " +
+           "ORDER BY m.timestamp ASC, m.id ASC")
+    List<MessageEntity> findPageAfter(@Param("roomId") String roomId, @Param("timestamp") LocalDateTime timestamp,
+                                 @Param("id") Long id, Pageable pageable);
+
+    // 안읽은 메시지 수 - (room_id, timestamp) 인덱스 범위 조회
+    @Query("SELECT COUNT(m) FROM MessageEntity m WHERE m.roomId = :roomId " +
+           "AND m.timestamp > :since AND m.sender <> :username")
+    long countUnreadSince(@Param("roomId") String roomId, @Param("since") LocalDateTime since,
+                          @Param("username") String username);
+
+    long countByRoomIdAndSenderNot(String roomId, String sender);
+
     // 보안 기능 제거로 인해 더 이상 사용하지 않음 (필요시 재활성화 가능)
     // List<MessageEntity> findByExpiresAtBefore(LocalDateTime dateTime);
     // List<MessageEntity> findBySecurityTypeAndTimestampBefore(MessageSecurityType securityType, LocalDateTime dateTime);
@@ -0,0 +1,14 @@
+package com.beam;
+
+import java.util.List;
+
+/**
+ * MessageRepository 확장 - JPA를 거치지 않는 대량 처리용 메서드
+ */
+public interface MessageRepositoryCustom {
+
+    /**
+     * ID가 이미 부여된 메시지들을 JDBC batch로 한 번에 INSERT
+     */
+    int[] batchInsert(List<MessageEntity> messages);
+}
@@ -0,0 +1,46 @@
+package com.beam;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * MessageRepositoryCustom 구현체
+ * - IDENTITY 전략은 Hibernate batch insert를 막기 때문에 JdbcTemplate.batchUpdate 사용
+ */
+public class MessageRepositoryImpl implements MessageRepositoryCustom {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO messages (id, user_id, sender, content, room_id, message_type, timestamp, " +
+        "security_type, file_url, file_name, file_size, is_deleted) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MessageRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int[] batchInsert(List<MessageEntity> messages) {
+        if (messages.isEmpty()) {
+            return new int[0];
+        }
+        return jdbcTemplate.batchUpdate(INSERT_SQL, messages, messages.size(), (ps, message) -> {
+            ps.setLong(1, message.getId());
+            ps.setObject(2, message.getUserId(), Types.BIGINT);
+            ps.setString(3, message.getSender());
+            ps.setString(4, message.getContent());
+            ps.setString(5, message.getRoomId());
+            ps.setString(6, message.getMessageType());
+            ps.setTimestamp(7, Timestamp.valueOf(message.getTimestamp()));
+            ps.setString(8, message.getSecurityType().name());
+            ps.setString(9, message.getFileUrl());
+            ps.setString(10, message.getFileName());
+            ps.setObject(11, message.getFileSize(), Types.BIGINT);
+            ps.setBoolean(12, Boolean.TRUE.equals(message.getIsDeleted()));
+        })[0];
+    }
+}
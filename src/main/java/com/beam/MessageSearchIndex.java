@@ -0,0 +1,509 @@
+package com.beam;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Message Search Index
+ *
+ * <p>Incrementally maintained inverted index over group and direct message content,
+ * stored as immutable segment files under search.index.dir.
+ *
+ * <h3>Structure:</h3>
+ * <ul>
+ *   <li>Tokens: Korean-aware unigram/bigram n-grams (see {@link SearchTokenizer})</li>
+ *   <li>Memtable: newly sent messages are indexed in memory and flushed to a new segment
+ *       every search.index.flush-threshold documents</li>
+ *   <li>Segments: documents numbered by (timestamp, id), so postings are read newest-first and
+ *       a query stops as soon as its top-k cannot improve</li>
+ *   <li>Merging: when more than search.index.max-segments exist, the smallest are merged by
+ *       streaming them in document order; a merge never produces a segment larger than
+ *       search.index.max-segment-bytes (segments are mapped with int offsets, so under 2 GB)</li>
+ * </ul>
+ *
+ * <h3>Lifecycle:</h3>
+ * <ul>
+ *   <li>First start: the index is built from the database in the background</li>
+ *   <li>Restart: segments listed in the manifest are opened and messages newer than the
+ *       last flushed one (minus a safety margin) are re-indexed</li>
+ *   <li>Shutdown: the memtable is flushed</li>
+ * </ul>
+ *
+ * <p>The index is node-local: it only sees messages sent through this node (REST/STOMP).
+ * In a multi-node deployment use search.backend=database or run a single search node.
+ *
+ * <p>The index stores no message content. Callers re-check candidates against the database,
+ * which also drops deleted messages and bigram false positives.
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ *   <li>beam_search_index_documents - Indexed documents (segments + memtable)</li>
+ *   <li>beam_search_index_segments - Segment files</li>
+ *   <li>beam_search_query_seconds - Index lookup latency</li>
+ *   <li>beam_search_index_flush_seconds - Memtable flush / merge latency</li>
+ * </ul>
+ *
+ * @since 1.2.0
+ */
+@Service
+public class MessageSearchIndex {
+
+    private static final String MANIFEST = "manifest.properties";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".idx";
+    private static final int BATCH_SIZE = 1000;
+    // 재시작 시 마지막으로 기록된 메시지보다 이만큼 이전부터 다시 색인 (커밋 순서 역전 대비)
+    private static final long CATCH_UP_MARGIN_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final GroupMessageRepository groupMessageRepository;
+    private final DirectMessageRepository directMessageRepository;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int flushThreshold;
+    private final int maxSegments;
+    private final int maxMergeDocuments;
+    private final long maxSegmentBytes;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<IndexSegment> segments = new CopyOnWriteArrayList<>();
+    // lock으로 보호
+    private IndexMemtable active = new IndexMemtable();
+    private final List<IndexMemtable> flushing = new ArrayList<>();
+
+    private final ExecutorService indexer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "beam-search-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private volatile boolean ready;
+    private volatile boolean stopping;
+
+    // indexer 스레드에서만 변경
+    private boolean backfillComplete;
+    private long nextSegment = 1;
+
+    private final Timer queryTimer;
+    private final Timer flushTimer;
+
+    public MessageSearchIndex(
+            GroupMessageRepository groupMessageRepository,
+            DirectMessageRepository directMessageRepository,
+            MeterRegistry meterRegistry,
+            @Value("${search.index.enabled:true}") boolean enabled,
+            @Value("${search.index.dir:data/search-index}") String directory,
+            @Value("${search.index.flush-threshold:10000}") int flushThreshold,
+            @Value("${search.index.max-segments:16}") int maxSegments,
+            @Value("${search.index.max-merge-documents:5000000}") int maxMergeDocuments,
+            @Value("${search.index.max-segment-bytes:1073741824}") long maxSegmentBytes) {
+        this.groupMessageRepository = groupMessageRepository;
+        this.directMessageRepository = directMessageRepository;
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.flushThreshold = flushThreshold;
+        this.maxSegments = maxSegments;
+        this.maxMergeDocuments = maxMergeDocuments;
+        this.maxSegmentBytes = Math.min(maxSegmentBytes, IndexSegmentWriter.MAX_SEGMENT_BYTES);
+
+        Gauge.builder("beam_search_index_documents", this, MessageSearchIndex::countDocuments)
+                .description("Messages in the search index")
+                .register(meterRegistry);
+
+        Gauge.builder("beam_search_index_segments", segments, List::size)
+                .description("Search index segment files")
+                .register(meterRegistry);
+
+        queryTimer = Timer.builder("beam_search_query_seconds")
+                .description("Search index lookup latency")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+
+        flushTimer = Timer.builder("beam_search_index_flush_seconds")
+                .description("Search index flush and merge latency")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        indexer.execute(this::open);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 초기 색인(백필) 또는 재시작 후 따라잡기가 끝났는지. false인 동안은 검색 결과가 불완전할 수 있음
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void index(GroupMessageEntity message) {
+        if (enabled && !Boolean.TRUE.equals(message.getIsDeleted())) {
+            add(SearchDocument.of(message), SearchTokenizer.documentTokens(message.getContent()));
+        }
+    }
+
+    public void index(DirectMessageEntity message) {
+        if (enabled && !Boolean.TRUE.equals(message.getIsDeleted())) {
+            add(SearchDocument.of(message), SearchTokenizer.documentTokens(message.getContent()));
+        }
+    }
+
+    /**
+     * 키워드의 모든 n-gram을 포함하는 문서 중 최신순 상위 limit개 (후보)
+     *
+     * @param scopes 사용자가 접근 가능한 방/대화 scope ({@link SearchDocument#roomScope}, {@link SearchDocument#conversationScope})
+     * @param before 이 커서보다 오래된 문서만 (null이면 최신부터)
+     */
+    public List<SearchDocument> search(String keyword, Set<String> scopes, MessageCursor before, int limit) {
+        List<String> tokens = SearchTokenizer.queryTokens(keyword);
+        if (!enabled || tokens.isEmpty() || scopes.isEmpty()) {
+            return List.of();
+        }
+        SearchQuery query = new SearchQuery(tokens, scopes, before);
+        return queryTimer.record(() -> {
+            SearchTopHits hits = new SearchTopHits(limit);
+            List<IndexSegment> snapshot;
+            lock.readLock().lock();
+            try {
+                active.collect(query, hits);
+                for (IndexMemtable memtable : flushing) {
+                    memtable.collect(query, hits);
+                }
+                snapshot = new ArrayList<>(segments);
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            // 최신 세그먼트부터 - 남은 세그먼트가 상위 k에 들 수 없으면 중단
+            snapshot.sort(Comparator.comparingLong(IndexSegment::getMaxTimestampMicros).reversed());
+            for (IndexSegment segment : snapshot) {
+                if (hits.isSaturatedBefore(segment.getMaxTimestampMicros())) {
+                    break;
+                }
+                segment.collect(query, hits);
+            }
+            return hits.toList();
+        });
+    }
+
+    private void add(SearchDocument document, Set<String> tokens) {
+        if (tokens.isEmpty()) {
+            return;
+        }
+        boolean full;
+        lock.writeLock().lock();
+        try {
+            active.add(document, tokens);
+            full = active.size() >= flushThreshold;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (full && flushScheduled.compareAndSet(false, true)) {
+            indexer.execute(this::flushQuietly);
+        }
+    }
+
+    private long countDocuments() {
+        long count = segments.stream().mapToLong(IndexSegment::getDocumentCount).sum();
+        lock.readLock().lock();
+        try {
+            count += active.size();
+            for (IndexMemtable memtable : flushing) {
+                count += memtable.size();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return count;
+    }
+
+    // ===== indexer 스레드 작업 =====
+
+    private void open() {
+        try {
+            Files.createDirectories(directory);
+            Properties manifest = readManifest();
+            backfillComplete = Boolean.parseBoolean(manifest.getProperty("backfillComplete", "false"));
+
+            if (backfillComplete) {
+                nextSegment = Long.parseLong(manifest.getProperty("nextSegment", "1"));
+                for (String name : manifest.getProperty("segments", "").split(",")) {
+                    if (!name.isBlank()) {
+                        segments.add(IndexSegment.open(directory.resolve(name.trim())));
+                    }
+                }
+                long lastIndexed = segments.stream().mapToLong(IndexSegment::getMaxTimestampMicros).max().orElse(0L);
+                LocalDateTime since = SearchDocument.fromMicros(Math.max(0L, lastIndexed - CATCH_UP_MARGIN_MICROS));
+                indexFromDatabase(since);
+                System.out.println("메시지 검색 색인 로드 완료 (세그먼트 " + segments.size() + "개)");
+            } else {
+                resetDirectory();
+                System.out.println("메시지 검색 색인 생성 시작");
+                indexFromDatabase(EPOCH);
+                if (stopping) {
+                    return;
+                }
+                flush();
+                backfillComplete = true;
+                writeManifest();
+                System.out.println("메시지 검색 색인 생성 완료 (" + countDocuments() + "건)");
+            }
+            ready = true;
+        } catch (IOException | RuntimeException e) {
+            // 색인이 손상된 경우 다음 시작 시 처음부터 다시 생성
+            System.err.println("메시지 검색 색인 초기화 실패: " + e.getMessage());
+            backfillComplete = false;
+            segments.clear();
+            try {
+                writeManifest();
+            } catch (IOException ignored) {
+                // 다음 시작 시 manifest가 없으면 어차피 다시 생성
+            }
+        }
+    }
+
+    private void indexFromDatabase(LocalDateTime since) throws IOException {
+        LocalDateTime timestamp = since;
+        long id = 0L;
+        while (!stopping) {
+            List<GroupMessageEntity> batch = groupMessageRepository.findIndexBatch(timestamp, id, PageRequest.of(0, BATCH_SIZE));
+            for (GroupMessageEntity message : batch) {
+                index(message);
+            }
+            flushIfFull();
+            if (batch.size() < BATCH_SIZE) {
+                break;
+            }
+            GroupMessageEntity last = batch.get(batch.size() - 1);
+            timestamp = last.getTimestamp();
+            id = last.getId();
+        }
+
+        timestamp = since;
+        id = 0L;
+        while (!stopping) {
+            List<DirectMessageEntity> batch = directMessageRepository.findIndexBatch(timestamp, id, PageRequest.of(0, BATCH_SIZE));
+            for (DirectMessageEntity message : batch) {
+                index(message);
+            }
+            flushIfFull();
+            if (batch.size() < BATCH_SIZE) {
+                break;
+            }
+            DirectMessageEntity last = batch.get(batch.size() - 1);
+            timestamp = last.getTimestamp();
+            id = last.getId();
+        }
+    }
+
+    private void flushIfFull() throws IOException {
+        boolean full;
+        lock.readLock().lock();
+        try {
+            full = active.size() >= flushThreshold;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (full) {
+            flush();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("메시지 검색 색인 flush 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 현재 memtable을 세그먼트 파일로 기록. 실패한 memtable은 검색 가능한 상태로 남겨 두고 다음 flush에서 재시도
+     */
+    private void flush() throws IOException {
+        List<IndexMemtable> pending;
+        lock.writeLock().lock();
+        try {
+            flushScheduled.set(false);
+            if (active.size() > 0) {
+                flushing.add(active);
+                active = new IndexMemtable();
+            }
+            pending = new ArrayList<>(flushing);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        for (IndexMemtable memtable : pending) {
+            Path path = nextSegmentPath();
+            memtable.writeTo(path);
+            IndexSegment segment = IndexSegment.open(path);
+
+            lock.writeLock().lock();
+            try {
+                segments.add(segment);
+                flushing.remove(memtable);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        writeManifest();
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        mergeIfNeeded();
+    }
+
+    /**
+     * 세그먼트가 너무 많으면 가장 작은 것들부터 병합 (문서 수/파일 크기 상한 내에서)
+     * - 병합 결과는 입력 파일 크기 합을 넘지 않으므로 합이 상한 이하인 것만 묶고, 상한에 닿은 세그먼트는 그대로 둠
+     */
+    private void mergeIfNeeded() throws IOException {
+        if (segments.size() <= maxSegments) {
+            return;
+        }
+        List<IndexSegment> candidates = new ArrayList<>(segments);
+        candidates.sort(Comparator.comparingInt(IndexSegment::getDocumentCount));
+
+        List<IndexSegment> selected = new ArrayList<>();
+        long documents = 0;
+        long bytes = 0;
+        for (IndexSegment segment : candidates) {
+            if (selected.size() >= Math.max(2, maxSegments / 2)
+                    || documents + segment.getDocumentCount() > maxMergeDocuments) {
+                break;
+            }
+            if (bytes + segment.getSizeBytes() > maxSegmentBytes) {
+                continue;
+            }
+            selected.add(segment);
+            documents += segment.getDocumentCount();
+            bytes += segment.getSizeBytes();
+        }
+        if (selected.size() < 2) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        Path path = nextSegmentPath();
+        IndexSegmentWriter.merge(path, selected);
+        IndexSegment merged = IndexSegment.open(path);
+
+        lock.writeLock().lock();
+        try {
+            segments.removeAll(selected);
+            segments.add(merged);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        writeManifest();
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        for (IndexSegment segment : selected) {
+            try {
+                // mmap된 버퍼는 GC 전까지 유효하므로 진행 중인 검색에는 영향 없음
+                Files.deleteIfExists(segment.getPath());
+            } catch (IOException e) {
+                System.err.println("병합된 색인 세그먼트 삭제 실패: " + segment.getPath() + " - " + e.getMessage());
+            }
+        }
+    }
+
+    private Path nextSegmentPath() {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, nextSegment++, SEGMENT_SUFFIX));
+    }
+
+    private Properties readManifest() throws IOException {
+        Properties manifest = new Properties();
+        Path path = directory.resolve(MANIFEST);
+        if (Files.exists(path)) {
+            try (InputStream in = Files.newInputStream(path)) {
+                manifest.load(in);
+            }
+        }
+        return manifest;
+    }
+
+    private void writeManifest() throws IOException {
+        Properties manifest = new Properties();
+        manifest.setProperty("backfillComplete", String.valueOf(backfillComplete));
+        manifest.setProperty("nextSegment", String.valueOf(nextSegment));
+        manifest.setProperty("segments", segments.stream()
+            .map(segment -> segment.getPath().getFileName().toString())
+            .collect(Collectors.joining(",")));
+
+        Path tmp = directory.resolve(MANIFEST + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            manifest.store(out, "BEAM message search index");
+        }
+        Files.move(tmp, directory.resolve(MANIFEST), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void resetDirectory() throws IOException {
+        segments.clear();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(directory.resolve(MANIFEST));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        stopping = true;
+        indexer.shutdown();
+        if (!indexer.awaitTermination(10, TimeUnit.SECONDS)) {
+            indexer.shutdownNow();
+            return;
+        }
+        // 백필이 끝나지 않았다면 다음 시작 시 처음부터 다시 생성하므로 flush 불필요
+        if (backfillComplete) {
+            flushQuietly();
+            System.out.println("메시지 검색 색인 flush 완료");
+        }
+    }
+}
@@ -1,14 +1,30 @@
 package com.beam;
 
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * 메시지 검색
+ * - 후보는 {@link SearchBackend}에서 최신순 상위 k개만 조회 (히스토리 크기와 무관)
+ * - 후보 메시지만 DB에서 일괄 조회해 삭제 여부/실제 부분 문자열 일치를 재확인
+ * - 결과는 최신순, nextCursor로 다음(더 오래된) 페이지 조회
+ * - {@link #openStream}: DM/방 후보를 각각 지연 iterator로 읽고 k-way merge, limit에 도달하면 읽기 중단
+ */
 @Service
 public class MessageSearchService {
 
+    // 재확인에서 탈락한 후보를 채우기 위한 추가 조회 횟수 상한
+    private static final int MAX_ROUNDS = 4;
+    // 스트리밍: 첫 배치는 작게 해서 첫 결과를 빨리 보내고 이후 배치는 키움
+    private static final int FIRST_STREAM_BATCH = 8;
+    private static final int STREAM_BATCH = 32;
+
     @Autowired
     private DirectMessageRepository directMessageRepository;
 
@@ -16,99 +32,240 @@ public class MessageSearchService {
     private GroupMessageRepository groupMessageRepository;
 
     @Autowired
-    private ConversationRepository conversationRepository;
+    private List<SearchBackend> searchBackends;
 
     @Autowired
-    private RoomMemberRepository roomMemberRepository;
+    private UserProfileLoader userProfileLoader;
 
-    @Autowired
-    private UserRepository userRepository;
+    @Value("${search.backend:index}")
+    private String backendName;
 
-    public List<Map<String, Object>> searchDirectMessages(Long userId, String keyword) {
-        List<ConversationEntity> userConversations = conversationRepository.findUserConversations(userId);
+    private SearchBackend backend;
 
-        List<Map<String, Object>> results = new ArrayList<>();
+    @PostConstruct
+    public void init() {
+        backend = searchBackends.stream()
+            .filter(candidate -> candidate.getName().equalsIgnoreCase(backendName))
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("Unknown search.backend: " + backendName));
+        backend.activate();
+    }
 
-        for (ConversationEntity conversation : userConversations) {
-            List<DirectMessageEntity> messages = directMessageRepository
-                .findByConversationIdOrderByTimestampAsc(conversation.getConversationId());
+    /**
+     * @param type   "DM", "ROOM" 또는 null(전체)
+     * @param before 이전 페이지의 nextCursor (null이면 최신부터)
+     */
+    public SearchResultPage search(Long userId, String keyword, String type, String before, Integer limit) {
+        int size = MessagePage.clampLimit(limit);
+        String needle = SearchTokenizer.normalize(keyword);
+        MessageCursor cursor = before != null ? MessageCursor.decode(before) : null;
 
-            List<DirectMessageEntity> matchedMessages = messages.stream()
-                .filter(msg -> msg.getContent().toLowerCase().contains(keyword.toLowerCase()))
-                .collect(Collectors.toList());
+        List<SearchDocument> accepted = new ArrayList<>();
+        Map<String, Object> entities = new HashMap<>();
+        for (int round = 0; round < MAX_ROUNDS && accepted.size() <= size; round++) {
+            int requested = (size + 1 - accepted.size()) * 2;
+            List<SearchDocument> candidates = backend.search(userId, keyword, type, cursor, requested);
+            verify(candidates, needle, accepted, entities);
+            if (candidates.size() < requested) {
+                break;
+            }
+            cursor = candidates.get(candidates.size() - 1).toCursor();
+        }
 
-            for (DirectMessageEntity message : matchedMessages) {
-                Long otherUserId = message.getSenderId().equals(userId)
-                    ? message.getReceiverId()
-                    : message.getSenderId();
+        boolean hasMore = accepted.size() > size;
+        List<SearchDocument> page = hasMore ? accepted.subList(0, size) : accepted;
+        return new SearchResultPage(
+            toResults(userId, page, entities),
+            hasMore ? page.get(page.size() - 1).toCursor().encode() : null,
+            hasMore,
+            backend.isReady()
+        );
+    }
 
-                Optional<UserEntity> otherUser = userRepository.findById(otherUserId);
+    /**
+     * 스트리밍 검색 - 반환 시점에는 아무것도 조회하지 않고, 결과를 읽는 만큼만 후보를 가져옴
+     *
+     * @param type   "DM", "ROOM" 또는 null(전체)
+     * @param before 이전 응답의 nextCursor (null이면 최신부터)
+     */
+    public ResultStream openStream(Long userId, String keyword, String type, String before, Integer limit) {
+        int size = MessagePage.clampLimit(limit);
+        MessageCursor cursor = before != null ? MessageCursor.decode(before) : null;
 
-                Map<String, Object> result = new HashMap<>();
-                result.put("type", "DM");
-                result.put("messageId", message.getId());
-                result.put("conversationId", message.getConversationId());
-                result.put("content", message.getContent());
-                result.put("senderId", message.getSenderId());
-                result.put("timestamp", message.getTimestamp().toString());
-                result.put("otherUserId", otherUserId);
-                result.put("otherUserName", otherUser.map(UserEntity::getDisplayName).orElse("Unknown"));
-                result.put("isMine", message.getSenderId().equals(userId));
+        List<SearchSourceIterator> sources = new ArrayList<>();
+        if (!"ROOM".equalsIgnoreCase(type)) {
+            sources.add(new SearchSourceIterator(backend, userId, keyword, "DM", cursor, Math.min(size + 1, STREAM_BATCH)));
+        }
+        if (!"DM".equalsIgnoreCase(type)) {
+            sources.add(new SearchSourceIterator(backend, userId, keyword, "ROOM", cursor, Math.min(size + 1, STREAM_BATCH)));
+        }
+        return new ResultStream(userId, SearchTokenizer.normalize(keyword), size, sources);
+    }
+
+    /**
+     * 최신순 검색 결과 iterator. 재확인/사용자 정보 조회는 작은 배치 단위로 수행
+     */
+    public final class ResultStream implements Iterator<Map<String, Object>> {
+
+        private final Long userId;
+        private final String needle;
+        private final int limit;
+        private final List<SearchSourceIterator> sources;
+        private Iterator<SearchDocument> candidates;
+        private final Deque<Map<String, Object>> results = new ArrayDeque<>();
+        private final Deque<SearchDocument> documents = new ArrayDeque<>();
+        private SearchDocument last;
+        private int emitted;
+
+        private ResultStream(Long userId, String needle, int limit, List<SearchSourceIterator> sources) {
+            this.userId = userId;
+            this.needle = needle;
+            this.limit = limit;
+            this.sources = sources;
+        }
 
-                results.add(result);
+        @Override
+        public boolean hasNext() {
+            if (emitted >= limit) {
+                return false;
             }
+            // source의 첫 페이지 조회도 첫 hasNext() 시점으로 미룸
+            if (candidates == null) {
+                candidates = new MergingIterator<>(sources, SearchDocument.NEWEST_FIRST);
+            }
+            while (results.isEmpty() && candidates.hasNext()) {
+                int batchSize = Math.min(limit - emitted, emitted == 0 ? FIRST_STREAM_BATCH : STREAM_BATCH);
+                List<SearchDocument> batch = new ArrayList<>(batchSize);
+                while (batch.size() < batchSize && candidates.hasNext()) {
+                    batch.add(candidates.next());
+                }
+                List<SearchDocument> accepted = new ArrayList<>();
+                Map<String, Object> entities = new HashMap<>();
+                verify(batch, needle, accepted, entities);
+                documents.addAll(accepted);
+                results.addAll(toResults(userId, accepted, entities));
+            }
+            return !results.isEmpty();
         }
 
-        return results;
+        @Override
+        public Map<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            emitted++;
+            last = documents.poll();
+            return results.poll();
+        }
+
+        /**
+         * limit에서 멈췄고 뒤에 결과가 더 있을 수 있으면 이어서 조회할 커서, 아니면 null
+         */
+        public String getNextCursor() {
+            if (emitted < limit || last == null) {
+                return null;
+            }
+            return !results.isEmpty() || candidates.hasNext() ? last.toCursor().encode() : null;
+        }
+
+        public boolean isIndexReady() {
+            return backend.isReady();
+        }
     }
 
-    public List<Map<String, Object>> searchRoomMessages(Long userId, String keyword) {
-        List<RoomMemberEntity> memberships = roomMemberRepository.findByUserIdAndIsActiveTrue(userId);
+    // 후보 메시지를 종류별로 한 번씩 조회해서 삭제되지 않았고 실제로 키워드를 포함하는 것만 남김
+    private void verify(List<SearchDocument> candidates, String needle,
+                        List<SearchDocument> accepted, Map<String, Object> entities) {
+        Map<Long, DirectMessageEntity> directMessages = load(candidates, SearchDocument.Kind.DM,
+            directMessageRepository::findAllById, DirectMessageEntity::getId);
+        Map<Long, GroupMessageEntity> groupMessages = load(candidates, SearchDocument.Kind.ROOM,
+            groupMessageRepository::findAllById, GroupMessageEntity::getId);
 
-        List<Map<String, Object>> results = new ArrayList<>();
+        for (SearchDocument candidate : candidates) {
+            if (entities.containsKey(candidate.key())) {
+                continue;
+            }
+            String content;
+            Object entity;
+            if (candidate.getKind() == SearchDocument.Kind.DM) {
+                DirectMessageEntity message = directMessages.get(candidate.getMessageId());
+                if (message == null || Boolean.TRUE.equals(message.getIsDeleted())) {
+                    continue;
+                }
+                content = message.getContent();
+                entity = message;
+            } else {
+                GroupMessageEntity message = groupMessages.get(candidate.getMessageId());
+                if (message == null || Boolean.TRUE.equals(message.getIsDeleted())) {
+                    continue;
+                }
+                content = message.getContent();
+                entity = message;
+            }
+            if (content != null && SearchTokenizer.normalize(content).contains(needle)) {
+                accepted.add(candidate);
+                entities.put(candidate.key(), entity);
+            }
+        }
+    }
 
-        for (RoomMemberEntity membership : memberships) {
-            List<GroupMessageEntity> messages = groupMessageRepository
-                .findByRoomIdAndIsDeletedFalseOrderByTimestampAsc(membership.getRoomId());
+    private static <T> Map<Long, T> load(List<SearchDocument> candidates, SearchDocument.Kind kind,
+                                         Function<List<Long>, List<T>> finder, Function<T, Long> idOf) {
+        List<Long> ids = candidates.stream()
+            .filter(candidate -> candidate.getKind() == kind)
+            .map(SearchDocument::getMessageId)
+            .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return finder.apply(ids).stream().collect(Collectors.toMap(idOf, Function.identity()));
+    }
 
-            List<GroupMessageEntity> matchedMessages = messages.stream()
-                .filter(msg -> msg.getContent().toLowerCase().contains(keyword.toLowerCase()))
-                .collect(Collectors.toList());
+    private List<Map<String, Object>> toResults(Long userId, List<SearchDocument> page, Map<String, Object> entities) {
+        Set<Long> userIds = new HashSet<>();
+        for (SearchDocument document : page) {
+            Object entity = entities.get(document.key());
+            if (entity instanceof DirectMessageEntity message) {
+                userIds.add(message.getSenderId().equals(userId) ? message.getReceiverId() : message.getSenderId());
+            } else if (entity instanceof GroupMessageEntity message) {
+                userIds.add(message.getSenderId());
+            }
+        }
+        Map<Long, UserProfile> profiles = userProfileLoader.loadAll(userIds);
 
-            for (GroupMessageEntity message : matchedMessages) {
-                Optional<UserEntity> sender = userRepository.findById(message.getSenderId());
+        List<Map<String, Object>> results = new ArrayList<>(page.size());
+        for (SearchDocument document : page) {
+            Object entity = entities.get(document.key());
+            Map<String, Object> result = new HashMap<>();
+            if (entity instanceof DirectMessageEntity message) {
+                Long otherUserId = message.getSenderId().equals(userId)
+                    ? message.getReceiverId()
+                    : message.getSenderId();
+                Optional<UserProfile> otherUser = Optional.ofNullable(profiles.get(otherUserId));
 
-                Map<String, Object> result = new HashMap<>();
-                result.put("type", "ROOM");
+                result.put("type", "DM");
                 result.put("messageId", message.getId());
-                result.put("roomId", message.getRoomId());
+                result.put("conversationId", message.getConversationId());
                 result.put("content", message.getContent());
                 result.put("senderId", message.getSenderId());
-                result.put("senderName", sender.map(UserEntity::getDisplayName).orElse("Unknown"));
                 result.put("timestamp", message.getTimestamp().toString());
+                result.put("otherUserId", otherUserId);
+                result.put("otherUserName", otherUser.map(UserProfile::getDisplayName).orElse("Unknown"));
                 result.put("isMine", message.getSenderId().equals(userId));
+            } else if (entity instanceof GroupMessageEntity message) {
+                Optional<UserProfile> sender = Optional.ofNullable(profiles.get(message.getSenderId()));
 
-                results.add(result);
+                result.put("type", "ROOM");
+                result.put("messageId", message.getId());
+                result.put("roomId", String.valueOf(message.getRoomId()));
+                result.put("content", message.getContent());
+                result.put("senderId", message.getSenderId());
+                result.put("senderName", sender.map(UserProfile::getDisplayName).orElse("Unknown"));
+                result.put("timestamp", message.getTimestamp().toString());
+                result.put("isMine", message.getSenderId().equals(userId));
             }
+            results.add(result);
         }
-
         return results;
     }
-
-    public List<Map<String, Object>> searchAllMessages(Long userId, String keyword) {
-        List<Map<String, Object>> dmResults = searchDirectMessages(userId, keyword);
-        List<Map<String, Object>> roomResults = searchRoomMessages(userId, keyword);
-
-        List<Map<String, Object>> allResults = new ArrayList<>();
-        allResults.addAll(dmResults);
-        allResults.addAll(roomResults);
-
-        allResults.sort((a, b) -> {
-            String timeA = a.get("timestamp").toString();
-            String timeB = b.get("timestamp").toString();
-            return timeB.compareTo(timeA);
-        });
-
-        return allResults;
-    }
-}
\ No newline at end of file
+}
@@ -1,10 +1,14 @@
 package com.beam;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class MessageService {
@@ -13,8 +17,17 @@ public class MessageService {
     private MessageRepository messageRepository;
 
     @Autowired
-    private MessageReadReceiptRepository readReceiptRepository;
-    
+    private RoomReadStateRepository readStateRepository;
+
+    @Autowired
+    private MessageWriteBehindService writeBehindService;
+
+    @Autowired
+    private RecentMessageCache recentMessageCache;
+
+    /**
+     * 메시지 저장. write-behind 모드에서는 ID/시각만 부여하고 즉시 반환 (DB 반영은 백그라운드)
+     */
     public MessageEntity saveMessage(ChatMessage chatMessage) {
         MessageEntity entity = new MessageEntity(
             chatMessage.getSender(),
@@ -25,11 +38,44 @@ public class MessageService {
 
         entity.setSecurityType(chatMessage.getSecurityType());
 
-        return messageRepository.save(entity);
+        MessageEntity saved = writeBehindService.isEnabled()
+            ? writeBehindService.enqueue(entity)
+            : messageRepository.save(entity);
+        recentMessageCache.append(saved);
+        return saved;
     }
     
-    public List<MessageEntity> getRecentMessages(String roomId) {
-        return messageRepository.findTop50ByRoomIdOrderByTimestampDesc(roomId);
+    /**
+     * 채팅방 메시지 keyset 페이지 조회
+     * 최근 메시지 캐시로 답할 수 있는 페이지는 DB를 조회하지 않음
+     *
+     * @param before 이 커서보다 오래된 메시지 (null이면 최신 페이지)
+     * @param after  이 커서보다 최신 메시지 (지정 시 before보다 우선)
+     */
+    public MessagePage<MessageEntity> getMessagePage(String roomId, String before, String after, Integer limit) {
+        int size = MessagePage.clampLimit(limit);
+        Optional<MessagePage<MessageEntity>> cached = recentMessageCache.getPage(roomId, before, after, size);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        Pageable page = PageRequest.of(0, size + 1);
+
+        if (after != null) {
+            MessageCursor cursor = MessageCursor.decode(after);
+            return MessagePage.fromAscending(
+                messageRepository.findPageAfter(roomId, cursor.getTimestamp(), cursor.getId(), page),
+                size, MessageEntity::toCursor);
+        }
+
+        List<MessageEntity> rows;
+        if (before != null) {
+            MessageCursor cursor = MessageCursor.decode(before);
+            rows = messageRepository.findPageBefore(roomId, cursor.getTimestamp(), cursor.getId(), page);
+        } else {
+            rows = messageRepository.findLatestPage(roomId, page);
+        }
+        return MessagePage.fromDescending(rows, size, MessageEntity::toCursor);
     }
     
     public List<MessageEntity> getAllRoomMessages(String roomId) {
@@ -37,55 +83,76 @@ public class MessageService {
     }
 
     /**
-     * 메시지를 읽음 처리
+     * 메시지를 읽음 처리 - 해당 메시지까지 읽은 것으로 watermark 이동
      */
-    public MessageReadReceipt markMessageAsRead(Long messageId, Long userId) {
-        // 이미 읽음 표시가 있으면 그대로 반환
-        var existing = readReceiptRepository.findByMessageIdAndUserId(messageId, userId);
-        if (existing.isPresent()) {
-            return existing.get();
-        }
-
-        // 새로운 읽음 표시 생성
-        MessageReadReceipt receipt = new MessageReadReceipt(messageId, userId);
-        return readReceiptRepository.save(receipt);
+    public RoomReadStateEntity markMessageAsRead(Long messageId, Long userId) {
+        MessageEntity message = messageRepository.findById(messageId)
+            .orElseThrow(() -> new RuntimeException("Message not found"));
+        return advanceReadState(message, userId);
     }
 
     /**
      * 채팅방의 모든 메시지를 읽음 처리
+     * 메시지 수와 관계없이 최신 메시지 조회 + watermark 조회/저장의 고정 쿼리 수로 처리
      */
     public void markRoomMessagesAsRead(String roomId, Long userId, String username) {
-        List<MessageEntity> messages = messageRepository.findByRoomIdOrderByTimestampAsc(roomId);
-
-        for (MessageEntity message : messages) {
-            // 내가 보낸 메시지는 제외
-            if (!message.getSender().equals(username)) {
-                // 아직 읽지 않은 메시지만 읽음 처리
-                if (!readReceiptRepository.existsByMessageIdAndUserId(message.getId(), userId)) {
-                    markMessageAsRead(message.getId(), userId);
-                }
+        messageRepository.findFirstByRoomIdOrderByTimestampDescIdDesc(roomId)
+            .ifPresent(latest -> advanceReadState(latest, userId));
+    }
+
+    // 조회 후 저장(read-modify-save)하면 동시 요청이 더 최신 watermark를 덮어쓸 수 있으므로 조건부 UPDATE로 이동
+    private RoomReadStateEntity advanceReadState(MessageEntity message, Long userId) {
+        String roomId = message.getRoomId();
+        if (advanceWatermark(roomId, userId, message) == 0) {
+            Optional<RoomReadStateEntity> existing = readStateRepository.findByRoomIdAndUserId(roomId, userId);
+            if (existing.isPresent()) {
+                // 이미 같거나 더 최신 메시지까지 읽음
+                return existing.get();
+            }
+
+            RoomReadStateEntity state = new RoomReadStateEntity(roomId, userId);
+            state.advanceTo(message);
+            try {
+                return readStateRepository.save(state);
+            } catch (DataIntegrityViolationException e) {
+                // 같은 사용자의 동시 첫 읽음 처리 - 먼저 생성된 행을 조건부로 갱신
+                advanceWatermark(roomId, userId, message);
             }
         }
+        return readStateRepository.findByRoomIdAndUserId(roomId, userId)
+            .orElseThrow(() -> new RuntimeException("Read state not found"));
+    }
+
+    private int advanceWatermark(String roomId, Long userId, MessageEntity message) {
+        return readStateRepository.advanceWatermark(roomId, userId, message.getId(), message.getTimestamp(),
+            LocalDateTime.now());
     }
 
     /**
      * 채팅방의 안읽은 메시지 수 조회
      */
     public long getUnreadMessageCount(String roomId, Long userId, String username) {
-        return readReceiptRepository.countUnreadMessagesInRoom(roomId, userId, username);
+        return readStateRepository.findByRoomIdAndUserId(roomId, userId)
+            .map(state -> messageRepository.countUnreadSince(roomId, state.getLastReadAt(), username))
+            .orElseGet(() -> messageRepository.countByRoomIdAndSenderNot(roomId, username));
     }
 
     /**
      * 메시지를 읽은 사용자 수 조회
      */
     public long getReadCount(Long messageId) {
-        return readReceiptRepository.countByMessageId(messageId);
+        return messageRepository.findById(messageId)
+            .map(message -> readStateRepository.countReadersSince(message.getRoomId(), message.getTimestamp()))
+            .orElse(0L);
     }
 
     /**
      * 메시지 읽음 여부 확인
      */
     public boolean isMessageRead(Long messageId, Long userId) {
-        return readReceiptRepository.existsByMessageIdAndUserId(messageId, userId);
+        return messageRepository.findById(messageId)
+            .flatMap(message -> readStateRepository.findByRoomIdAndUserId(message.getRoomId(), userId)
+                .map(state -> !message.getTimestamp().isAfter(state.getLastReadAt())))
+            .orElse(false);
     }
-}
\ No newline at end of file
+}
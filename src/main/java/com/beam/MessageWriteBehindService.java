@@ -0,0 +1,334 @@
+package com.beam;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind Message Persistence
+ *
+ * <p>Optional mode (message.write-behind.enabled) that takes the JPA insert out of
+ * the WebSocket hot path. Messages get a server-assigned Snowflake id and timestamp,
+ * are broadcast immediately and appended to a bounded in-memory ring buffer. A single
+ * background flusher batch-inserts them into {@code messages} via
+ * {@link MessageRepository#batchInsert(List)} (JDBC batching).
+ *
+ * <h3>Durability:</h3>
+ * <ul>
+ *   <li>Maximum loss window: once the oldest buffered message is older than
+ *       message.write-behind.max-loss-window-ms, new messages are written synchronously
+ *       until the flusher catches up</li>
+ *   <li>Buffer full: the message is written synchronously instead of being dropped</li>
+ *   <li>Flush failure: after {@value #MAX_FLUSH_ATTEMPTS} attempts the batch is retried row by row;
+ *       rows that still fail stay queued for the next cycle (bounded by the buffer capacity, oldest
+ *       dropped first). Rows rejected by a constraint can never succeed and are dropped immediately</li>
+ *   <li>Shutdown: the remaining buffer is flushed before the application stops</li>
+ * </ul>
+ *
+ * <p>Disabled when a cross-node cluster bus (cluster.bus other than loopback) is active:
+ * unflushed messages live only in this node's memory, so a peer that evicts and re-warms
+ * its recent message cache from the database would miss them.</p>
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ *   <li>beam_message_write_behind_depth - Messages waiting to be flushed</li>
+ *   <li>beam_message_write_behind_flush_seconds - Batch flush latency</li>
+ *   <li>beam_message_write_behind_flushed_total - Messages persisted by the flusher</li>
+ *   <li>beam_message_write_behind_sync_fallback_total - Messages written synchronously</li>
+ *   <li>beam_message_write_behind_retry_depth - Messages re-queued after a failed flush</li>
+ *   <li>beam_message_write_behind_failed_total - Messages in failed flush or synchronous writes</li>
+ *   <li>beam_message_write_behind_dropped_total - Messages given up on (never persisted)</li>
+ * </ul>
+ *
+ * @since 1.2.0
+ */
+@Service
+public class MessageWriteBehindService {
+
+    private static final int MAX_FLUSH_ATTEMPTS = 3;
+
+    private final MessageRepository messageRepository;
+    private final SnowflakeIdGenerator idGenerator;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long maxLossWindowMs;
+    private final int capacity;
+    private final BlockingQueue<MessageEntity> buffer;
+    // flush 실패 후 다음 주기에 다시 저장할 메시지 (flusher 스레드 전용, 오래된 순)
+    private final Deque<MessageEntity> retry = new ArrayDeque<>();
+    private volatile int retryDepth;
+    // 버퍼 및 flush 중인 batch를 포함해 아직 DB에 커밋되지 않은 메시지 (커밋 후 제거)
+    private final Map<Long, MessageEntity> unflushed = new ConcurrentHashMap<>();
+
+    private final Timer flushTimer;
+    private final Counter flushedCounter;
+    private final Counter syncFallbackCounter;
+    private final Counter failedCounter;
+    private final Counter droppedCounter;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public MessageWriteBehindService(
+            MessageRepository messageRepository,
+            SnowflakeIdGenerator idGenerator,
+            MeterRegistry meterRegistry,
+            @Value("${message.write-behind.enabled:false}") boolean enabled,
+            @Value("${message.write-behind.capacity:10000}") int capacity,
+            @Value("${message.write-behind.batch-size:500}") int batchSize,
+            @Value("${message.write-behind.max-loss-window-ms:1000}") long maxLossWindowMs,
+            @Value("${cluster.bus:loopback}") String clusterBus) {
+        this.messageRepository = messageRepository;
+        this.idGenerator = idGenerator;
+        this.enabled = enabled && "loopback".equalsIgnoreCase(clusterBus);
+        if (enabled && !this.enabled) {
+            System.out.println("⚠️ 메시지 write-behind 비활성화: 클러스터 버스(" + clusterBus + ") 사용 중에는 동기 저장");
+        }
+        this.batchSize = batchSize;
+        this.maxLossWindowMs = maxLossWindowMs;
+        this.capacity = capacity;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+
+        Gauge.builder("beam_message_write_behind_depth", buffer, BlockingQueue::size)
+                .description("Messages buffered for write-behind persistence")
+                .register(meterRegistry);
+
+        Gauge.builder("beam_message_write_behind_retry_depth", this, service -> service.retryDepth)
+                .description("Messages re-queued after a failed write-behind flush")
+                .register(meterRegistry);
+
+        flushTimer = Timer.builder("beam_message_write_behind_flush_seconds")
+                .description("Write-behind batch flush latency")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+
+        flushedCounter = Counter.builder("beam_message_write_behind_flushed_total")
+                .description("Messages persisted by the write-behind flusher")
+                .register(meterRegistry);
+
+        syncFallbackCounter = Counter.builder("beam_message_write_behind_sync_fallback_total")
+                .description("Messages persisted synchronously because the buffer was full or lagging")
+                .register(meterRegistry);
+
+        failedCounter = Counter.builder("beam_message_write_behind_failed_total")
+                .description("Messages in failed write-behind flushes or synchronous writes")
+                .register(meterRegistry);
+
+        droppedCounter = Counter.builder("beam_message_write_behind_dropped_total")
+                .description("Broadcast messages the write-behind flusher gave up persisting")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::runFlusher, "beam-message-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        System.out.println("메시지 write-behind 모드 활성화 (batch=" + batchSize + ", lossWindow=" + maxLossWindowMs + "ms)");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 서버에서 ID/시각을 부여하고 버퍼에 추가. 즉시 반환되므로 호출자는 바로 브로드캐스트 가능
+     */
+    public MessageEntity enqueue(MessageEntity message) {
+        message.setId(idGenerator.nextId());
+        if (message.getTimestamp() == null) {
+            message.setTimestamp(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        }
+
+        unflushed.put(message.getId(), message);
+        if (isLagging() || !buffer.offer(message)) {
+            syncFallbackCounter.increment();
+            try {
+                persist(List.of(message));
+            } finally {
+                unflushed.remove(message.getId());
+            }
+        }
+        return message;
+    }
+
+    /**
+     * 아직 DB에 반영되지 않은 해당 방의 메시지 (순서 무관)
+     */
+    public List<MessageEntity> getUnflushed(String roomId) {
+        if (unflushed.isEmpty()) {
+            return List.of();
+        }
+        List<MessageEntity> messages = new ArrayList<>();
+        for (MessageEntity message : unflushed.values()) {
+            if (roomId.equals(message.getRoomId())) {
+                messages.add(message);
+            }
+        }
+        return messages;
+    }
+
+    public int getBufferDepth() {
+        return buffer.size();
+    }
+
+    // 가장 오래된 미반영 메시지가 손실 허용 구간을 넘었는지 (재시도 대기 중이면 DB 장애로 보고 동기 저장)
+    private boolean isLagging() {
+        if (retryDepth > 0) {
+            return true;
+        }
+        MessageEntity oldest = buffer.peek();
+        return oldest != null
+            && oldest.getTimestamp().isBefore(LocalDateTime.now().minusNanos(maxLossWindowMs * 1_000_000L));
+    }
+
+    private void runFlusher() {
+        List<MessageEntity> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                if (!retry.isEmpty()) {
+                    // 실패한 메시지를 먼저, 장애 중 DB를 두드리지 않도록 손실 허용 구간만큼 쉬고 재시도
+                    Thread.sleep(maxLossWindowMs);
+                    while (batch.size() < batchSize && !retry.isEmpty()) {
+                        batch.add(retry.pollFirst());
+                    }
+                    buffer.drainTo(batch, batchSize - batch.size());
+                } else {
+                    // 도착하는 즉시 flush. flush 중에 쌓인 메시지가 다음 batch가 됨 (group commit)
+                    MessageEntity head = buffer.poll(maxLossWindowMs, TimeUnit.MILLISECONDS);
+                    if (head == null) {
+                        continue;
+                    }
+                    batch.add(head);
+                    buffer.drainTo(batch, batchSize - 1);
+                }
+                flush(batch);
+                batch.clear();
+                retryDepth = retry.size();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    // 반환값: 저장하지 못하고 남은 메시지 (재시도 대상)
+    private List<MessageEntity> flush(List<MessageEntity> batch) {
+        for (int attempt = 1; attempt <= MAX_FLUSH_ATTEMPTS; attempt++) {
+            try {
+                flushTimer.record(() -> {
+                    messageRepository.batchInsert(batch);
+                });
+                flushedCounter.increment(batch.size());
+                forget(batch);
+                return List.of();
+            } catch (RuntimeException e) {
+                System.err.println("메시지 batch 저장 실패 (" + attempt + "/" + MAX_FLUSH_ATTEMPTS + "): " + e.getMessage());
+            }
+        }
+        failedCounter.increment(batch.size());
+
+        // 한 행 때문에 batch 전체가 막히지 않도록 행 단위로 저장
+        List<MessageEntity> remaining = new ArrayList<>();
+        for (MessageEntity message : batch) {
+            try {
+                messageRepository.batchInsert(List.of(message));
+                flushedCounter.increment();
+                unflushed.remove(message.getId());
+            } catch (DuplicateKeyException e) {
+                // 실패한 batch에서 이미 커밋된 행
+                unflushed.remove(message.getId());
+            } catch (DataIntegrityViolationException e) {
+                System.err.println("메시지 저장 불가, 폐기: " + message.getId() + " - " + e.getMessage());
+                drop(message);
+            } catch (RuntimeException e) {
+                remaining.add(message);
+            }
+        }
+        requeue(remaining);
+        return remaining;
+    }
+
+    // 실패한 메시지를 재시도 큐 앞쪽에 원래 순서대로 되돌림. 용량을 넘으면 가장 오래된 것부터 폐기
+    private void requeue(List<MessageEntity> failed) {
+        for (int i = failed.size() - 1; i >= 0; i--) {
+            retry.addFirst(failed.get(i));
+        }
+        while (retry.size() > capacity) {
+            drop(retry.pollFirst());
+        }
+        retryDepth = retry.size();
+    }
+
+    private void drop(MessageEntity message) {
+        droppedCounter.increment();
+        unflushed.remove(message.getId());
+    }
+
+    private void forget(List<MessageEntity> batch) {
+        for (MessageEntity message : batch) {
+            unflushed.remove(message.getId());
+        }
+    }
+
+    private void persist(List<MessageEntity> messages) {
+        try {
+            messageRepository.batchInsert(messages);
+        } catch (RuntimeException e) {
+            failedCounter.increment(messages.size());
+            throw e;
+        }
+    }
+
+    /**
+     * 종료 시 버퍼에 남은 메시지를 모두 저장
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        // 진행 중인 batch가 끝나도록 interrupt 대신 poll 타임아웃으로 종료
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+
+        List<MessageEntity> remaining = new ArrayList<>(retry);
+        retry.clear();
+        buffer.drainTo(remaining);
+        int lost = 0;
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            lost += flush(remaining.subList(from, Math.min(from + batchSize, remaining.size()))).size();
+        }
+        // 종료 시점에 저장하지 못한 메시지는 더 이상 재시도할 수 없음
+        for (MessageEntity message : retry) {
+            drop(message);
+        }
+        retry.clear();
+        retryDepth = 0;
+        System.out.println("메시지 write-behind 버퍼 flush 완료" + (lost > 0 ? " (저장 실패 " + lost + "건)" : ""));
+    }
+}
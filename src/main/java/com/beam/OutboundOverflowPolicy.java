@@ -0,0 +1,10 @@
+package com.beam;
+
+/**
+ * WebSocket 세션별 송신 큐가 가득 찼을 때의 처리 정책
+ */
+public enum OutboundOverflowPolicy {
+    DROP_OLDEST,        // 가장 오래된 프레임부터 버림
+    DROP_NON_CRITICAL,  // userlist, readUpdate 등 비핵심 프레임을 버리고, 그래도 넘치면 연결 종료
+    DISCONNECT          // 즉시 연결 종료 (클라이언트 재접속 후 히스토리 재요청)
+}
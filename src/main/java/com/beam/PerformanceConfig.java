@@ -12,6 +12,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 import javax.sql.DataSource;
 import java.util.concurrent.Executor;
@@ -24,6 +25,7 @@ import java.util.concurrent.TimeUnit;
  * <ul>
  *   <li>Database connection pooling (HikariCP)</li>
  *   <li>Async task execution</li>
+ *   <li>Scheduled task execution</li>
  *   <li>Application-level caching (Caffeine)</li>
  * </ul>
  *
@@ -68,6 +70,8 @@ public class PerformanceConfig {
         config.addDataSourceProperty("useServerPrepStmts", "true");
         config.addDataSourceProperty("useLocalSessionState", "true");
         config.addDataSourceProperty("rewriteBatchedStatements", "true");
+        // PostgreSQL: batch INSERT를 multi-row INSERT로 재작성
+        config.addDataSourceProperty("reWriteBatchedInserts", "true");
         config.addDataSourceProperty("cacheResultSetMetadata", "true");
         config.addDataSourceProperty("cacheServerConfiguration", "true");
         config.addDataSourceProperty("elideSetAutoCommits", "true");
@@ -89,6 +93,22 @@ public class PerformanceConfig {
         return executor;
     }
 
+    /**
+     * {@code @Scheduled} 작업 전용 스케줄러
+     * - STOMP 브로커가 messageBrokerTaskScheduler 빈을 만들면 Boot 기본 스케줄러가 생성되지 않아
+     *   주기 작업이 heartbeat 스케줄러를 같이 쓰게 되므로 이름이 taskScheduler인 빈을 직접 둠
+     */
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(
+            @Value("${spring.task.scheduling.pool.size:1}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduling-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        return scheduler;
+    }
+
     /**
      * Cache Manager using Caffeine
      *
@@ -0,0 +1,227 @@
+package com.beam;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * PostgreSQL LISTEN/NOTIFY 기반 {@link ClusterBus}
+ * - 모든 노드가 같은 채널을 LISTEN 하고, 배치 하나를 JSON 배열로 묶어 pg_notify 한 번으로 전송
+ * - NOTIFY payload 한도(8000바이트)를 넘는 배치는 여러 NOTIFY로 나누고,
+ *   이벤트 하나가 한도를 넘으면 cluster_bus_overflow 테이블에 저장하고 id만 전송
+ * - payload 앞에 보낸 노드 ID를 붙여서 자기 노드 알림은 파싱하지 않고 건너뜀
+ * - LISTEN 연결은 커넥션 풀과 별도로 하나를 유지하고, 끊기면 재연결
+ */
+@Component
+public class PostgresClusterBus extends BatchingClusterBus {
+
+    private static final String CHANNEL = "beam_cluster";
+    // NOTIFY payload 한도 8000바이트에서 노드 ID 접두어 만큼 여유를 둠
+    private static final int MAX_NOTIFY_BYTES = 7800;
+    private static final String OVERFLOW_PREFIX = "@";
+    private static final long OVERFLOW_RETENTION_MS = 5 * 60 * 1000;
+    private static final long OVERFLOW_CLEANUP_INTERVAL_MS = 60 * 1000;
+    private static final TypeReference<List<ClusterEvent>> EVENT_LIST = new TypeReference<>() {};
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String url;
+    private final String username;
+    private final String password;
+
+    private long lastOverflowCleanup;
+
+    public PostgresClusterBus(
+            MeterRegistry meterRegistry,
+            DataSource dataSource,
+            @Value("${spring.datasource.url:}") String url,
+            @Value("${spring.datasource.username:}") String username,
+            @Value("${spring.datasource.password:}") String password,
+            @Value("${cluster.bus.queue-capacity:10000}") int queueCapacity,
+            @Value("${cluster.bus.max-batch-size:256}") int maxBatchSize) {
+        super("postgres", meterRegistry, queueCapacity, maxBatchSize);
+        this.dataSource = dataSource;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    @Override
+    protected void connect() {
+        if (!url.startsWith("jdbc:postgresql:")) {
+            throw new IllegalStateException("cluster.bus=postgres requires a PostgreSQL datasource: " + url);
+        }
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS cluster_bus_overflow ("
+                    + "id BIGSERIAL PRIMARY KEY, "
+                    + "payload TEXT NOT NULL, "
+                    + "created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot prepare cluster_bus_overflow table", e);
+        }
+
+        Thread listener = new Thread(this::listenLoop, "beam-cluster-listen");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    protected void sendBatch(List<ClusterEvent> batch) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement notify = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            // 한 트랜잭션으로 묶어 실패 시 일부 청크만 전달되지 않도록 함 (NOTIFY는 커밋 시 전달, 재시도해도 중복 없음)
+            connection.setAutoCommit(false);
+            try {
+                sendChunks(connection, notify, batch);
+                connection.commit();
+            } catch (Exception e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    private void sendChunks(Connection connection, PreparedStatement notify, List<ClusterEvent> batch) throws Exception {
+        String prefix = getNodeId() + " ";
+        StringBuilder chunk = new StringBuilder();
+        int chunkBytes = 0;
+        for (ClusterEvent event : batch) {
+            String json = objectMapper.writeValueAsString(event);
+            int bytes = json.getBytes(StandardCharsets.UTF_8).length;
+            if (bytes + 2 > MAX_NOTIFY_BYTES || chunkBytes + bytes + 2 > MAX_NOTIFY_BYTES) {
+                // 순서 유지: 지금까지 모은 이벤트를 먼저 보냄
+                if (chunkBytes > 0) {
+                    notify(notify, prefix + "[" + chunk + "]");
+                    chunk.setLength(0);
+                    chunkBytes = 0;
+                }
+                if (bytes + 2 > MAX_NOTIFY_BYTES) {
+                    notify(notify, prefix + OVERFLOW_PREFIX + storeOverflow(connection, "[" + json + "]"));
+                    continue;
+                }
+            }
+            if (chunkBytes > 0) {
+                chunk.append(',');
+                chunkBytes++;
+            }
+            chunk.append(json);
+            chunkBytes += bytes;
+        }
+        if (chunkBytes > 0) {
+            notify(notify, prefix + "[" + chunk + "]");
+        }
+        cleanupOverflow(connection);
+    }
+
+    private static void notify(PreparedStatement notify, String payload) throws SQLException {
+        notify.setString(1, CHANNEL);
+        notify.setString(2, payload);
+        notify.execute();
+    }
+
+    private static long storeOverflow(Connection connection, String json) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO cluster_bus_overflow (payload) VALUES (?) RETURNING id")) {
+            insert.setString(1, json);
+            try (ResultSet rs = insert.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    // 모든 노드가 읽을 시간이 지난 overflow 행 삭제 (송신 스레드에서만 호출)
+    private void cleanupOverflow(Connection connection) throws SQLException {
+        long now = System.currentTimeMillis();
+        if (now - lastOverflowCleanup < OVERFLOW_CLEANUP_INTERVAL_MS) {
+            return;
+        }
+        lastOverflowCleanup = now;
+        try (PreparedStatement delete = connection.prepareStatement(
+                "DELETE FROM cluster_bus_overflow WHERE created_at < ?")) {
+            delete.setTimestamp(1, new Timestamp(now - OVERFLOW_RETENTION_MS));
+            delete.executeUpdate();
+        }
+    }
+
+    private void listenLoop() {
+        long backoffMs = 1000;
+        while (isRunning()) {
+            try (Connection connection = DriverManager.getConnection(url, username, password);
+                 Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                backoffMs = 1000;
+                while (isRunning()) {
+                    PGNotification[] notifications = pgConnection.getNotifications(1000);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        receive(connection, notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!isRunning()) {
+                    return;
+                }
+                System.err.println("Cluster bus listener disconnected, retrying in " + backoffMs + "ms: " + e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, 30000);
+            }
+        }
+    }
+
+    private void receive(Connection connection, String payload) throws SQLException {
+        int separator = payload.indexOf(' ');
+        if (separator < 0 || payload.substring(0, separator).equals(getNodeId())) {
+            return;
+        }
+        String body = payload.substring(separator + 1);
+        if (body.startsWith(OVERFLOW_PREFIX)) {
+            body = loadOverflow(connection, Long.parseLong(body.substring(OVERFLOW_PREFIX.length())));
+            if (body == null) {
+                return;
+            }
+        }
+        try {
+            deliver(objectMapper.readValue(body, EVENT_LIST));
+        } catch (JsonProcessingException e) {
+            System.err.println("Malformed cluster bus payload: " + e.getMessage());
+        }
+    }
+
+    private static String loadOverflow(Connection connection, long id) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT payload FROM cluster_bus_overflow WHERE id = ?")) {
+            select.setLong(1, id);
+            try (ResultSet rs = select.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.beam;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 세션별 bounded 송신 큐를 가진 WebSocket 세션 데코레이터
+ * - sendMessage는 큐에 넣기만 하고 즉시 반환 (호출 스레드는 느린 클라이언트에 막히지 않음)
+ * - 세션당 한 번에 하나의 writer 작업만 실행되어 동시 전송이 직렬화됨
+ * - 큐 길이/버퍼 크기/전송 시간 제한 초과 시 {@link OutboundOverflowPolicy}에 따라 처리
+ * - 전송 실패나 연결 종료로 버려진 프레임도 드롭으로 집계
+ */
+public class QueuedWebSocketSession extends WebSocketSessionDecorator {
+
+    private final WebSocketOutboundService outboundService;
+    private final Executor writer;
+    private final ConcurrentLinkedDeque<OutboundFrame> queue = new ConcurrentLinkedDeque<>();
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicLong bufferedBytes = new AtomicLong();
+    private final AtomicLong droppedFrames = new AtomicLong();
+    private final AtomicLong sentFrames = new AtomicLong();
+    private final Object overflowLock = new Object();
+
+    // 현재 진행 중인 전송의 시작 시각 (0이면 전송 중 아님)
+    private volatile long sendStartNanos;
+    private volatile boolean limitExceeded;
+
+    QueuedWebSocketSession(WebSocketSession delegate, WebSocketOutboundService outboundService, Executor writer) {
+        super(delegate);
+        this.outboundService = outboundService;
+        this.writer = writer;
+    }
+
+    /**
+     * 메시지 타입을 모르는 전송은 핵심 프레임으로 취급
+     */
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) {
+        sendMessage(message, null);
+    }
+
+    public void sendMessage(WebSocketMessage<?> message, String type) {
+        if (limitExceeded || !isOpen()) {
+            return;
+        }
+        if (isSendTimeLimitExceeded()) {
+            disconnect("Send time limit exceeded");
+            return;
+        }
+
+        OutboundFrame frame = new OutboundFrame(message, outboundService.isCritical(type));
+        synchronized (overflowLock) {
+            if (!makeRoomFor(frame)) {
+                return;
+            }
+            queue.offer(frame);
+            depth.incrementAndGet();
+            bufferedBytes.addAndGet(frame.size);
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * watchdog: 진행 중인 전송이 전송 시간 제한을 넘기면 세션 종료 (새 메시지가 없어도 감지)
+     */
+    void closeIfSendStalled() {
+        if (!limitExceeded && isSendTimeLimitExceeded()) {
+            disconnect("Send time limit exceeded");
+        }
+    }
+
+    private boolean isSendTimeLimitExceeded() {
+        long start = sendStartNanos;
+        return start != 0 && System.nanoTime() - start > outboundService.getSendTimeLimitNanos();
+    }
+
+    private boolean fits(OutboundFrame frame) {
+        return depth.get() < outboundService.getQueueCapacity()
+            && bufferedBytes.get() + frame.size <= outboundService.getBufferSizeLimit();
+    }
+
+    // 반환값이 false면 새 프레임을 큐에 넣지 않음
+    private boolean makeRoomFor(OutboundFrame frame) {
+        if (fits(frame)) {
+            return true;
+        }
+
+        switch (outboundService.getOverflowPolicy()) {
+            case DROP_OLDEST:
+                while (!fits(frame)) {
+                    OutboundFrame oldest = queue.pollFirst();
+                    if (oldest == null) {
+                        break;
+                    }
+                    release(oldest);
+                    recordDrop(OutboundOverflowPolicy.DROP_OLDEST);
+                }
+                return true;
+
+            case DROP_NON_CRITICAL:
+                if (!frame.critical) {
+                    recordDrop(OutboundOverflowPolicy.DROP_NON_CRITICAL);
+                    return false;
+                }
+                Iterator<OutboundFrame> it = queue.iterator();
+                while (!fits(frame) && it.hasNext()) {
+                    OutboundFrame queued = it.next();
+                    if (!queued.critical && queue.removeFirstOccurrence(queued)) {
+                        release(queued);
+                        recordDrop(OutboundOverflowPolicy.DROP_NON_CRITICAL);
+                    }
+                }
+                if (fits(frame)) {
+                    return true;
+                }
+                disconnect("Outbound buffer full");
+                return false;
+
+            case DISCONNECT:
+            default:
+                disconnect("Outbound buffer full");
+                return false;
+        }
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            writer.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            OutboundFrame frame;
+            while (!limitExceeded && (frame = queue.pollFirst()) != null) {
+                release(frame);
+                sendStartNanos = System.nanoTime();
+                try {
+                    getDelegate().sendMessage(frame.message);
+                    sentFrames.incrementAndGet();
+                } finally {
+                    sendStartNanos = 0;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("WebSocket 전송 실패: " + getId() + " - " + e.getMessage());
+            clearQueue();
+        } finally {
+            draining.set(false);
+        }
+
+        // drain 종료 직후 들어온 프레임이 남아 있으면 다시 스케줄
+        if (!limitExceeded && !queue.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    private void disconnect(String reason) {
+        if (limitExceeded) {
+            return;
+        }
+        limitExceeded = true;
+        outboundService.recordDisconnect();
+        clearQueue();
+        try {
+            getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE.withReason(reason));
+        } catch (IOException e) {
+            System.err.println("느린 세션 종료 실패: " + getId() + " - " + e.getMessage());
+        }
+    }
+
+    private void clearQueue() {
+        int cleared = 0;
+        OutboundFrame frame;
+        while ((frame = queue.pollFirst()) != null) {
+            release(frame);
+            cleared++;
+        }
+        if (cleared > 0) {
+            droppedFrames.addAndGet(cleared);
+            outboundService.recordClosedDrops(cleared);
+        }
+    }
+
+    private void release(OutboundFrame frame) {
+        depth.decrementAndGet();
+        bufferedBytes.addAndGet(-frame.size);
+    }
+
+    private void recordDrop(OutboundOverflowPolicy reason) {
+        droppedFrames.incrementAndGet();
+        outboundService.recordDrop(reason);
+    }
+
+    public int getQueueDepth() {
+        return depth.get();
+    }
+
+    public long getBufferedBytes() {
+        return bufferedBytes.get();
+    }
+
+    public long getDroppedFrames() {
+        return droppedFrames.get();
+    }
+
+    public long getSentFrames() {
+        return sentFrames.get();
+    }
+
+    private static final class OutboundFrame {
+        private final WebSocketMessage<?> message;
+        private final int size;
+        private final boolean critical;
+
+        private OutboundFrame(WebSocketMessage<?> message, boolean critical) {
+            this.message = message;
+            this.size = message.getPayloadLength();
+            this.critical = critical;
+        }
+    }
+}
@@ -22,7 +22,7 @@ public class ReadReceiptService {
     private GroupMessageRepository groupMessageRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserProfileLoader userProfileLoader;
 
     @Autowired(required = false)
     private SimpMessageSendingOperations messagingTemplate;
@@ -115,12 +115,14 @@ public class ReadReceiptService {
             ? readReceiptRepository.findByGroupMessageId(messageId)
             : readReceiptRepository.findByMessageId(messageId);
 
+        Map<Long, UserProfile> readers = userProfileLoader.loadAll(receipts, ReadReceiptEntity::getUserId);
+
         return receipts.stream().map(receipt -> {
-            Optional<UserEntity> userOpt = userRepository.findById(receipt.getUserId());
+            Optional<UserProfile> userOpt = Optional.ofNullable(readers.get(receipt.getUserId()));
 
             Map<String, Object> receiptMap = new HashMap<>();
             receiptMap.put("userId", receipt.getUserId());
-            receiptMap.put("userName", userOpt.map(UserEntity::getDisplayName).orElse("Unknown"));
+            receiptMap.put("userName", userOpt.map(UserProfile::getDisplayName).orElse("Unknown"));
             receiptMap.put("readAt", receipt.getReadAt().toString());
 
             return receiptMap;
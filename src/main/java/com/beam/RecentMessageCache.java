@@ -0,0 +1,305 @@
+package com.beam;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Recent Message Cache
+ *
+ * <p>Keeps the last N messages of each WebSocket chat room in a {@link RecentMessageRing}
+ * so that room joins and {@code getHistory} requests for recent pages are served without
+ * touching the database.
+ *
+ * <h3>Behavior:</h3>
+ * <ul>
+ *   <li>Append: every saved message is appended to its room's ring (if the room is cached)</li>
+ *   <li>Lazy warm-up: the first history read of a room loads the latest N rows from the
+ *       database, plus messages still waiting in the write-behind buffer</li>
+ *   <li>Pages the ring cannot fully answer (older than its window) fall back to the database</li>
+ *   <li>Empty rooms are not kept: a warm-up that finds no messages answers the request and
+ *       drops the ring again</li>
+ *   <li>Memory budget: when the estimated size of all rings (including each ring's fixed slot
+ *       overhead) exceeds message.hot-cache.memory-budget-bytes, or more than
+ *       message.hot-cache.max-rooms rooms are cached, the least recently used rooms are dropped</li>
+ * </ul>
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ *   <li>beam_message_hot_cache_rooms - Rooms currently cached</li>
+ *   <li>beam_message_hot_cache_bytes - Estimated memory held by all rings</li>
+ *   <li>beam_message_hot_cache_requests_total{result} - History pages served (hit) or sent to the DB (miss)</li>
+ *   <li>beam_message_hot_cache_evictions_total - Rooms evicted to stay within the budget</li>
+ * </ul>
+ *
+ * @since 1.2.0
+ */
+@Service
+public class RecentMessageCache {
+
+    private final Map<String, RecentMessageRing> rings = new ConcurrentHashMap<>();
+    // 대략적인 전체 사용량. eviction 시 각 ring의 실제 크기 합으로 다시 맞춤
+    private final AtomicLong usedBytes = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final MessageRepository messageRepository;
+    private final MessageWriteBehindService writeBehindService;
+
+    private final boolean enabled;
+    private final int capacityPerRoom;
+    private final long memoryBudgetBytes;
+    private final int maxRooms;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    public RecentMessageCache(
+            MessageRepository messageRepository,
+            MessageWriteBehindService writeBehindService,
+            MeterRegistry meterRegistry,
+            @Value("${message.hot-cache.enabled:true}") boolean enabled,
+            @Value("${message.hot-cache.capacity-per-room:200}") int capacityPerRoom,
+            @Value("${message.hot-cache.memory-budget-bytes:67108864}") long memoryBudgetBytes,
+            @Value("${message.hot-cache.max-rooms:10000}") int maxRooms) {
+        if (capacityPerRoom <= MessagePage.MAX_LIMIT) {
+            throw new IllegalArgumentException("message.hot-cache.capacity-per-room must be greater than " + MessagePage.MAX_LIMIT);
+        }
+        this.messageRepository = messageRepository;
+        this.writeBehindService = writeBehindService;
+        this.enabled = enabled;
+        this.capacityPerRoom = capacityPerRoom;
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.maxRooms = Math.max(maxRooms, 1);
+
+        Gauge.builder("beam_message_hot_cache_rooms", rings, Map::size)
+                .description("Chat rooms held in the recent message cache")
+                .register(meterRegistry);
+
+        Gauge.builder("beam_message_hot_cache_bytes", usedBytes, AtomicLong::get)
+                .description("Estimated memory used by the recent message cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        hitCounter = Counter.builder("beam_message_hot_cache_requests_total")
+                .tag("result", "hit")
+                .description("History pages served from the recent message cache")
+                .register(meterRegistry);
+
+        missCounter = Counter.builder("beam_message_hot_cache_requests_total")
+                .tag("result", "miss")
+                .description("History pages that fell back to the database")
+                .register(meterRegistry);
+
+        evictionCounter = Counter.builder("beam_message_hot_cache_evictions_total")
+                .description("Rooms evicted from the recent message cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 저장된 메시지를 방 버퍼에 추가. 아직 캐시되지 않은 방은 무시 (첫 조회 시 DB에서 warm)
+     */
+    public void append(MessageEntity message) {
+        if (!enabled) {
+            return;
+        }
+        RecentMessageRing ring = rings.get(message.getRoomId());
+        if (ring != null) {
+            addUsage(ring.append(message));
+        }
+    }
+
+    /**
+     * 방 버퍼를 버림 (다음 조회 시 DB에서 다시 warm)
+     * - 다른 노드에서 저장된 메시지는 이 노드 버퍼에 append되지 않으므로 그 방 버퍼는 더 이상 최신이 아님
+     */
+    public void evict(String roomId) {
+        RecentMessageRing ring = rings.remove(roomId);
+        if (ring != null) {
+            usedBytes.addAndGet(-ring.getBytes());
+        }
+    }
+
+    /**
+     * 버퍼만으로 답할 수 있는 페이지면 반환, 아니면 empty (호출자가 DB 조회)
+     *
+     * @param before 이 커서보다 오래된 메시지 (null이면 최신 페이지)
+     * @param after  이 커서보다 최신 메시지 (지정 시 before보다 우선)
+     */
+    public Optional<MessagePage<MessageEntity>> getPage(String roomId, String before, String after, int limit) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        RecentMessageRing ring = getReadyRing(roomId);
+        if (ring == null) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+        ring.touch();
+
+        Optional<MessagePage<MessageEntity>> page = after != null
+            ? pageAfter(ring, MessageCursor.decode(after), limit)
+            : pageBefore(ring, before != null ? MessageCursor.decode(before) : null, limit);
+        (page.isPresent() ? hitCounter : missCounter).increment();
+        return page;
+    }
+
+    private Optional<MessagePage<MessageEntity>> pageBefore(RecentMessageRing ring, MessageCursor cursor, int limit) {
+        List<MessageEntity> messages = ring.snapshot();
+        int end = cursor == null ? messages.size() : indexAfter(messages, cursor, false);
+
+        // limit + 1개가 없으면 버퍼 밖(DB)에 더 오래된 메시지가 있을 수 있음
+        if (end <= limit && !ring.isComplete()) {
+            return Optional.empty();
+        }
+        List<MessageEntity> rows = new ArrayList<>(messages.subList(Math.max(0, end - limit - 1), end));
+        Collections.reverse(rows);
+        return Optional.of(MessagePage.fromDescending(rows, limit, MessageEntity::toCursor));
+    }
+
+    private Optional<MessagePage<MessageEntity>> pageAfter(RecentMessageRing ring, MessageCursor cursor, int limit) {
+        List<MessageEntity> messages = ring.snapshot();
+
+        // 커서가 버퍼의 가장 오래된 메시지보다 앞이면 사이에 빠진 메시지가 있을 수 있음
+        if (!ring.isComplete() && (messages.isEmpty() || compare(messages.get(0), cursor) > 0)) {
+            return Optional.empty();
+        }
+        int start = indexAfter(messages, cursor, true);
+        List<MessageEntity> rows = messages.subList(start, Math.min(messages.size(), start + limit + 1));
+        return Optional.of(MessagePage.fromAscending(rows, limit, MessageEntity::toCursor));
+    }
+
+    /**
+     * 정렬된 목록에서 커서 위치 - inclusive면 커서와 같은 메시지 다음 위치, 아니면 커서 위치
+     */
+    private static int indexAfter(List<MessageEntity> messages, MessageCursor cursor, boolean inclusive) {
+        int index = 0;
+        while (index < messages.size()) {
+            int order = compare(messages.get(index), cursor);
+            if (order > 0 || (order == 0 && !inclusive)) {
+                break;
+            }
+            index++;
+        }
+        return index;
+    }
+
+    private static int compare(MessageEntity message, MessageCursor cursor) {
+        int order = message.getTimestamp().compareTo(cursor.getTimestamp());
+        return order != 0 ? order : Long.compare(message.getId(), cursor.getId());
+    }
+
+    // 준비된 ring 반환. 첫 조회면 이 스레드가 DB에서 warm, 다른 스레드가 warm 중이면 null
+    private RecentMessageRing getReadyRing(String roomId) {
+        RecentMessageRing ring = rings.get(roomId);
+        if (ring == null) {
+            RecentMessageRing created = new RecentMessageRing(capacityPerRoom);
+            ring = rings.putIfAbsent(roomId, created);
+            if (ring == null) {
+                ring = created;
+                addUsage(created.getBytes());
+            }
+        }
+        if (ring.isReady()) {
+            return ring;
+        }
+        if (!ring.tryStartWarming()) {
+            return null;
+        }
+
+        try {
+            // write-behind 미반영분을 먼저 읽어야 그 사이 flush된 메시지도 DB 조회에 포함됨
+            List<MessageEntity> latest = new ArrayList<>(writeBehindService.getUnflushed(roomId));
+            latest.addAll(messageRepository.findLatestPage(roomId, PageRequest.of(0, capacityPerRoom)));
+            addUsage(ring.warm(newest(latest)));
+            // 메시지가 없는 방(존재하지 않는 roomId 포함)은 이번 요청에만 쓰고 보관하지 않음
+            if (ring.isEmpty()) {
+                remove(roomId, ring);
+            }
+            return ring;
+        } catch (RuntimeException e) {
+            remove(roomId, ring);
+            System.err.println("최근 메시지 캐시 warm 실패: " + roomId + " - " + e.getMessage());
+            return null;
+        }
+    }
+
+    // write-behind 미반영분과 DB 결과를 합쳐 중복 제거 후 최신 capacity개만
+    private List<MessageEntity> newest(List<MessageEntity> messages) {
+        Map<Long, MessageEntity> byId = new HashMap<>();
+        for (MessageEntity message : messages) {
+            byId.putIfAbsent(message.getId(), message);
+        }
+        List<MessageEntity> unique = new ArrayList<>(byId.values());
+        unique.sort(RecentMessageRing.ORDER.reversed());
+        return unique.subList(0, Math.min(unique.size(), capacityPerRoom));
+    }
+
+    private void remove(String roomId, RecentMessageRing ring) {
+        if (rings.remove(roomId, ring)) {
+            usedBytes.addAndGet(-ring.getBytes());
+        }
+    }
+
+    private void addUsage(long delta) {
+        if (delta != 0 && (usedBytes.addAndGet(delta) > memoryBudgetBytes || rings.size() > maxRooms)) {
+            evictColdRooms();
+        }
+    }
+
+    /**
+     * 가장 오래 사용되지 않은 방부터 메모리 예산과 방 개수 상한의 90% 이하가 될 때까지 제거
+     */
+    private void evictColdRooms() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            // 정렬 중 접근 시각이 바뀌지 않도록 먼저 스냅샷
+            List<ColdCandidate> candidates = new ArrayList<>(rings.size());
+            long total = 0;
+            for (Map.Entry<String, RecentMessageRing> entry : rings.entrySet()) {
+                candidates.add(new ColdCandidate(entry.getKey(), entry.getValue()));
+                total += entry.getValue().getBytes();
+            }
+            candidates.sort(Comparator.comparingLong(ColdCandidate::lastAccessNanos));
+
+            long target = memoryBudgetBytes * 9 / 10;
+            int roomTarget = Math.max(maxRooms * 9 / 10, 1);
+            int remaining = candidates.size();
+            for (ColdCandidate candidate : candidates) {
+                if (total <= target && remaining <= roomTarget) {
+                    break;
+                }
+                if (rings.remove(candidate.roomId(), candidate.ring())) {
+                    total -= candidate.ring().getBytes();
+                    remaining--;
+                    evictionCounter.increment();
+                }
+            }
+            usedBytes.set(total);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private record ColdCandidate(String roomId, RecentMessageRing ring, long lastAccessNanos) {
+        private ColdCandidate(String roomId, RecentMessageRing ring) {
+            this(roomId, ring, ring.getLastAccessNanos());
+        }
+    }
+}
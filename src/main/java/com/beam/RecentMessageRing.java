@@ -0,0 +1,192 @@
+package com.beam;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 채팅방 하나의 최근 메시지를 담는 고정 크기 ring buffer
+ * - append는 락 없이 시퀀스 번호를 받아 해당 슬롯을 덮어씀 (가장 오래된 메시지부터 밀려남)
+ * - 읽기는 슬롯 스냅샷을 (timestamp, id) 순으로 정렬해서 반환
+ * - warm 전에 들어온 메시지는 pending에 모았다가 warm 직후 DB 결과와 중복 제거 후 반영
+ */
+final class RecentMessageRing {
+
+    static final Comparator<MessageEntity> ORDER =
+        Comparator.comparing(MessageEntity::getTimestamp).thenComparing(MessageEntity::getId);
+
+    // 객체 헤더/필드/슬롯 등 문자열 외 고정 비용 추정치
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+    // 메시지가 없어도 드는 ring 자체 비용 (ring/atomic 필드 객체 + 슬롯 배열 참조당 8 bytes)
+    private static final int RING_OVERHEAD_BYTES = 256;
+
+    private final int capacity;
+    private final AtomicReferenceArray<Slot> slots;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicBoolean warming = new AtomicBoolean(false);
+    private final ConcurrentLinkedQueue<MessageEntity> pending = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean ready;
+    // 방의 전체 히스토리가 버퍼 안에 있는지 (warm 시 DB 행 수 < capacity 이고 아직 밀려난 메시지가 없음)
+    private volatile boolean complete;
+    private volatile long lastAccessNanos = System.nanoTime();
+    private Set<Long> warmedIds = Set.of();
+
+    RecentMessageRing(int capacity) {
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.bytes.set(fixedBytes(capacity));
+    }
+
+    /**
+     * 메시지와 무관한 ring 고정 비용 (bytes) - 생성 시점부터 {@link #getBytes}에 포함됨
+     */
+    static long fixedBytes(int capacity) {
+        return RING_OVERHEAD_BYTES + 8L * capacity;
+    }
+
+    /**
+     * @return 버퍼 크기 변화량 (bytes)
+     */
+    long append(MessageEntity message) {
+        touch();
+        if (!ready) {
+            pending.offer(message);
+            // warm이 끝난 직후 들어온 경우 직접 반영
+            return ready ? drainPending() : 0;
+        }
+        return write(message);
+    }
+
+    /**
+     * 첫 번째 호출자만 true - 해당 호출자가 DB에서 읽어 {@link #warm}을 호출해야 함
+     */
+    boolean tryStartWarming() {
+        return warming.compareAndSet(false, true);
+    }
+
+    /**
+     * @param latest DB에서 읽은 최신 메시지들 (최대 capacity개, 순서 무관)
+     * @return 버퍼 크기 변화량 (bytes)
+     */
+    long warm(List<MessageEntity> latest) {
+        List<MessageEntity> ordered = new ArrayList<>(latest);
+        ordered.sort(ORDER);
+        Set<Long> ids = new HashSet<>();
+        long delta = 0;
+        complete = ordered.size() < capacity;
+        for (MessageEntity message : ordered) {
+            ids.add(message.getId());
+            delta += write(message);
+        }
+        warmedIds = ids;
+        ready = true;
+        return delta + drainPending();
+    }
+
+    boolean isReady() {
+        return ready;
+    }
+
+    boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * @return 고정 비용을 포함한 추정 크기 (bytes)
+     */
+    long getBytes() {
+        return bytes.get();
+    }
+
+    /**
+     * 버퍼에 메시지가 하나도 없는지
+     */
+    boolean isEmpty() {
+        return nextSequence.get() == 0;
+    }
+
+    long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    void touch() {
+        lastAccessNanos = System.nanoTime();
+    }
+
+    /**
+     * 현재 버퍼 내용을 오래된 순으로 반환
+     */
+    List<MessageEntity> snapshot() {
+        long end = nextSequence.get();
+        long start = Math.max(0, end - capacity);
+        List<MessageEntity> messages = new ArrayList<>((int) (end - start));
+        for (long sequence = start; sequence < end; sequence++) {
+            Slot slot = slots.get(index(sequence));
+            // 아직 쓰기 중이거나 이미 다음 바퀴로 덮인 슬롯은 제외
+            if (slot != null && slot.sequence == sequence) {
+                messages.add(slot.message);
+            }
+        }
+        messages.sort(ORDER);
+        return messages;
+    }
+
+    private long drainPending() {
+        long delta = 0;
+        MessageEntity message;
+        while ((message = pending.poll()) != null) {
+            if (!warmedIds.contains(message.getId())) {
+                delta += write(message);
+            }
+        }
+        return delta;
+    }
+
+    private long write(MessageEntity message) {
+        long sequence = nextSequence.getAndIncrement();
+        Slot slot = new Slot(sequence, message, estimateSize(message));
+        Slot evicted = slots.getAndSet(index(sequence), slot);
+        long delta = slot.size;
+        if (evicted != null) {
+            delta -= evicted.size;
+            complete = false;
+        }
+        bytes.addAndGet(delta);
+        return delta;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence % capacity);
+    }
+
+    private static int estimateSize(MessageEntity message) {
+        int size = ENTRY_OVERHEAD_BYTES;
+        if (message.getContent() != null) {
+            size += message.getContent().length() * 2;
+        }
+        if (message.getSender() != null) {
+            size += message.getSender().length() * 2;
+        }
+        return size;
+    }
+
+    private static final class Slot {
+        private final long sequence;
+        private final MessageEntity message;
+        private final int size;
+
+        private Slot(long sequence, MessageEntity message, int size) {
+            this.sequence = sequence;
+            this.message = message;
+            this.size = size;
+        }
+    }
+}
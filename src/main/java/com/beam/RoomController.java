@@ -8,6 +8,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -26,11 +27,14 @@ import java.util.stream.Collectors;
 @Tag(name = "Rooms", description = "그룹 채팅방 관리 API")
 public class RoomController {
 
+    // 방 검색 페이지 상한 (page * size). 더 뒤의 결과는 검색어를 좁혀서 조회
+    private static final int MAX_SEARCH_OFFSET = 10000;
+
     @Autowired
     private RoomService roomService;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserProfileLoader userProfileLoader;
 
     @Autowired
     private RoomMemberRepository roomMemberRepository;
@@ -62,7 +66,7 @@ public class RoomController {
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
-        response.put("roomId", room.getId());
+        response.put("roomId", String.valueOf(room.getId()));
         response.put("roomName", room.getRoomName());
         response.put("roomType", room.getRoomType().toString());
         response.put("message", "방이 생성되었습니다");
@@ -94,7 +98,7 @@ public class RoomController {
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
-        response.put("roomId", room.getId());
+        response.put("roomId", String.valueOf(room.getId()));
         response.put("roomName", room.getRoomName());
         response.put("message", "Room updated successfully");
 
@@ -211,24 +215,29 @@ public class RoomController {
         return ResponseEntity.ok(response);
     }
 
-    @Operation(summary = "메시지 조회", description = "채팅방의 최근 메시지 100개를 조회합니다")
+    @Operation(summary = "메시지 조회", description = "채팅방 메시지를 커서 기반으로 페이지 조회합니다 (기본 50개, 최대 100개)")
     @GetMapping("/{roomId}/messages")
     public ResponseEntity<?> getRoomMessages(
             @RequestHeader("Authorization") String token,
-            @Parameter(description = "채팅방 ID") @PathVariable Long roomId) {
+            @Parameter(description = "채팅방 ID") @PathVariable Long roomId,
+            @Parameter(description = "이 커서보다 오래된 메시지 조회") @RequestParam(required = false) String before,
+            @Parameter(description = "이 커서보다 최신 메시지 조회") @RequestParam(required = false) String after,
+            @Parameter(description = "페이지 크기") @RequestParam(required = false) Integer limit) {
         try {
             String jwtToken = token.replace("Bearer ", "");
             Long userId = jwtUtil.getUserIdFromToken(jwtToken);
 
-            List<GroupMessageEntity> messages = roomService.getRoomMessages(roomId, userId);
+            MessagePage<GroupMessageEntity> page = roomService.getRoomMessages(roomId, userId, before, after, limit);
+
+            Map<Long, UserProfile> senders = userProfileLoader.loadAll(page.getItems(), GroupMessageEntity::getSenderId);
 
-            List<Map<String, Object>> result = messages.stream().map(msg -> {
-                Optional<UserEntity> senderOpt = userRepository.findById(msg.getSenderId());
+            MessagePage<Map<String, Object>> result = page.map(msg -> {
+                Optional<UserProfile> senderOpt = Optional.ofNullable(senders.get(msg.getSenderId()));
 
                 Map<String, Object> msgMap = new HashMap<>();
                 msgMap.put("id", msg.getId());
                 msgMap.put("senderId", msg.getSenderId());
-                msgMap.put("senderName", senderOpt.map(UserEntity::getDisplayName).orElse("Unknown"));
+                msgMap.put("senderName", senderOpt.map(UserProfile::getDisplayName).orElse("Unknown"));
                 msgMap.put("content", msg.getContent());
                 msgMap.put("messageType", msg.getMessageType().toString());
                 msgMap.put("timestamp", msg.getTimestamp().toString());
@@ -236,9 +245,7 @@ public class RoomController {
                 msgMap.put("isMine", msg.getSenderId().equals(userId));
 
                 return msgMap;
-            }).collect(Collectors.toList());
-
-            Collections.reverse(result);
+            });
 
             return ResponseEntity.ok(result);
         } catch (Exception e) {
@@ -285,7 +292,7 @@ public class RoomController {
                     .findByRoomIdAndUserIdAndIsActiveTrue(room.getId(), userId);
 
                 Map<String, Object> roomMap = new HashMap<>();
-                roomMap.put("roomId", room.getId());
+                roomMap.put("roomId", String.valueOf(room.getId()));
                 roomMap.put("roomName", room.getRoomName());
                 roomMap.put("description", room.getDescription());
                 roomMap.put("roomType", room.getRoomType().toString());
@@ -319,15 +326,17 @@ public class RoomController {
 
             List<RoomMemberEntity> members = roomService.getRoomMembers(roomId, userId);
 
+            Map<Long, UserProfile> profiles = userProfileLoader.loadAll(members, RoomMemberEntity::getUserId);
+
             List<Map<String, Object>> result = members.stream().map(member -> {
-                Optional<UserEntity> userOpt = userRepository.findById(member.getUserId());
+                Optional<UserProfile> userOpt = Optional.ofNullable(profiles.get(member.getUserId()));
 
                 Map<String, Object> memberMap = new HashMap<>();
                 memberMap.put("userId", member.getUserId());
-                memberMap.put("username", userOpt.map(UserEntity::getUsername).orElse("Unknown"));
-                memberMap.put("displayName", userOpt.map(UserEntity::getDisplayName).orElse("Unknown"));
+                memberMap.put("username", userOpt.map(UserProfile::getUsername).orElse("Unknown"));
+                memberMap.put("displayName", userOpt.map(UserProfile::getDisplayName).orElse("Unknown"));
                 memberMap.put("role", member.getRole().toString());
-                memberMap.put("isOnline", userOpt.map(UserEntity::getIsOnline).orElse(false));
+                memberMap.put("isOnline", userOpt.map(UserProfile::getIsOnline).orElse(false));
                 memberMap.put("joinedAt", member.getJoinedAt().toString());
 
                 return memberMap;
@@ -341,17 +350,28 @@ public class RoomController {
         }
     }
 
-    @Operation(summary = "채팅방 검색", description = "키워드로 채팅방을 검색합니다")
+    @Operation(summary = "채팅방 검색", description = "이름/설명으로 채팅방을 검색합니다 (이름 일치, 멤버 수, 최근 활동 순)")
     @GetMapping("/search")
     public ResponseEntity<?> searchRooms(
             @RequestHeader("Authorization") String token,
-            @Parameter(description = "검색 키워드") @RequestParam String keyword) {
+            @Parameter(description = "검색 키워드") @RequestParam String keyword,
+            @Parameter(description = "페이지 (0부터)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "페이지 크기 (최대 100)") @RequestParam(defaultValue = "20") int size) {
         try {
-            List<RoomEntity> rooms = roomService.searchRooms(keyword);
+            if (keyword == null || keyword.trim().isEmpty()) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Keyword is required"));
+            }
 
-            List<Map<String, Object>> result = rooms.stream().map(room -> {
+            int pageSize = Math.min(Math.max(size, 1), 100);
+            if ((long) Math.max(page, 0) * pageSize > MAX_SEARCH_OFFSET) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Page out of range (max offset " + MAX_SEARCH_OFFSET + ")"));
+            }
+
+            Page<RoomEntity> rooms = roomService.searchRooms(keyword, Math.max(page, 0), pageSize);
+
+            List<Map<String, Object>> result = rooms.getContent().stream().map(room -> {
                 Map<String, Object> roomMap = new HashMap<>();
-                roomMap.put("roomId", room.getId());
+                roomMap.put("roomId", String.valueOf(room.getId()));
                 roomMap.put("roomName", room.getRoomName());
                 roomMap.put("description", room.getDescription());
                 roomMap.put("roomType", room.getRoomType().toString());
@@ -361,7 +381,14 @@ public class RoomController {
                 return roomMap;
             }).collect(Collectors.toList());
 
-            return ResponseEntity.ok(result);
+            Map<String, Object> response = new HashMap<>();
+            response.put("rooms", result);
+            response.put("page", rooms.getNumber());
+            response.put("size", rooms.getSize());
+            response.put("total", rooms.getTotalElements());
+            response.put("hasMore", rooms.hasNext());
+
+            return ResponseEntity.ok(response);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -0,0 +1,402 @@
+package com.beam;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Room Discovery Index
+ *
+ * <p>In-memory inverted index over active rooms' names and descriptions for
+ * {@code GET /api/rooms/search}, replacing {@code LIKE '%keyword%'} scans of the rooms table.
+ *
+ * <h3>Search:</h3>
+ * <ul>
+ *   <li>Tokens: the same n-grams as message search (see {@link SearchTokenizer}); candidates are
+ *       the intersection of the query's posting lists, then checked for a real substring match</li>
+ *   <li>Ranking: name matches before description-only matches, then currentMembers,
+ *       then lastMessageTime (most recent first)</li>
+ *   <li>Pagination: only the top (page + 1) * size matches are kept in a bounded heap</li>
+ * </ul>
+ *
+ * <h3>Updates (applied after commit):</h3>
+ * <ul>
+ *   <li>{@link #update(RoomEntity)}: create / update / delete - re-tokenizes name and description</li>
+ *   <li>{@link #touch(RoomEntity)}: member count and last message time only (no posting changes)</li>
+ * </ul>
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ *   <li>beam_room_discovery_rooms - Indexed rooms</li>
+ *   <li>beam_room_search_seconds - Search latency</li>
+ * </ul>
+ *
+ * @since 1.2.0
+ */
+@Service
+public class RoomDiscoveryIndex {
+
+    private static final int LOAD_BATCH_SIZE = 2000;
+
+    private static final Comparator<Candidate> RANKING = Comparator
+        .comparing(Candidate::nameMatch)
+        .thenComparingInt(Candidate::currentMembers)
+        .thenComparingLong(Candidate::lastMessageMillis)
+        .thenComparingLong(Candidate::roomId)
+        .reversed();
+
+    private final RoomRepository roomRepository;
+    private final boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // 아래 필드는 lock으로 보호 (문서의 활동 필드는 volatile이라 read lock으로 갱신 가능)
+    private RoomDocument[] documents = new RoomDocument[1024];
+    private int slotCount;
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private final Map<String, int[]> postings = new HashMap<>();
+
+    private volatile boolean ready;
+    private final Timer searchTimer;
+
+    public RoomDiscoveryIndex(
+            RoomRepository roomRepository,
+            MeterRegistry meterRegistry,
+            @Value("${room.discovery.enabled:true}") boolean enabled) {
+        this.roomRepository = roomRepository;
+        this.enabled = enabled;
+
+        Gauge.builder("beam_room_discovery_rooms", this, RoomDiscoveryIndex::size)
+                .description("Rooms in the discovery index")
+                .register(meterRegistry);
+
+        searchTimer = Timer.builder("beam_room_search_seconds")
+                .description("Room discovery search latency")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Thread loader = new Thread(this::load, "beam-room-discovery-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * 초기 적재 완료 여부. false면 호출자는 DB 검색으로 대체
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 순위순 방 ID 페이지 (page는 0부터)
+     */
+    public Page<Long> search(String keyword, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(page, size);
+        List<String> tokens = SearchTokenizer.queryTokens(keyword);
+        if (tokens.isEmpty()) {
+            return new PageImpl<>(List.of(), pageRequest, 0);
+        }
+        String needle = SearchTokenizer.normalize(keyword.trim());
+        // page는 클라이언트 값이므로 long으로 계산 (int overflow 방지)
+        long offset = (long) page * size;
+        long keep = offset + size;
+
+        return searchTimer.record(() -> {
+            // 최하위 후보가 head에 오도록 역순 힙. 일치하는 방 수만큼만 자라므로 초기 크기는 지정하지 않음
+            PriorityQueue<Candidate> top = new PriorityQueue<>(RANKING.reversed());
+            int total = 0;
+
+            lock.readLock().lock();
+            try {
+                int[][] lists = new int[tokens.size()][];
+                for (int i = 0; i < lists.length; i++) {
+                    lists[i] = postings.get(tokens.get(i));
+                    if (lists[i] == null) {
+                        return new PageImpl<>(List.<Long>of(), pageRequest, 0);
+                    }
+                }
+                Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+
+                for (int slot : lists[0]) {
+                    if (!containsAll(lists, slot)) {
+                        continue;
+                    }
+                    RoomDocument document = documents[slot];
+                    boolean nameMatch = document.name.contains(needle);
+                    if (!nameMatch && !document.description.contains(needle)) {
+                        continue;
+                    }
+                    total++;
+                    top.add(new Candidate(document.roomId, nameMatch, document.currentMembers, document.lastMessageMillis));
+                    if (top.size() > keep) {
+                        top.poll();
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            List<Candidate> ranked = new ArrayList<>(top);
+            ranked.sort(RANKING);
+            List<Long> roomIds = new ArrayList<>(size);
+            for (long i = offset; i < ranked.size(); i++) {
+                roomIds.add(ranked.get((int) i).roomId());
+            }
+            return new PageImpl<>(roomIds, pageRequest, total);
+        });
+    }
+
+    /**
+     * 방 생성/수정/삭제 반영 (비활성 방은 제거)
+     */
+    public void update(RoomEntity room) {
+        if (!enabled) {
+            return;
+        }
+        RoomDocument document = Boolean.TRUE.equals(room.getIsActive()) ? new RoomDocument(room) : null;
+        Long roomId = room.getId();
+        afterCommit(() -> {
+            if (document != null) {
+                put(document, true);
+            } else {
+                remove(roomId);
+            }
+        });
+    }
+
+    /**
+     * 멤버 수/마지막 메시지 시간만 반영
+     */
+    public void touch(RoomEntity room) {
+        if (!enabled) {
+            return;
+        }
+        Long roomId = room.getId();
+        int currentMembers = room.getCurrentMembers() != null ? room.getCurrentMembers() : 0;
+        long lastMessageMillis = toMillis(room);
+        afterCommit(() -> {
+            lock.readLock().lock();
+            try {
+                Integer slot = slots.get(roomId);
+                if (slot != null) {
+                    RoomDocument document = documents[slot];
+                    document.currentMembers = currentMembers;
+                    document.lastMessageMillis = Math.max(document.lastMessageMillis, lastMessageMillis);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    private void load() {
+        long startTime = System.currentTimeMillis();
+        try {
+            long afterId = 0;
+            while (true) {
+                List<RoomEntity> batch = roomRepository.findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(
+                    afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+                for (RoomEntity room : batch) {
+                    // 적재 중 update()로 이미 들어간 방은 그쪽이 더 최신
+                    put(new RoomDocument(room), false);
+                }
+                if (batch.size() < LOAD_BATCH_SIZE) {
+                    break;
+                }
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+            ready = true;
+            System.out.println("🏠 Room discovery index loaded: " + size() + " rooms in " +
+                (System.currentTimeMillis() - startTime) + "ms");
+        } catch (Exception e) {
+            System.err.println("❌ Room discovery index load failed (falling back to database search): " + e.getMessage());
+        }
+    }
+
+    private void put(RoomDocument document, boolean replace) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = slots.get(document.roomId);
+            if (existing != null) {
+                if (!replace) {
+                    return;
+                }
+                RoomDocument previous = documents[existing];
+                for (String token : previous.tokens) {
+                    if (!document.tokens.contains(token)) {
+                        removePosting(token, existing);
+                    }
+                }
+                for (String token : document.tokens) {
+                    if (!previous.tokens.contains(token)) {
+                        addPosting(token, existing);
+                    }
+                }
+                documents[existing] = document;
+                return;
+            }
+
+            int slot;
+            if (!freeSlots.isEmpty()) {
+                slot = freeSlots.pop();
+            } else {
+                if (slotCount == documents.length) {
+                    documents = Arrays.copyOf(documents, documents.length * 2);
+                }
+                slot = slotCount++;
+            }
+            documents[slot] = document;
+            slots.put(document.roomId, slot);
+            for (String token : document.tokens) {
+                addPosting(token, slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(Long roomId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slots.remove(roomId);
+            if (slot == null) {
+                return;
+            }
+            for (String token : documents[slot].tokens) {
+                removePosting(token, slot);
+            }
+            documents[slot] = null;
+            freeSlots.push(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addPosting(String token, int slot) {
+        int[] list = postings.get(token);
+        if (list == null) {
+            postings.put(token, new int[]{slot});
+            return;
+        }
+        int index = Arrays.binarySearch(list, slot);
+        if (index >= 0) {
+            return;
+        }
+        int insertAt = -index - 1;
+        int[] next = new int[list.length + 1];
+        System.arraycopy(list, 0, next, 0, insertAt);
+        next[insertAt] = slot;
+        System.arraycopy(list, insertAt, next, insertAt + 1, list.length - insertAt);
+        postings.put(token, next);
+    }
+
+    private void removePosting(String token, int slot) {
+        int[] list = postings.get(token);
+        if (list == null) {
+            return;
+        }
+        int index = Arrays.binarySearch(list, slot);
+        if (index < 0) {
+            return;
+        }
+        if (list.length == 1) {
+            postings.remove(token);
+            return;
+        }
+        int[] next = new int[list.length - 1];
+        System.arraycopy(list, 0, next, 0, index);
+        System.arraycopy(list, index + 1, next, index, list.length - index - 1);
+        postings.put(token, next);
+    }
+
+    private int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean containsAll(int[][] lists, int slot) {
+        for (int i = 1; i < lists.length; i++) {
+            if (Arrays.binarySearch(lists[i], slot) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long toMillis(RoomEntity room) {
+        return room.getLastMessageTime() != null
+            ? room.getLastMessageTime().toInstant(ZoneOffset.UTC).toEpochMilli()
+            : Long.MIN_VALUE;
+    }
+
+    // 롤백된 변경이 색인에 남지 않도록 커밋 후 반영 (트랜잭션 밖이면 즉시)
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // 정렬 중 활동 필드가 바뀌어도 비교 결과가 일관되도록 값 복사
+    private record Candidate(long roomId, boolean nameMatch, int currentMembers, long lastMessageMillis) {
+    }
+
+    // 색인된 방 한 개 (본문 필드는 불변, 활동 필드만 변경)
+    private static final class RoomDocument {
+        private final long roomId;
+        private final String name;
+        private final String description;
+        private final Set<String> tokens;
+        private volatile int currentMembers;
+        private volatile long lastMessageMillis;
+
+        private RoomDocument(RoomEntity room) {
+            this.roomId = room.getId();
+            this.name = room.getRoomName() != null ? SearchTokenizer.normalize(room.getRoomName()) : "";
+            this.description = room.getDescription() != null ? SearchTokenizer.normalize(room.getDescription()) : "";
+            Set<String> documentTokens = SearchTokenizer.documentTokens(room.getRoomName());
+            documentTokens.addAll(SearchTokenizer.documentTokens(room.getDescription()));
+            this.tokens = documentTokens;
+            this.currentMembers = room.getCurrentMembers() != null ? room.getCurrentMembers() : 0;
+            this.lastMessageMillis = toMillis(room);
+        }
+    }
+}
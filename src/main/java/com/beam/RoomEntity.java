@@ -10,6 +10,7 @@ import java.time.LocalDateTime;
 })
 public class RoomEntity {
 
+    // 새 방은 RoomService가 Snowflake id로 직접 INSERT (이전에 만든 방은 시퀀스 값)
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
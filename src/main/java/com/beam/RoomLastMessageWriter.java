@@ -0,0 +1,48 @@
+package com.beam;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WebSocket 채팅방의 마지막 메시지를 rooms 테이블에 반영
+ * - 방을 담당하는 노드({@link ConsistentHashRing})만 기록하므로 방마다 쓰는 노드는 하나
+ * - 메시지마다 UPDATE 하지 않고 방별 최신 값만 모아 주기적으로 한 번씩 반영
+ * - 담당 노드가 바뀌는 동안 두 노드가 쓰더라도 더 오래된 값으로 덮어쓰지 않음
+ */
+@Service
+public class RoomLastMessageWriter {
+
+    private final RoomRepository roomRepository;
+    private final Map<Long, LastMessage> pending = new ConcurrentHashMap<>();
+
+    public RoomLastMessageWriter(RoomRepository roomRepository) {
+        this.roomRepository = roomRepository;
+    }
+
+    public void record(Long roomId, String content, Long senderId, LocalDateTime time) {
+        pending.merge(roomId, new LastMessage(content, senderId, time),
+            (current, candidate) -> candidate.time().isBefore(current.time()) ? current : candidate);
+    }
+
+    @Scheduled(fixedDelayString = "${room.last-message.flush-interval-ms:2000}")
+    public void flush() {
+        for (Long roomId : pending.keySet()) {
+            LastMessage last = pending.remove(roomId);
+            if (last == null) {
+                continue;
+            }
+            try {
+                roomRepository.updateLastMessage(roomId, last.content(), last.time(), last.senderId());
+            } catch (RuntimeException e) {
+                System.err.println("방 마지막 메시지 반영 실패: " + roomId + " - " + e.getMessage());
+            }
+        }
+    }
+
+    private record LastMessage(String content, Long senderId, LocalDateTime time) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.beam;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Room Membership Cache
+ *
+ * <p>Answers "is this user an active member of this room?" for {@link StompAuthChannelInterceptor}
+ * from memory, so room SUBSCRIBE/SEND frames do not each run a membership query.
+ *
+ * <h3>Freshness:</h3>
+ * <ul>
+ *   <li>{@link RoomMembershipChangedEvent} (create, invite, remove, leave, delete) invalidates the
+ *       entry, or every entry of the room on delete, after commit</li>
+ *   <li>room.membership-cache.ttl-seconds bounds staleness for changes made on other nodes or
+ *       directly in the database - keep it short, a removed member can still send until then</li>
+ *   <li>Non-members are cached too, so probing foreign rooms cannot force a query per frame</li>
+ * </ul>
+ *
+ * <h3>Kill switch:</h3>
+ * <ul>
+ *   <li>room.membership-cache.enabled=false reads membership from the database on every frame</li>
+ * </ul>
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ *   <li>beam_room_membership_cache_hit_ratio - Hit ratio since start</li>
+ *   <li>cache_gets_total{cache="roomMembership"} and related Caffeine cache metrics</li>
+ * </ul>
+ *
+ * @since 1.2.0
+ */
+@Service
+public class RoomMembershipCache {
+
+    private final RoomMemberRepository roomMemberRepository;
+    private final boolean enabled;
+    private final Cache<Membership, Boolean> cache;
+
+    public RoomMembershipCache(
+            RoomMemberRepository roomMemberRepository,
+            MeterRegistry meterRegistry,
+            @Value("${room.membership-cache.enabled:true}") boolean enabled,
+            @Value("${room.membership-cache.max-size:100000}") long maxSize,
+            @Value("${room.membership-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.roomMemberRepository = roomMemberRepository;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "roomMembership");
+        Gauge.builder("beam_room_membership_cache_hit_ratio", cache, c -> c.stats().hitRate())
+                .description("Hit ratio of the STOMP room membership cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 방의 활성 멤버인지
+     */
+    public boolean isMember(Long roomId, Long userId) {
+        if (roomId == null || userId == null) {
+            return false;
+        }
+        Membership key = new Membership(roomId, userId);
+        if (!enabled) {
+            return fetch(key);
+        }
+        return cache.get(key, this::fetch);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipChanged(RoomMembershipChangedEvent event) {
+        Long roomId = event.getRoomId();
+        if (roomId == null) {
+            return;
+        }
+        if (event.getUserId() != null) {
+            cache.invalidate(new Membership(roomId, event.getUserId()));
+        } else {
+            cache.asMap().keySet().removeIf(key -> key.roomId().equals(roomId));
+        }
+    }
+
+    private boolean fetch(Membership key) {
+        return roomMemberRepository.existsByRoomIdAndUserIdAndIsActiveTrue(key.roomId(), key.userId());
+    }
+
+    private record Membership(Long roomId, Long userId) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.beam;
+
+/**
+ * 방 멤버십 변경 (생성/초대/내보내기/나가기/방 삭제)
+ * - {@link RoomMembershipCache}가 커밋 후 해당 항목을 무효화
+ * - userId가 null이면 방 전체 (방 삭제)
+ */
+public class RoomMembershipChangedEvent {
+
+    private final Long roomId;
+    private final Long userId;
+
+    public RoomMembershipChangedEvent(Long roomId, Long userId) {
+        this.roomId = roomId;
+        this.userId = userId;
+    }
+
+    public Long getRoomId() { return roomId; }
+
+    public Long getUserId() { return userId; }
+}
@@ -0,0 +1,108 @@
+package com.beam;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별/채팅방별 읽음 위치 (watermark)
+ * - 메시지마다 읽음 표시를 남기는 대신 마지막으로 읽은 메시지 하나만 기록
+ * - 안읽은 수 = 해당 시각 이후 메시지 수 (room_id, timestamp 인덱스 범위 조회)
+ */
+@Entity
+@Table(name = "room_read_states", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"room_id", "user_id"})
+})
+public class RoomReadStateEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_id", nullable = false, length = 50)
+    private String roomId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "last_read_message_id")
+    private Long lastReadMessageId;
+
+    @Column(name = "last_read_at", nullable = false)
+    private LocalDateTime lastReadAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public RoomReadStateEntity() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public RoomReadStateEntity(String roomId, Long userId) {
+        this.roomId = roomId;
+        this.userId = userId;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * 더 최신 메시지일 때만 watermark를 앞으로 이동
+     *
+     * @return watermark가 변경되었으면 true
+     */
+    public boolean advanceTo(MessageEntity message) {
+        if (lastReadAt != null && !message.getTimestamp().isAfter(lastReadAt)) {
+            return false;
+        }
+        this.lastReadMessageId = message.getId();
+        this.lastReadAt = message.getTimestamp();
+        this.updatedAt = LocalDateTime.now();
+        return true;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(String roomId) {
+        this.roomId = roomId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getLastReadMessageId() {
+        return lastReadMessageId;
+    }
+
+    public void setLastReadMessageId(Long lastReadMessageId) {
+        this.lastReadMessageId = lastReadMessageId;
+    }
+
+    public LocalDateTime getLastReadAt() {
+        return lastReadAt;
+    }
+
+    public void setLastReadAt(LocalDateTime lastReadAt) {
+        this.lastReadAt = lastReadAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
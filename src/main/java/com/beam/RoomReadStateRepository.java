@@ -0,0 +1,30 @@
+package com.beam;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RoomReadStateRepository extends JpaRepository<RoomReadStateEntity, Long> {
+
+    Optional<RoomReadStateEntity> findByRoomIdAndUserId(String roomId, Long userId);
+
+    // 더 최신 메시지일 때만 watermark 이동 (조건부 UPDATE라 동시 읽음 처리에도 뒤로 가지 않음, 행이 없으면 0)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE RoomReadStateEntity s SET s.lastReadMessageId = :messageId, s.lastReadAt = :readAt, " +
+           "s.updatedAt = :now WHERE s.roomId = :roomId AND s.userId = :userId AND s.lastReadAt < :readAt")
+    int advanceWatermark(@Param("roomId") String roomId, @Param("userId") Long userId,
+                         @Param("messageId") Long messageId, @Param("readAt") LocalDateTime readAt,
+                         @Param("now") LocalDateTime now);
+
+    // 특정 시각의 메시지까지 읽은 사용자 수
+    @Query("SELECT COUNT(s) FROM RoomReadStateEntity s WHERE s.roomId = :roomId AND s.lastReadAt >= :timestamp")
+    long countReadersSince(@Param("roomId") String roomId, @Param("timestamp") LocalDateTime timestamp);
+}
@@ -1,10 +1,14 @@
 package com.beam;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +28,30 @@ public interface RoomRepository extends JpaRepository<RoomEntity, Long> {
            "(r.roomName LIKE %:keyword% OR r.description LIKE %:keyword%)")
     List<RoomEntity> searchRooms(@Param("keyword") String keyword);
 
+    // 방 검색 색인 초기 적재용 (id keyset)
+    List<RoomEntity> findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
     @Query("SELECT COUNT(r) FROM RoomEntity r WHERE r.createdBy = :userId AND r.isActive = true")
     Integer countRoomsByUser(@Param("userId") Long userId);
+
+    // Snowflake id로 생성. save()는 IDENTITY 규칙 때문에 지정한 id 대신 DB 시퀀스 값을 쓰므로 INSERT로 직접 생성
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO rooms (id, room_name, description, room_type, created_by, max_members, " +
+                   "current_members, is_active, created_at) " +
+                   "VALUES (:id, :roomName, :description, :roomType, :createdBy, :maxMembers, 1, true, :createdAt)",
+           nativeQuery = true)
+    int insertRoom(@Param("id") Long id, @Param("roomName") String roomName,
+                   @Param("description") String description, @Param("roomType") String roomType,
+                   @Param("createdBy") Long createdBy, @Param("maxMembers") Integer maxMembers,
+                   @Param("createdAt") LocalDateTime createdAt);
+
+    // 더 최신 메시지가 이미 반영되어 있으면 덮어쓰지 않음
+    @Transactional
+    @Modifying
+    @Query("UPDATE RoomEntity r SET r.lastMessage = :content, r.lastMessageTime = :time, " +
+           "r.lastMessageSenderId = :senderId " +
+           "WHERE r.id = :roomId AND (r.lastMessageTime IS NULL OR r.lastMessageTime <= :time)")
+    int updateLastMessage(@Param("roomId") Long roomId, @Param("content") String content,
+                          @Param("time") LocalDateTime time, @Param("senderId") Long senderId);
 }
\ No newline at end of file
@@ -4,11 +4,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Room Service
@@ -33,6 +43,18 @@ public class RoomService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private MessageSearchIndex messageSearchIndex;
+
+    @Autowired
+    private RoomDiscoveryIndex roomDiscoveryIndex;
+
+    @Autowired
+    private SnowflakeIdGenerator idGenerator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Transactional
     @CacheEvict(value = "chatRooms", key = "'userRooms:' + #creatorId")
     public RoomEntity createRoom(Long creatorId, String roomName, String description,
@@ -42,17 +64,14 @@ public class RoomService {
         userRepository.findById(creatorId)
             .orElseThrow(() -> new RuntimeException("User not found"));
 
-        RoomEntity room = RoomEntity.builder()
-            .roomName(roomName)
-            .description(description)
-            .roomType(roomType != null ? roomType : RoomEntity.RoomType.PUBLIC)
-            .createdBy(creatorId)
-            .maxMembers(maxMembers != null ? maxMembers : 100)
-            .currentMembers(1)
-            .isActive(true)
-            .build();
-
-        room = roomRepository.save(room);
+        // 노드마다 충돌 없이 서버에서 바로 부여하는 id (REST와 WebSocket에서 만든 방이 같은 id 공간을 씀)
+        long roomId = idGenerator.nextId();
+        roomRepository.insertRoom(roomId, roomName, description,
+            (roomType != null ? roomType : RoomEntity.RoomType.PUBLIC).name(), creatorId,
+            maxMembers != null ? maxMembers : 100, LocalDateTime.now());
+        RoomEntity room = roomRepository.findById(roomId)
+            .orElseThrow(() -> new RuntimeException("Room not found"));
+        roomDiscoveryIndex.update(room);
 
         RoomMemberEntity creator = RoomMemberEntity.builder()
             .roomId(room.getId())
@@ -62,6 +81,7 @@ public class RoomService {
             .build();
 
         roomMemberRepository.save(creator);
+        eventPublisher.publishEvent(new RoomMembershipChangedEvent(roomId, creatorId));
 
         return room;
     }
@@ -88,7 +108,9 @@ public class RoomService {
         if (description != null) room.setDescription(description);
         if (maxMembers != null) room.setMaxMembers(maxMembers);
 
-        return roomRepository.save(room);
+        room = roomRepository.save(room);
+        roomDiscoveryIndex.update(room);
+        return room;
     }
 
     @Transactional
@@ -106,6 +128,7 @@ public class RoomService {
 
         room.setIsActive(false);
         roomRepository.save(room);
+        roomDiscoveryIndex.update(room);
 
         List<RoomMemberEntity> members = roomMemberRepository.findByRoomIdAndIsActiveTrue(roomId);
         members.forEach(m -> {
@@ -113,6 +136,7 @@ public class RoomService {
             m.setLeftAt(LocalDateTime.now());
         });
         roomMemberRepository.saveAll(members);
+        eventPublisher.publishEvent(new RoomMembershipChangedEvent(roomId, null));
     }
 
     @Transactional
@@ -142,9 +166,11 @@ public class RoomService {
             .build();
 
         roomMemberRepository.save(newMember);
+        eventPublisher.publishEvent(new RoomMembershipChangedEvent(roomId, userId));
 
         room.incrementMemberCount();
         roomRepository.save(room);
+        roomDiscoveryIndex.touch(room);
     }
 
     @Transactional
@@ -170,9 +196,11 @@ public class RoomService {
         member.setIsActive(false);
         member.setLeftAt(LocalDateTime.now());
         roomMemberRepository.save(member);
+        eventPublisher.publishEvent(new RoomMembershipChangedEvent(roomId, userId));
 
         room.decrementMemberCount();
         roomRepository.save(room);
+        roomDiscoveryIndex.touch(room);
     }
 
     @Transactional
@@ -195,13 +223,14 @@ public class RoomService {
         member.setIsActive(false);
         member.setLeftAt(LocalDateTime.now());
         roomMemberRepository.save(member);
+        eventPublisher.publishEvent(new RoomMembershipChangedEvent(roomId, userId));
 
         room.decrementMemberCount();
         roomRepository.save(room);
+        roomDiscoveryIndex.touch(room);
     }
 
     @Transactional
-    @CacheEvict(value = "messages", key = "#roomId")
     public GroupMessageEntity sendMessage(Long roomId, Long senderId, String content,
                                           GroupMessageEntity.MessageType messageType) {
         RoomEntity room = roomRepository.findByIdAndIsActiveTrue(roomId)
@@ -230,11 +259,14 @@ public class RoomService {
             .build();
 
         message = groupMessageRepository.save(message);
+        // 롤백되더라도 검색 시 DB 재확인 단계에서 걸러짐
+        messageSearchIndex.index(message);
 
         room.setLastMessage(content);
         room.setLastMessageTime(message.getTimestamp());
         room.setLastMessageSenderId(senderId);
         roomRepository.save(room);
+        roomDiscoveryIndex.touch(room);
 
         List<RoomMemberEntity> members = roomMemberRepository.findByRoomIdAndIsActiveTrue(roomId);
         for (RoomMemberEntity member : members) {
@@ -247,13 +279,36 @@ public class RoomService {
         return message;
     }
 
+    /**
+     * 채팅방 메시지 keyset 페이지 조회
+     *
+     * @param before 이 커서보다 오래된 메시지 (null이면 최신 페이지)
+     * @param after  이 커서보다 최신 메시지 (지정 시 before보다 우선)
+     */
     @Transactional(readOnly = true)
-    @Cacheable(value = "messages", key = "#roomId")
-    public List<GroupMessageEntity> getRoomMessages(Long roomId, Long userId) {
+    public MessagePage<GroupMessageEntity> getRoomMessages(Long roomId, Long userId, String before,
+                                                           String after, Integer limit) {
         roomMemberRepository.findByRoomIdAndUserIdAndIsActiveTrue(roomId, userId)
             .orElseThrow(() -> new RuntimeException("Not a member of this room"));
 
-        return groupMessageRepository.findTop100ByRoomIdAndIsDeletedFalseOrderByTimestampDesc(roomId);
+        int size = MessagePage.clampLimit(limit);
+        Pageable page = PageRequest.of(0, size + 1);
+
+        if (after != null) {
+            MessageCursor cursor = MessageCursor.decode(after);
+            return MessagePage.fromAscending(
+                groupMessageRepository.findPageAfter(roomId, cursor.getTimestamp(), cursor.getId(), page),
+                size, GroupMessageEntity::toCursor);
+        }
+
+        List<GroupMessageEntity> rows;
+        if (before != null) {
+            MessageCursor cursor = MessageCursor.decode(before);
+            rows = groupMessageRepository.findPageBefore(roomId, cursor.getTimestamp(), cursor.getId(), page);
+        } else {
+            rows = groupMessageRepository.findLatestPage(roomId, page);
+        }
+        return MessagePage.fromDescending(rows, size, GroupMessageEntity::toCursor);
     }
 
     @Transactional
@@ -284,8 +339,38 @@ public class RoomService {
         return roomMemberRepository.findByRoomIdAndIsActiveTrue(roomId);
     }
 
+    /**
+     * 방 검색 - 이름/설명 일치, 이름 일치 → 멤버 수 → 최근 메시지 순 (page는 0부터)
+     * - {@link RoomDiscoveryIndex}에서 순위를 정하고 해당 페이지의 방만 ID로 조회
+     * - 색인 적재 전에는 DB LIKE 검색 결과를 같은 기준으로 정렬
+     */
     @Transactional(readOnly = true)
-    public List<RoomEntity> searchRooms(String keyword) {
-        return roomRepository.searchRooms(keyword);
+    public Page<RoomEntity> searchRooms(String keyword, int page, int size) {
+        if (!roomDiscoveryIndex.isReady()) {
+            return searchRoomsInDatabase(keyword, page, size);
+        }
+
+        Page<Long> roomIds = roomDiscoveryIndex.search(keyword, page, size);
+        Map<Long, RoomEntity> rooms = roomRepository.findAllById(roomIds.getContent()).stream()
+            .collect(Collectors.toMap(RoomEntity::getId, Function.identity()));
+        List<RoomEntity> content = roomIds.getContent().stream()
+            .map(rooms::get)
+            .filter(Objects::nonNull)
+            .filter(room -> Boolean.TRUE.equals(room.getIsActive()))
+            .toList();
+        return new PageImpl<>(content, roomIds.getPageable(), roomIds.getTotalElements());
+    }
+
+    private Page<RoomEntity> searchRoomsInDatabase(String keyword, int page, int size) {
+        List<RoomEntity> rooms = roomRepository.searchRooms(keyword).stream()
+            .sorted(Comparator.comparing((RoomEntity room) -> room.getRoomName().contains(keyword))
+                .thenComparing(RoomEntity::getCurrentMembers, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(RoomEntity::getLastMessageTime, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(RoomEntity::getId)
+                .reversed())
+            .toList();
+        int from = (int) Math.min((long) page * size, rooms.size());
+        int to = Math.min(from + size, rooms.size());
+        return new PageImpl<>(rooms.subList(from, to), PageRequest.of(page, size), rooms.size());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,33 @@
+package com.beam;
+
+import java.util.List;
+
+/**
+ * 메시지 검색 후보 조회 방식 ({@code search.backend} 설정으로 선택)
+ * - index: 애플리케이션 내장 n-gram 색인 ({@link IndexSearchBackend})
+ * - database: DB에서 한 번의 집합 쿼리로 조회 ({@link DatabaseSearchBackend})
+ *
+ * 반환 문서는 최신순이며 사용자가 접근 가능한 방/대화로 이미 제한되어 있음.
+ * 본문 일치 여부와 삭제 여부는 {@link MessageSearchService}가 다시 확인한다.
+ */
+public interface SearchBackend {
+
+    String getName();
+
+    /**
+     * @param type   "DM", "ROOM" 또는 null(전체)
+     * @param before 이 커서보다 오래된 메시지만 (null이면 최신부터)
+     */
+    List<SearchDocument> search(Long userId, String keyword, String type, MessageCursor before, int limit);
+
+    /**
+     * false면 아직 준비 중이라 결과가 불완전할 수 있음
+     */
+    boolean isReady();
+
+    /**
+     * 검색에 사용하도록 선택되었을 때 한 번 호출
+     */
+    default void activate() {
+    }
+}
@@ -1,9 +1,14 @@
 package com.beam;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.*;
 
 @RestController
@@ -16,11 +21,16 @@ public class SearchController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping("/messages")
     public ResponseEntity<?> searchMessages(
             @RequestHeader("Authorization") String token,
             @RequestParam String keyword,
-            @RequestParam(required = false) String type) {
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer limit) {
         try {
             String jwtToken = token.replace("Bearer ", "");
             Long userId = jwtUtil.getUserIdFromToken(jwtToken);
@@ -29,20 +39,15 @@ public class SearchController {
                 return ResponseEntity.badRequest().body(Map.of("error", "Keyword is required"));
             }
 
-            List<Map<String, Object>> results;
-
-            if ("DM".equalsIgnoreCase(type)) {
-                results = messageSearchService.searchDirectMessages(userId, keyword);
-            } else if ("ROOM".equalsIgnoreCase(type)) {
-                results = messageSearchService.searchRoomMessages(userId, keyword);
-            } else {
-                results = messageSearchService.searchAllMessages(userId, keyword);
-            }
+            SearchResultPage page = messageSearchService.search(userId, keyword, type, before, limit);
 
             Map<String, Object> response = new HashMap<>();
             response.put("keyword", keyword);
-            response.put("count", results.size());
-            response.put("results", results);
+            response.put("count", page.getResults().size());
+            response.put("results", page.getResults());
+            response.put("nextCursor", page.getNextCursor());
+            response.put("hasMore", page.isHasMore());
+            response.put("indexReady", page.isIndexReady());
 
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -51,4 +56,61 @@ public class SearchController {
             return ResponseEntity.badRequest().body(error);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 검색 결과를 찾는 즉시 한 줄씩 보내는 NDJSON 스트림
+     * - 결과 한 건당 한 줄 (형식은 /messages의 results 항목과 동일)
+     * - 마지막 줄: {"done": true, "count", "nextCursor", "indexReady"}
+     * - 클라이언트가 연결을 끊으면 남은 후보는 조회하지 않음
+     */
+    @GetMapping("/messages/stream")
+    public ResponseEntity<?> streamMessages(
+            @RequestHeader("Authorization") String token,
+            @RequestParam String keyword,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            String jwtToken = token.replace("Bearer ", "");
+            Long userId = jwtUtil.getUserIdFromToken(jwtToken);
+
+            if (keyword == null || keyword.trim().isEmpty()) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Keyword is required"));
+            }
+
+            MessageSearchService.ResultStream results = messageSearchService.openStream(userId, keyword, type, before, limit);
+
+            StreamingResponseBody body = out -> {
+                int count = 0;
+                try {
+                    while (results.hasNext()) {
+                        writeLine(out, results.next());
+                        count++;
+                    }
+                    Map<String, Object> summary = new HashMap<>();
+                    summary.put("done", true);
+                    summary.put("count", count);
+                    summary.put("nextCursor", results.getNextCursor());
+                    summary.put("indexReady", results.isIndexReady());
+                    writeLine(out, summary);
+                } catch (RuntimeException e) {
+                    writeLine(out, Map.of("error", String.valueOf(e.getMessage())));
+                }
+            };
+
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
+        out.flush();
+    }
+}
@@ -0,0 +1,90 @@
+package com.beam;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+
+/**
+ * 검색 색인에 저장되는 메시지 한 건 (본문은 저장하지 않음)
+ * - scope: 권한 필터링 단위 ("R:{roomId}" 또는 "D:{conversationId}")
+ * - timestampMicros: 최신순 정렬/커서 비교용 (LocalDateTime을 UTC 기준 epoch 마이크로초로 변환)
+ */
+public final class SearchDocument {
+
+    public enum Kind { DM, ROOM }
+
+    // 최신순 (timestamp, messageId, kind 내림차순)
+    static final Comparator<SearchDocument> NEWEST_FIRST = Comparator
+        .comparingLong(SearchDocument::getTimestampMicros)
+        .thenComparingLong(SearchDocument::getMessageId)
+        .thenComparing(SearchDocument::getKind)
+        .reversed();
+
+    private final Kind kind;
+    private final long messageId;
+    private final String scope;
+    private final long timestampMicros;
+
+    SearchDocument(Kind kind, long messageId, String scope, long timestampMicros) {
+        this.kind = kind;
+        this.messageId = messageId;
+        this.scope = scope;
+        this.timestampMicros = timestampMicros;
+    }
+
+    static SearchDocument of(GroupMessageEntity message) {
+        return new SearchDocument(Kind.ROOM, message.getId(), roomScope(message.getRoomId()),
+            toMicros(message.getTimestamp()));
+    }
+
+    static SearchDocument of(DirectMessageEntity message) {
+        return new SearchDocument(Kind.DM, message.getId(), conversationScope(message.getConversationId()),
+            toMicros(message.getTimestamp()));
+    }
+
+    static String roomScope(Long roomId) {
+        return "R:" + roomId;
+    }
+
+    static String conversationScope(String conversationId) {
+        return "D:" + conversationId;
+    }
+
+    static long toMicros(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+            (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    // 중복 제거용 키 (같은 메시지가 여러 세그먼트에 색인될 수 있음)
+    String key() {
+        return kind.name() + ":" + messageId;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public long getMessageId() {
+        return messageId;
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    public long getTimestampMicros() {
+        return timestampMicros;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return fromMicros(timestampMicros);
+    }
+
+    public MessageCursor toCursor() {
+        return MessageCursor.of(getTimestamp(), messageId);
+    }
+}
@@ -0,0 +1,44 @@
+package com.beam;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 색인 세그먼트에 전달되는 검색 조건
+ * - tokens: 모두 포함해야 하는 n-gram 토큰
+ * - scopes: 사용자가 볼 수 있는 방/대화 scope (그 외 문서는 제외)
+ * - before: 이 커서보다 오래된 문서만 (null이면 최신부터)
+ */
+final class SearchQuery {
+
+    private final List<String> tokens;
+    private final Set<String> scopes;
+    private final Long beforeMicros;
+    private final long beforeId;
+
+    SearchQuery(List<String> tokens, Set<String> scopes, MessageCursor before) {
+        this.tokens = tokens;
+        this.scopes = scopes;
+        this.beforeMicros = before != null ? SearchDocument.toMicros(before.getTimestamp()) : null;
+        this.beforeId = before != null ? before.getId() : 0L;
+    }
+
+    List<String> getTokens() {
+        return tokens;
+    }
+
+    Set<String> getScopes() {
+        return scopes;
+    }
+
+    boolean isBefore(long timestampMicros, long messageId) {
+        return beforeMicros == null
+            || timestampMicros < beforeMicros
+            || (timestampMicros == beforeMicros && messageId < beforeId);
+    }
+
+    // 세그먼트의 모든 문서가 커서 이후라 건너뛰어도 되는지
+    boolean excludesAllFrom(long minTimestampMicros) {
+        return beforeMicros != null && minTimestampMicros > beforeMicros;
+    }
+}
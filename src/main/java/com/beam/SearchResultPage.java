@@ -0,0 +1,40 @@
+package com.beam;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 메시지 검색 결과 페이지 (최신순)
+ * - nextCursor: 더 오래된 결과 요청용 (hasMore가 false면 null)
+ * - indexReady: false면 검색 색인을 생성 중이라 결과가 불완전할 수 있음
+ */
+public class SearchResultPage {
+
+    private final List<Map<String, Object>> results;
+    private final String nextCursor;
+    private final boolean hasMore;
+    private final boolean indexReady;
+
+    public SearchResultPage(List<Map<String, Object>> results, String nextCursor, boolean hasMore, boolean indexReady) {
+        this.results = results;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.indexReady = indexReady;
+    }
+
+    public List<Map<String, Object>> getResults() {
+        return results;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public boolean isIndexReady() {
+        return indexReady;
+    }
+}
@@ -0,0 +1,59 @@
+package com.beam;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * 한 종류(DM 또는 ROOM)의 검색 후보를 최신순으로 필요한 만큼만 읽는 iterator
+ * - {@link SearchBackend}를 keyset 커서로 페이지 단위 조회
+ * - 첫 페이지는 작게, 이후 두 배씩 키움 (첫 결과 지연 최소화 + 긴 스캔의 왕복 횟수 절감)
+ */
+final class SearchSourceIterator implements Iterator<SearchDocument> {
+
+    private static final int MAX_CHUNK = 256;
+
+    private final SearchBackend backend;
+    private final Long userId;
+    private final String keyword;
+    private final String type;
+    private final Deque<SearchDocument> buffer = new ArrayDeque<>();
+    private MessageCursor cursor;
+    private int chunk;
+    private boolean exhausted;
+
+    SearchSourceIterator(SearchBackend backend, Long userId, String keyword, String type,
+                         MessageCursor before, int firstChunk) {
+        this.backend = backend;
+        this.userId = userId;
+        this.keyword = keyword;
+        this.type = type;
+        this.cursor = before;
+        this.chunk = Math.max(1, Math.min(firstChunk, MAX_CHUNK));
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (buffer.isEmpty() && !exhausted) {
+            List<SearchDocument> page = backend.search(userId, keyword, type, cursor, chunk);
+            buffer.addAll(page);
+            if (page.size() < chunk) {
+                exhausted = true;
+            } else {
+                cursor = page.get(page.size() - 1).toCursor();
+                chunk = Math.min(chunk * 2, MAX_CHUNK);
+            }
+        }
+        return !buffer.isEmpty();
+    }
+
+    @Override
+    public SearchDocument next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return buffer.poll();
+    }
+}
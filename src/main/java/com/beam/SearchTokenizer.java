@@ -0,0 +1,92 @@
+package com.beam;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 검색 색인용 n-gram 토크나이저
+ * - NFKC 정규화 + 소문자 변환 후 글자/숫자 연속 구간(run)으로 분리
+ * - 한글은 형태소 분석 없이 음절 단위 n-gram으로 처리 (조사가 붙어도 "회의" 같은 부분 문자열로 검색 가능)
+ * - 문서: 각 run의 unigram + bigram, 질의: 2글자 이상 run은 bigram, 1글자 run은 unigram
+ */
+final class SearchTokenizer {
+
+    private SearchTokenizer() {
+    }
+
+    static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 문서 색인 토큰 (중복 제거)
+     */
+    static Set<String> documentTokens(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String run : runs(normalize(text))) {
+            for (int i = 0; i < run.length(); ) {
+                int first = run.codePointAt(i);
+                int next = i + Character.charCount(first);
+                tokens.add(new String(Character.toChars(first)));
+                if (next < run.length()) {
+                    int second = run.codePointAt(next);
+                    tokens.add(new String(Character.toChars(first)) + new String(Character.toChars(second)));
+                }
+                i = next;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 질의 토큰 - 모든 토큰을 포함하는 문서가 후보 (부분 문자열 일치 여부는 호출자가 원문으로 재확인)
+     */
+    static List<String> queryTokens(String keyword) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String run : runs(normalize(keyword))) {
+            int length = run.codePointCount(0, run.length());
+            if (length == 1) {
+                tokens.add(run);
+                continue;
+            }
+            for (int i = 0; i < run.length(); ) {
+                int first = run.codePointAt(i);
+                int next = i + Character.charCount(first);
+                if (next < run.length()) {
+                    int second = run.codePointAt(next);
+                    tokens.add(new String(Character.toChars(first)) + new String(Character.toChars(second)));
+                }
+                i = next;
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    private static List<String> runs(String text) {
+        List<String> runs = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                runs.add(text.substring(start, i));
+                start = -1;
+            }
+            i += Character.charCount(codePoint);
+        }
+        if (start >= 0) {
+            runs.add(text.substring(start));
+        }
+        return runs;
+    }
+}
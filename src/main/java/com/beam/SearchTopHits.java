@@ -0,0 +1,59 @@
+package com.beam;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * 최신순 상위 k개 문서를 유지하는 bounded heap
+ * - 같은 메시지가 여러 세그먼트에서 나오면 한 번만 포함
+ * - offer가 false면 이후(더 오래된) 문서는 들어올 수 없으므로 세그먼트 순회를 멈춰도 됨
+ */
+final class SearchTopHits {
+
+    private final int limit;
+    // 가장 오래된 문서가 head (NEWEST_FIRST의 역순)
+    private final PriorityQueue<SearchDocument> heap;
+    private final Set<String> keys = new HashSet<>();
+
+    SearchTopHits(int limit) {
+        this.limit = limit;
+        this.heap = new PriorityQueue<>(limit + 1, SearchDocument.NEWEST_FIRST.reversed());
+    }
+
+    boolean offer(SearchDocument document) {
+        if (keys.contains(document.key())) {
+            return true;
+        }
+        if (heap.size() < limit) {
+            add(document);
+            return true;
+        }
+        if (SearchDocument.NEWEST_FIRST.compare(document, heap.peek()) >= 0) {
+            return false;
+        }
+        keys.remove(heap.poll().key());
+        add(document);
+        return true;
+    }
+
+    /**
+     * 최대 timestamp가 이 값인 세그먼트에서 더 들어올 문서가 없는지
+     */
+    boolean isSaturatedBefore(long maxTimestampMicros) {
+        return heap.size() >= limit && maxTimestampMicros < heap.peek().getTimestampMicros();
+    }
+
+    List<SearchDocument> toList() {
+        List<SearchDocument> documents = new ArrayList<>(heap);
+        documents.sort(SearchDocument.NEWEST_FIRST);
+        return documents;
+    }
+
+    private void add(SearchDocument document) {
+        heap.add(document);
+        keys.add(document.key());
+    }
+}
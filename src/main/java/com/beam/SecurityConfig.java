@@ -1,5 +1,6 @@
 package com.beam;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -56,6 +57,8 @@ public class SecurityConfig {
                     "/ws/**",       // WebSocket SockJS fallback
                     "/chat",        // WebSocket 엔드포인트
                     "/chat/**",     // WebSocket SockJS fallback
+                    "/stomp",       // STOMP 엔드포인트 (CONNECT 프레임에서 인증)
+                    "/stomp/**",    // STOMP SockJS fallback
                     "/",
                     "/index.html",
                     "/chat.html",
@@ -70,6 +73,8 @@ public class SecurityConfig {
                 ).permitAll()
                 // H2 콘솔 (개발 환경만)
                 .requestMatchers("/h2-console/**").permitAll()
+                // 스트리밍 응답 완료 시의 ASYNC 재디스패치 (최초 요청에서 이미 인증됨)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 // 나머지 모든 요청은 인증 필요
                 .anyRequest().authenticated()
             )
@@ -0,0 +1,71 @@
+package com.beam;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Snowflake 방식의 64비트 ID 생성기
+ * - 41비트: 커스텀 epoch 이후 밀리초
+ * - 10비트: 노드 ID (app.node-id)
+ * - 12비트: 같은 밀리초 내 시퀀스
+ *
+ * DB 왕복 없이 서버에서 바로 ID를 부여할 수 있고, 시간 순으로 정렬되며,
+ * BIGSERIAL 시퀀스 값 범위보다 훨씬 커서 기존 ID와 충돌하지 않음
+ */
+@Component
+public class SnowflakeIdGenerator {
+
+    // 2024-01-01T00:00:00Z
+    private static final long EPOCH = 1704067200000L;
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId;
+    private long lastTimestamp = -1L;
+    private long sequence = 0L;
+
+    public SnowflakeIdGenerator(@Value("${app.node-id:0}") long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("app.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+    }
+
+    public synchronized long nextId() {
+        long timestamp = System.currentTimeMillis();
+
+        // 시계가 뒤로 간 경우 마지막 시각을 계속 사용 (ID 단조 증가 보장)
+        if (timestamp < lastTimestamp) {
+            timestamp = lastTimestamp;
+        }
+
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                timestamp = waitNextMillis(lastTimestamp);
+            }
+        } else {
+            sequence = 0L;
+        }
+
+        lastTimestamp = timestamp;
+        return ((timestamp - EPOCH) << (NODE_BITS + SEQUENCE_BITS))
+            | (nodeId << SEQUENCE_BITS)
+            | sequence;
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    private long waitNextMillis(long last) {
+        long timestamp = System.currentTimeMillis();
+        while (timestamp <= last) {
+            Thread.onSpinWait();
+            timestamp = System.currentTimeMillis();
+        }
+        return timestamp;
+    }
+}
@@ -0,0 +1,164 @@
+package com.beam;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.Map;
+
+/**
+ * STOMP 인증 (clientInboundChannel)
+ * - CONNECT 프레임의 Authorization(또는 token) 헤더를 한 번만 검증하고 {@link StompPrincipal}을 세션에 연결
+ * - 이후 SEND/SUBSCRIBE 프레임은 Spring이 세션의 Principal을 붙여주므로 프레임마다 JWT 검증 없음
+ * - 토큰이 없으면 게스트 세션 (Principal 없음), 토큰이 잘못되었거나 비활성 사용자면 ERROR 프레임으로 거부
+ * - 방 토픽(/topic/room.{roomId}, /topic/room.{roomId}.typing) SUBSCRIBE 와 /app/room.* SEND,
+ *   본문에 roomId가 있는 /app/typing SEND 는 게스트를 거부하고 {@link RoomMembershipCache}로 활성 멤버인지 확인
+ */
+@Component
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final String ROOM_TOPIC_PREFIX = "/topic/room.";
+    private static final String ROOM_SEND_PREFIX = "/app/room.";
+    private static final String TYPING_DESTINATION = "/app/typing";
+
+    private final JwtUtil jwtUtil;
+    private final UserStatusCache userStatusCache;
+    private final RoomMembershipCache roomMembershipCache;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public StompAuthChannelInterceptor(JwtUtil jwtUtil, UserStatusCache userStatusCache,
+                                       RoomMembershipCache roomMembershipCache) {
+        this.jwtUtil = jwtUtil;
+        this.userStatusCache = userStatusCache;
+        this.roomMembershipCache = roomMembershipCache;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        switch (accessor.getCommand()) {
+            case CONNECT -> authenticate(accessor);
+            case SUBSCRIBE -> authorizeSubscribe(accessor);
+            case SEND -> authorizeSend(accessor, message);
+            default -> { }
+        }
+        return message;
+    }
+
+    private void authenticate(StompHeaderAccessor accessor) {
+        String token = accessor.getFirstNativeHeader("Authorization");
+        if (token == null) {
+            token = accessor.getFirstNativeHeader("token");
+        }
+        if (token == null || token.isEmpty() || "guest".equals(token)) {
+            return;
+        }
+        if (token.startsWith("Bearer ")) {
+            token = token.substring(7);
+        }
+
+        TokenClaims claims = jwtUtil.verifyOrNull(token);
+        if (claims == null || !userStatusCache.isActive(claims.userId())) {
+            throw new MessageDeliveryException("Invalid or expired token");
+        }
+
+        accessor.setUser(new StompPrincipal(claims.userId(), claims.username()));
+        // WebSocketEventListener가 연결/해제 시 온라인 상태 갱신에 사용
+        Map<String, Object> sessionAttributes = accessor.getSessionAttributes();
+        if (sessionAttributes != null) {
+            sessionAttributes.put("userId", claims.userId());
+        }
+    }
+
+    /**
+     * /topic/room.{roomId} 와 /topic/room.{roomId}.typing 구독은 해당 방의 활성 멤버만 허용
+     */
+    private void authorizeSubscribe(StompHeaderAccessor accessor) {
+        String destination = accessor.getDestination();
+        if (destination == null || !destination.startsWith(ROOM_TOPIC_PREFIX)) {
+            return;
+        }
+
+        String rest = destination.substring(ROOM_TOPIC_PREFIX.length());
+        if (rest.endsWith(".typing")) {
+            rest = rest.substring(0, rest.length() - ".typing".length());
+        }
+        requireMember(accessor.getUser(), parseRoomId(rest), destination);
+    }
+
+    /**
+     * /app/room.* SEND 는 대상 방의 활성 멤버만 허용
+     * - roomId 는 목적지(/app/room.{roomId}) 또는 JSON 본문의 "roomId" 필드에서 읽음 (/app/room.send)
+     * - /app/typing 은 본문에 roomId가 있을 때만 (방 타이핑 토픽으로 브로드캐스트됨, DM 타이핑은 제외)
+     */
+    private void authorizeSend(StompHeaderAccessor accessor, Message<?> message) {
+        String destination = accessor.getDestination();
+        if (destination == null) {
+            return;
+        }
+
+        if (TYPING_DESTINATION.equals(destination)) {
+            JsonNode roomId = roomIdFromPayload(message.getPayload());
+            if (roomId != null) {
+                requireMember(accessor.getUser(), parseRoomId(roomId.asText()), destination);
+            }
+            return;
+        }
+        if (!destination.startsWith(ROOM_SEND_PREFIX)) {
+            return;
+        }
+
+        Long roomId = parseRoomId(destination.substring(ROOM_SEND_PREFIX.length()));
+        if (roomId == null) {
+            JsonNode payloadRoomId = roomIdFromPayload(message.getPayload());
+            roomId = payloadRoomId == null ? null : parseRoomId(payloadRoomId.asText());
+        }
+        requireMember(accessor.getUser(), roomId, destination);
+    }
+
+    private void requireMember(Principal principal, Long roomId, String destination) {
+        Long userId = StompPrincipal.userIdOf(principal);
+        if (userId == null) {
+            throw new MessageDeliveryException("Authentication required for " + destination);
+        }
+        if (roomId == null) {
+            throw new MessageDeliveryException("Invalid room destination: " + destination);
+        }
+        if (!roomMembershipCache.isMember(roomId, userId)) {
+            throw new MessageDeliveryException("Not a member of room " + roomId);
+        }
+    }
+
+    private Long parseRoomId(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // JSON 본문의 "roomId" 필드 (없거나 null이거나 JSON이 아니면 null)
+    private JsonNode roomIdFromPayload(Object payload) {
+        if (!(payload instanceof byte[] bytes) || bytes.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode roomId = objectMapper.readTree(bytes).get("roomId");
+            return roomId == null || roomId.isNull() ? null : roomId;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
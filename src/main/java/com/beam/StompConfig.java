@@ -0,0 +1,153 @@
+package com.beam;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+/**
+ * STOMP Configuration
+ *
+ * <p>STOMP over WebSocket for {@link ChatWebSocketController} (DM, room messages, typing, status),
+ * next to the raw WebSocket protocol of {@link ChatWebSocketHandler}.
+ *
+ * <h3>Endpoints:</h3>
+ * <ul>
+ *   <li><b>/stomp</b> - STOMP endpoint (native WebSocket and SockJS)</li>
+ *   <li>Application prefix: /app (e.g. /app/dm.send, /app/room.send, /app/typing)</li>
+ *   <li>Broker destinations: /topic/room.{id}, /topic/user-status, /user/queue/*</li>
+ * </ul>
+ *
+ * <h3>Broker:</h3>
+ * <ul>
+ *   <li>In-process simple broker; subscriptions only reach clients connected to this node</li>
+ * </ul>
+ *
+ * <h3>Tuning:</h3>
+ * <ul>
+ *   <li>Inbound/outbound channel thread pools ({@code stomp.inbound.*}, {@code stomp.outbound.*})</li>
+ *   <li>Per-session send buffer and send time limit ({@code stomp.transport.*});
+ *       a slow client past either limit is disconnected instead of holding an outbound thread</li>
+ *   <li>Heartbeats ({@code stomp.broker.heartbeat-ms}) so dead TCP connections are detected</li>
+ * </ul>
+ *
+ * <h3>Security:</h3>
+ * <ul>
+ *   <li>{@link StompAuthChannelInterceptor} authenticates once at CONNECT
+ *       ({@code Authorization: Bearer <jwt>} header)</li>
+ * </ul>
+ *
+ * @since 1.2.0
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+public class StompConfig implements WebSocketMessageBrokerConfigurer {
+
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+    private final TaskScheduler messageBrokerTaskScheduler;
+    private final String allowedOrigins;
+
+    @Value("${stomp.broker.heartbeat-ms:10000}")
+    private long heartbeatMs;
+
+    @Value("${stomp.inbound.core-pool-size:0}")
+    private int inboundCorePoolSize;
+
+    @Value("${stomp.inbound.max-pool-size:0}")
+    private int inboundMaxPoolSize;
+
+    @Value("${stomp.inbound.queue-capacity:10000}")
+    private int inboundQueueCapacity;
+
+    @Value("${stomp.outbound.core-pool-size:0}")
+    private int outboundCorePoolSize;
+
+    @Value("${stomp.outbound.max-pool-size:0}")
+    private int outboundMaxPoolSize;
+
+    @Value("${stomp.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
+    @Value("${stomp.transport.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    @Value("${stomp.transport.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${stomp.transport.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${stomp.transport.time-to-first-message-ms:30000}")
+    private int timeToFirstMessageMs;
+
+    public StompConfig(
+            StompAuthChannelInterceptor stompAuthChannelInterceptor,
+            // 브로커 설정 빈이 이 configurer를 필요로 하므로 순환을 피하려고 지연 주입
+            @Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler messageBrokerTaskScheduler,
+            @Value("${cors.allowed-origins}") String allowedOrigins) {
+        this.stompAuthChannelInterceptor = stompAuthChannelInterceptor;
+        this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
+        this.allowedOrigins = allowedOrigins;
+    }
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        // 수신 순서 보장: 같은 세션의 프레임(예: room.send 두 개)을 clientInboundChannel에서 도착 순서대로 처리
+        registry.setPreserveReceiveOrder(true);
+        registry.addEndpoint("/stomp")
+                .setAllowedOrigins(allowedOrigins.split(","));
+        registry.addEndpoint("/stomp")
+                .setAllowedOrigins(allowedOrigins.split(","))
+                .withSockJS();
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.setApplicationDestinationPrefixes("/app");
+        registry.setUserDestinationPrefix("/user");
+        // 송신 순서 보장: 같은 세션으로 나가는 메시지를 clientOutboundChannel에서 발행 순서대로 전송
+        registry.setPreservePublishOrder(true);
+        registry.enableSimpleBroker("/topic", "/queue")
+                .setHeartbeatValue(new long[]{heartbeatMs, heartbeatMs})
+                .setTaskScheduler(messageBrokerTaskScheduler);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompAuthChannelInterceptor);
+        configurePool(registration, inboundCorePoolSize, inboundMaxPoolSize, inboundQueueCapacity);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        configurePool(registration, outboundCorePoolSize, outboundMaxPoolSize, outboundQueueCapacity);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setMessageSizeLimit(messageSizeLimit)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setSendTimeLimit(sendTimeLimitMs)
+                .setTimeToFirstMessage(timeToFirstMessageMs);
+    }
+
+    // 0이면 CPU 코어 수 기준 (max는 코어 수 x2), 큐가 가득 차야 core 이상으로 늘어남
+    private static void configurePool(ChannelRegistration registration, int corePoolSize,
+                                      int maxPoolSize, int queueCapacity) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int core = corePoolSize > 0 ? corePoolSize : cores;
+        int max = Math.max(core, maxPoolSize > 0 ? maxPoolSize : cores * 2);
+        registration.taskExecutor()
+                .corePoolSize(core)
+                .maxPoolSize(max)
+                .queueCapacity(queueCapacity)
+                .keepAliveSeconds(60);
+    }
+}
@@ -0,0 +1,43 @@
+package com.beam;
+
+import java.security.Principal;
+
+/**
+ * STOMP 세션 사용자 (CONNECT 시 한 번 인증)
+ * - getName()은 userId 문자열: convertAndSendToUser(userId.toString(), ...)와 일치
+ */
+public final class StompPrincipal implements Principal {
+
+    private final Long userId;
+    private final String username;
+
+    public StompPrincipal(Long userId, String username) {
+        this.userId = userId;
+        this.username = username;
+    }
+
+    /**
+     * 인증된 STOMP 세션이면 userId, 아니면(게스트) null
+     */
+    public static Long userIdOf(Principal principal) {
+        return principal instanceof StompPrincipal stompPrincipal ? stompPrincipal.userId : null;
+    }
+
+    @Override
+    public String getName() {
+        return userId.toString();
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String toString() {
+        return "StompPrincipal{userId=" + userId + ", username=" + username + "}";
+    }
+}
@@ -0,0 +1,86 @@
+package com.beam;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별 저장 용량 집계와 할당량 확인
+ * - 확인은 user_storage_usage 한 행 조회 (file_metadata SUM 없음)
+ * - 업로드/삭제 시 증분 UPDATE. 행이 없는 사용자는 처음 필요할 때 file_metadata에서 한 번 계산
+ *   (메타데이터 저장/삭제 후 호출되므로 초기화 값에 이번 변경이 이미 포함됨)
+ * - 동시 업로드끼리는 확인과 반영 사이에 할당량을 조금 넘을 수 있음 (soft limit)
+ */
+@Service
+public class StorageQuotaService {
+
+    private final UserStorageUsageRepository usageRepository;
+    private final FileMetadataRepository fileMetadataRepository;
+    private final long maxBytesPerUser;
+
+    public StorageQuotaService(UserStorageUsageRepository usageRepository,
+                               FileMetadataRepository fileMetadataRepository,
+                               @Value("${file.quota.max-bytes-per-user:1073741824}") long maxBytesPerUser) {
+        this.usageRepository = usageRepository;
+        this.fileMetadataRepository = fileMetadataRepository;
+        this.maxBytesPerUser = maxBytesPerUser;
+    }
+
+    public UserStorageUsageEntity getUsage(Long userId) {
+        return usageRepository.findById(userId).orElseGet(() -> initialize(userId));
+    }
+
+    /**
+     * 업로드 전에 호출. 할당량(0이면 무제한)을 넘으면 예외
+     */
+    public void checkQuota(Long userId, long incomingBytes) {
+        if (maxBytesPerUser <= 0) {
+            return;
+        }
+        long used = getUsage(userId).getUsedBytes();
+        if (used + incomingBytes > maxBytesPerUser) {
+            throw new RuntimeException("Storage quota exceeded (" + (used / 1024 / 1024) + "MB of "
+                + (maxBytesPerUser / 1024 / 1024) + "MB used)");
+        }
+    }
+
+    public long getMaxBytesPerUser() {
+        return maxBytesPerUser;
+    }
+
+    /**
+     * 파일 메타데이터 저장 후 호출
+     */
+    public void recordUpload(Long userId, long bytes) {
+        apply(userId, bytes, 1);
+    }
+
+    /**
+     * 파일 삭제 표시 후 호출
+     */
+    public void recordDelete(Long userId, long bytes) {
+        apply(userId, -bytes, -1);
+    }
+
+    private void apply(Long userId, long bytes, long files) {
+        if (usageRepository.addUsage(userId, bytes, files, LocalDateTime.now()) == 0) {
+            // 첫 집계: 방금 반영된 변경까지 포함해서 계산되므로 증분은 따로 더하지 않음
+            initialize(userId);
+        }
+    }
+
+    private UserStorageUsageEntity initialize(Long userId) {
+        Long bytes = fileMetadataRepository.getTotalFileSizeByUser(userId);
+        long files = fileMetadataRepository.countByUploaderIdAndIsDeletedFalse(userId);
+        UserStorageUsageEntity usage = new UserStorageUsageEntity(userId, bytes != null ? bytes : 0L, files);
+        try {
+            usageRepository.insertUsage(userId, usage.getUsedBytes(), usage.getFileCount(), usage.getUpdatedAt());
+            return usage;
+        } catch (DataIntegrityViolationException e) {
+            // 다른 요청이 먼저 초기화함
+            return usageRepository.findById(userId).orElse(usage);
+        }
+    }
+}
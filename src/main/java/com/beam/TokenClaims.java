@@ -0,0 +1,13 @@
+package com.beam;
+
+import java.time.Instant;
+
+/**
+ * 서명 검증을 마친 JWT 내용 (검증 1회에 파싱 1회)
+ *
+ * @param username  subject
+ * @param userId    userId claim
+ * @param expiresAt exp (검증 캐시 만료 시각으로도 사용)
+ */
+public record TokenClaims(String username, Long userId, Instant issuedAt, Instant expiresAt) {
+}
@@ -0,0 +1,409 @@
+package com.beam;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * User Directory Index
+ *
+ * <p>In-memory sorted term index over active users for friend search and typeahead,
+ * replacing exact-match and {@code LIKE '%x%'} lookups on the users table.
+ *
+ * <h3>Terms per user:</h3>
+ * <ul>
+ *   <li>username and display name (NFKC + lowercase), plus each later word of the display name</li>
+ *   <li>Hangul initial consonants of the display name (김민수 → ㄱㅁㅅ)</li>
+ *   <li>Phone number digits (also the domestic 0-prefixed form of +82 numbers), stored under a
+ *       separate key prefix so they match only the full normalized number, never a prefix scan</li>
+ * </ul>
+ *
+ * <h3>Lookup:</h3>
+ * <ul>
+ *   <li>Phone: a phone-shaped query first looks up the full normalized number exactly</li>
+ *   <li>Prefix: a range scan of the sorted term map, exact matches first; O(log n + limit)</li>
+ *   <li>Fuzzy: when prefixes fill fewer than limit slots, prefix scans for edit-distance-1 variants
+ *       of the query (deletion, adjacent transposition, and ASCII substitution/insertion), generated
+ *       one at a time until limit is reached; only for queries of 3-16 characters</li>
+ *   <li>Queries are truncated to 64 characters</li>
+ * </ul>
+ *
+ * <h3>Updates:</h3>
+ * <ul>
+ *   <li>Loaded from the database in the background at startup</li>
+ *   <li>{@link UserProfileChangedEvent} (registration, activation, profile change) applied after commit</li>
+ * </ul>
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ *   <li>beam_user_directory_users - Indexed users</li>
+ *   <li>beam_user_directory_lookup_seconds - Lookup latency</li>
+ * </ul>
+ *
+ * @since 1.2.0
+ */
+@Service
+public class UserDirectoryIndex {
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+    private static final int FUZZY_MIN_LENGTH = 3;
+    // 긴 검색어는 오타 변형 수(약 75·n)가 커지므로 접두사 조회만
+    private static final int FUZZY_MAX_LENGTH = 16;
+    // 이름/전화번호보다 충분히 긴 길이. 넘는 부분은 잘라서 조회
+    private static final int MAX_QUERY_LENGTH = 64;
+    private static final String FUZZY_ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789_";
+    private static final Pattern PHONE = Pattern.compile("[0-9+()\\-\\s]+");
+    // 전화번호 term 키 접두사 - 정규화된 검색어는 제어 문자를 포함하지 않으므로 접두사 스캔에 걸리지 않음
+    private static final String PHONE_TERM = "\u0000";
+    private static final char[] CHOSEONG = {
+        'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+        'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+
+    // term → 사용자 id (정렬, copy-on-write)
+    private final ConcurrentSkipListMap<String, long[]> terms = new ConcurrentSkipListMap<>();
+    // 사용자 id → 현재 색인된 term (변경 시 이전 term 제거용)
+    private final ConcurrentHashMap<Long, String[]> userTerms = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    private final Timer lookupTimer;
+
+    public UserDirectoryIndex(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${user.directory.enabled:true}") boolean enabled) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+
+        Gauge.builder("beam_user_directory_users", userTerms, Map::size)
+                .description("Users in the directory index")
+                .register(meterRegistry);
+
+        lookupTimer = Timer.builder("beam_user_directory_lookup_seconds")
+                .description("User directory lookup latency")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Thread loader = new Thread(this::load, "beam-user-directory-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * 초기 적재 완료 여부. false면 호출자는 정확 일치 조회로 대체
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 접두사 일치 → (부족하면) 편집 거리 1 변형의 접두사 일치 순으로 최대 limit명
+     */
+    public List<Long> lookup(String query, int limit) {
+        String normalized = normalizeQuery(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        return lookupTimer.record(() -> {
+            Set<Long> ids = new LinkedHashSet<>();
+            if (isPhoneQuery(query)) {
+                collectExact(PHONE_TERM + normalized, ids, limit);
+            }
+            collectPrefix(normalized, ids, limit);
+            int length = normalized.codePointCount(0, normalized.length());
+            if (ids.size() < limit && length >= FUZZY_MIN_LENGTH && length <= FUZZY_MAX_LENGTH) {
+                collectFuzzy(normalized, ids, limit);
+            }
+            return new ArrayList<>(ids);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(UserProfileChangedEvent event) {
+        if (!enabled || event.getUserId() == null) {
+            return;
+        }
+        if (event.isActive()) {
+            put(event.getUserId(), termsOf(event.getUsername(), event.getDisplayName(), event.getPhoneNumber()));
+        } else {
+            remove(event.getUserId());
+        }
+    }
+
+    private void load() {
+        long startTime = System.currentTimeMillis();
+        try {
+            long afterId = 0;
+            while (true) {
+                List<UserProfile> batch = userRepository.findDirectoryBatch(afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+                for (UserProfile profile : batch) {
+                    // 적재 중 이벤트로 이미 들어간 사용자는 이벤트 쪽이 더 최신
+                    userTerms.computeIfAbsent(profile.getId(), id -> {
+                        String[] userTermArray = termsOf(profile.getUsername(), profile.getDisplayName(), profile.getPhoneNumber());
+                        for (String term : userTermArray) {
+                            addId(term, id);
+                        }
+                        return userTermArray;
+                    });
+                }
+                if (batch.size() < LOAD_BATCH_SIZE) {
+                    break;
+                }
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+            ready = true;
+            System.out.println("👥 User directory index loaded: " + userTerms.size() + " users in " +
+                (System.currentTimeMillis() - startTime) + "ms");
+        } catch (Exception e) {
+            System.err.println("❌ User directory index load failed (falling back to exact lookups): " + e.getMessage());
+        }
+    }
+
+    private void put(Long userId, String[] newTerms) {
+        userTerms.compute(userId, (id, oldTerms) -> {
+            Set<String> next = Set.of(newTerms);
+            if (oldTerms != null) {
+                for (String term : oldTerms) {
+                    if (!next.contains(term)) {
+                        removeId(term, id);
+                    }
+                }
+            }
+            Set<String> previous = oldTerms != null ? Set.of(oldTerms) : Set.of();
+            for (String term : newTerms) {
+                if (!previous.contains(term)) {
+                    addId(term, id);
+                }
+            }
+            return newTerms;
+        });
+    }
+
+    private void remove(Long userId) {
+        userTerms.computeIfPresent(userId, (id, oldTerms) -> {
+            for (String term : oldTerms) {
+                removeId(term, id);
+            }
+            return null;
+        });
+    }
+
+    private void addId(String term, long userId) {
+        terms.compute(term, (key, ids) -> {
+            if (ids == null) {
+                return new long[]{userId};
+            }
+            int index = Arrays.binarySearch(ids, userId);
+            if (index >= 0) {
+                return ids;
+            }
+            int insertAt = -index - 1;
+            long[] next = new long[ids.length + 1];
+            System.arraycopy(ids, 0, next, 0, insertAt);
+            next[insertAt] = userId;
+            System.arraycopy(ids, insertAt, next, insertAt + 1, ids.length - insertAt);
+            return next;
+        });
+    }
+
+    private void removeId(String term, long userId) {
+        terms.computeIfPresent(term, (key, ids) -> {
+            int index = Arrays.binarySearch(ids, userId);
+            if (index < 0) {
+                return ids;
+            }
+            if (ids.length == 1) {
+                return null;
+            }
+            long[] next = new long[ids.length - 1];
+            System.arraycopy(ids, 0, next, 0, index);
+            System.arraycopy(ids, index + 1, next, index, ids.length - index - 1);
+            return next;
+        });
+    }
+
+    // 전화번호는 전체 번호 정확 일치만 (접두사로 다른 사용자 번호를 알아낼 수 없도록)
+    private void collectExact(String term, Set<Long> ids, int limit) {
+        long[] matched = terms.get(term);
+        if (matched == null) {
+            return;
+        }
+        for (long id : matched) {
+            if (ids.size() >= limit) {
+                return;
+            }
+            ids.add(id);
+        }
+    }
+
+    // limit에 도달하면 true
+    private boolean collectPrefix(String prefix, Set<Long> ids, int limit) {
+        for (Map.Entry<String, long[]> entry : terms.tailMap(prefix, true).entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) {
+                break;
+            }
+            for (long id : entry.getValue()) {
+                ids.add(id);
+                if (ids.size() >= limit) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // 편집 거리 1 변형을 흔한 오타 순으로 하나씩 만들어 접두사 조회 (누락 → 순서 바뀜 → 잘못 입력 → 추가 입력)
+    // 변형 전체를 미리 만들지 않고 limit에 도달하면 바로 중단
+    private void collectFuzzy(String query, Set<Long> ids, int limit) {
+        int[] chars = query.codePoints().toArray();
+        Set<String> tried = new HashSet<>();
+        tried.add(query);
+        for (int i = 0; i < chars.length; i++) {
+            if (tryVariant(join(chars, i, -1, -1), tried, ids, limit)) {
+                return;
+            }
+        }
+        for (int i = 0; i + 1 < chars.length; i++) {
+            int[] swapped = chars.clone();
+            swapped[i] = chars[i + 1];
+            swapped[i + 1] = chars[i];
+            if (tryVariant(new String(swapped, 0, swapped.length), tried, ids, limit)) {
+                return;
+            }
+        }
+        for (int i = 0; i < chars.length; i++) {
+            if (FUZZY_ALPHABET.indexOf(chars[i]) < 0) {
+                continue;
+            }
+            for (int j = 0; j < FUZZY_ALPHABET.length(); j++) {
+                if (FUZZY_ALPHABET.charAt(j) != chars[i]
+                        && tryVariant(join(chars, i, i, FUZZY_ALPHABET.charAt(j)), tried, ids, limit)) {
+                    return;
+                }
+            }
+        }
+        if (query.chars().allMatch(c -> c < 128)) {
+            for (int i = 0; i <= chars.length; i++) {
+                for (int j = 0; j < FUZZY_ALPHABET.length(); j++) {
+                    if (tryVariant(join(chars, -1, i, FUZZY_ALPHABET.charAt(j)), tried, ids, limit)) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    // 처음 보는 변형이면 접두사 조회. limit에 도달하면 true
+    private boolean tryVariant(String variant, Set<String> tried, Set<Long> ids, int limit) {
+        return !variant.isEmpty() && tried.add(variant) && collectPrefix(variant, ids, limit);
+    }
+
+    // skip 위치의 문자를 빼고, insertAt 위치에 inserted를 넣은 문자열
+    private static String join(int[] chars, int skip, int insertAt, int inserted) {
+        StringBuilder builder = new StringBuilder(chars.length + 1);
+        for (int i = 0; i <= chars.length; i++) {
+            if (i == insertAt) {
+                builder.appendCodePoint(inserted);
+            }
+            if (i < chars.length && i != skip) {
+                builder.appendCodePoint(chars[i]);
+            }
+        }
+        return builder.toString();
+    }
+
+    static String[] termsOf(String username, String displayName, String phoneNumber) {
+        Set<String> result = new LinkedHashSet<>();
+        addName(result, username);
+        addName(result, displayName);
+        if (displayName != null) {
+            String initials = initials(displayName);
+            if (initials != null) {
+                result.add(SearchTokenizer.normalize(initials));
+            }
+        }
+        if (phoneNumber != null && PHONE.matcher(phoneNumber).matches()) {
+            String digits = phoneNumber.replaceAll("\\D", "");
+            if (!digits.isEmpty()) {
+                result.add(PHONE_TERM + digits);
+                if (digits.startsWith("82") && digits.length() > 2) {
+                    result.add(PHONE_TERM + "0" + digits.substring(2));
+                }
+            }
+        }
+        return result.toArray(new String[0]);
+    }
+
+    private static void addName(Set<String> result, String name) {
+        if (name == null || name.isBlank()) {
+            return;
+        }
+        String normalized = SearchTokenizer.normalize(name).trim().replaceAll("\\s+", " ");
+        result.add(normalized);
+        // "kim min su" → "min su", "su"도 접두사 검색 가능
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            result.add(normalized.substring(i + 1));
+        }
+    }
+
+    // 한글 음절의 초성만 남김. 한글이 없으면 null
+    private static String initials(String name) {
+        StringBuilder builder = new StringBuilder(name.length());
+        boolean hangul = false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c >= 0xAC00 && c <= 0xD7A3) {
+                builder.append(CHOSEONG[(c - 0xAC00) / 588]);
+                hangul = true;
+            } else if (!Character.isWhitespace(c)) {
+                builder.append(c);
+            }
+        }
+        return hangul ? builder.toString() : null;
+    }
+
+    private static String normalizeQuery(String query) {
+        if (query == null) {
+            return "";
+        }
+        String trimmed = query.trim();
+        if (trimmed.codePointCount(0, trimmed.length()) > MAX_QUERY_LENGTH) {
+            trimmed = trimmed.substring(0, trimmed.offsetByCodePoints(0, MAX_QUERY_LENGTH)).trim();
+        }
+        if (isPhoneQuery(trimmed)) {
+            return trimmed.replaceAll("\\D", "");
+        }
+        return SearchTokenizer.normalize(trimmed).replaceAll("[\\p{Cntrl}\\s]+", " ").trim();
+    }
+
+    private static boolean isPhoneQuery(String query) {
+        String trimmed = query.trim();
+        return PHONE.matcher(trimmed).matches() && trimmed.chars().anyMatch(Character::isDigit);
+    }
+}
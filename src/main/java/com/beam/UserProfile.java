@@ -0,0 +1,48 @@
+package com.beam;
+
+import java.time.LocalDateTime;
+
+/**
+ * 목록 응답에 필요한 사용자 정보만 담은 읽기 전용 projection
+ * - 비밀번호/인증 코드 등은 조회하지 않음
+ * - {@link UserProfileLoader}에서 일괄 조회 후 캐시
+ */
+public class UserProfile {
+
+    private final Long id;
+    private final String username;
+    private final String displayName;
+    private final String phoneNumber;
+    private final String profileImage;
+    private final String statusMessage;
+    private final Boolean isOnline;
+    private final LocalDateTime lastSeen;
+
+    public UserProfile(Long id, String username, String displayName, String phoneNumber,
+                       String profileImage, String statusMessage, Boolean isOnline, LocalDateTime lastSeen) {
+        this.id = id;
+        this.username = username;
+        this.displayName = displayName;
+        this.phoneNumber = phoneNumber;
+        this.profileImage = profileImage;
+        this.statusMessage = statusMessage;
+        this.isOnline = isOnline;
+        this.lastSeen = lastSeen;
+    }
+
+    public Long getId() { return id; }
+
+    public String getUsername() { return username; }
+
+    public String getDisplayName() { return displayName; }
+
+    public String getPhoneNumber() { return phoneNumber; }
+
+    public String getProfileImage() { return profileImage; }
+
+    public String getStatusMessage() { return statusMessage; }
+
+    public Boolean getIsOnline() { return isOnline; }
+
+    public LocalDateTime getLastSeen() { return lastSeen; }
+}
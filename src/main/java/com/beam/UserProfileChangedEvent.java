@@ -0,0 +1,32 @@
+package com.beam;
+
+/**
+ * 사용자 가입/활성화/프로필 변경 이벤트 (검색용 필드만 복사)
+ * - {@link UserDirectoryIndex}가 커밋 후 반영
+ */
+public class UserProfileChangedEvent {
+
+    private final Long userId;
+    private final String username;
+    private final String displayName;
+    private final String phoneNumber;
+    private final boolean active;
+
+    public UserProfileChangedEvent(UserEntity user) {
+        this.userId = user.getId();
+        this.username = user.getUsername();
+        this.displayName = user.getDisplayName();
+        this.phoneNumber = user.getPhoneNumber();
+        this.active = Boolean.TRUE.equals(user.getIsActive());
+    }
+
+    public Long getUserId() { return userId; }
+
+    public String getUsername() { return username; }
+
+    public String getDisplayName() { return displayName; }
+
+    public String getPhoneNumber() { return phoneNumber; }
+
+    public boolean isActive() { return active; }
+}
@@ -0,0 +1,114 @@
+package com.beam;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * User Profile Loader
+ *
+ * <p>Resolves user ids to {@link UserProfile}s for list endpoints (room members, messages,
+ * friends, conversations, search results, read receipts) without one query per row.
+ *
+ * <h3>Features:</h3>
+ * <ul>
+ *   <li>Batch loading: all ids missing from the cache are fetched with a single {@code IN} query
+ *       (split into chunks of user.profile-cache.batch-size)</li>
+ *   <li>Bounded Caffeine cache (user.profile-cache.max-size) with a short write TTL so that
+ *       online status stays fresh even for updates that do not invalidate explicitly</li>
+ *   <li>{@link #invalidate(Long)} on login/logout/connect/disconnect and profile changes</li>
+ * </ul>
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ *   <li>cache_gets_total{cache="userProfiles"} and related Caffeine cache metrics</li>
+ * </ul>
+ *
+ * @since 1.2.0
+ */
+@Service
+public class UserProfileLoader {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, UserProfile> cache;
+    private final int batchSize;
+
+    public UserProfileLoader(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${user.profile-cache.max-size:10000}") long maxSize,
+            @Value("${user.profile-cache.ttl-seconds:30}") long ttlSeconds,
+            @Value("${user.profile-cache.batch-size:500}") int batchSize) {
+        this.userRepository = userRepository;
+        this.batchSize = batchSize;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userProfiles");
+    }
+
+    /**
+     * 여러 사용자 프로필 일괄 조회. 존재하지 않는 ID는 결과 Map에 포함되지 않음
+     */
+    public Map<Long, UserProfile> loadAll(Collection<Long> userIds) {
+        Set<Long> ids = new LinkedHashSet<>(userIds);
+        ids.remove(null);
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return cache.getAll(ids, this::fetch);
+    }
+
+    /**
+     * 목록의 각 항목에서 사용자 ID를 뽑아 일괄 조회
+     */
+    public <T> Map<Long, UserProfile> loadAll(Collection<T> items, Function<T, Long> userIdOf) {
+        List<Long> ids = new ArrayList<>(items.size());
+        for (T item : items) {
+            ids.add(userIdOf.apply(item));
+        }
+        return loadAll(ids);
+    }
+
+    public Optional<UserProfile> load(Long userId) {
+        return Optional.ofNullable(loadAll(List.of(userId)).get(userId));
+    }
+
+    /**
+     * 사용자 정보(온라인 상태, 표시 이름 등)가 바뀌면 호출
+     */
+    public void invalidate(Long userId) {
+        if (userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+
+    private Map<Long, UserProfile> fetch(Set<? extends Long> missing) {
+        List<Long> ids = new ArrayList<>(missing);
+        Map<Long, UserProfile> loaded = new HashMap<>(ids.size() * 2);
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + batchSize));
+            for (UserProfile profile : userRepository.findProfilesByIdIn(chunk)) {
+                loaded.put(profile.getId(), profile);
+            }
+        }
+        return loaded;
+    }
+}
@@ -1,8 +1,12 @@
 package com.beam;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
@@ -18,8 +22,23 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
 
     Optional<UserEntity> findByEmail(String email);
 
+    // 인증 필터용 활성 상태만 조회 (엔티티 전체를 읽지 않음)
+    @Query("SELECT u.isActive FROM UserEntity u WHERE u.id = :id")
+    Optional<Boolean> findActiveById(@Param("id") Long id);
+
     boolean existsByEmail(String email);
 
     // 사용자 이름으로 검색 (친구 추가용)
     java.util.List<UserEntity> findByUsernameContaining(String keyword);
-}
\ No newline at end of file
+
+    // 목록 응답용 프로필 일괄 조회 (IN 쿼리 1회)
+    @Query("SELECT new com.beam.UserProfile(u.id, u.username, u.displayName, u.phoneNumber, " +
+           "u.profileImage, u.statusMessage, u.isOnline, u.lastSeen) FROM UserEntity u WHERE u.id IN :ids")
+    java.util.List<UserProfile> findProfilesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 사용자 디렉터리 색인 초기 적재용 (활성 사용자, id keyset)
+    @Query("SELECT new com.beam.UserProfile(u.id, u.username, u.displayName, u.phoneNumber, " +
+           "u.profileImage, u.statusMessage, u.isOnline, u.lastSeen) FROM UserEntity u " +
+           "WHERE u.isActive = true AND u.id > :afterId ORDER BY u.id ASC")
+    java.util.List<UserProfile> findDirectoryBatch(@Param("afterId") Long afterId, Pageable pageable);
+}
@@ -0,0 +1,102 @@
+package com.beam;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User Status Cache
+ *
+ * <p>Answers "does this user exist and is the account active?" for {@link JwtAuthenticationFilter}
+ * from memory, so an authenticated request with a cached token needs no database round-trip.
+ *
+ * <h3>Freshness:</h3>
+ * <ul>
+ *   <li>{@link UserProfileChangedEvent} (activation/deactivation) and {@link UserStatusChangedEvent}
+ *       (deactivated, deleted, logged out) invalidate the entry after commit</li>
+ *   <li>auth.user-status-cache.ttl-seconds bounds staleness for changes made on other nodes or
+ *       directly in the database</li>
+ *   <li>Unknown and inactive users are cached as inactive too, so invalid ids cannot force a query
+ *       per request</li>
+ * </ul>
+ *
+ * <h3>Kill switch:</h3>
+ * <ul>
+ *   <li>auth.user-status-cache.enabled=false reads the status from the database on every request</li>
+ * </ul>
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ *   <li>beam_user_status_cache_hit_ratio - Hit ratio since start</li>
+ *   <li>cache_gets_total{cache="userStatus"} and related Caffeine cache metrics</li>
+ * </ul>
+ *
+ * @since 1.2.0
+ */
+@Service
+public class UserStatusCache {
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final Cache<Long, Boolean> cache;
+
+    public UserStatusCache(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${auth.user-status-cache.enabled:true}") boolean enabled,
+            @Value("${auth.user-status-cache.max-size:100000}") long maxSize,
+            @Value("${auth.user-status-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userStatus");
+        Gauge.builder("beam_user_status_cache_hit_ratio", cache, c -> c.stats().hitRate())
+                .description("Hit ratio of the authentication user status cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 존재하고 활성 상태인 사용자인지
+     */
+    public boolean isActive(Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        if (!enabled) {
+            return fetch(userId);
+        }
+        return cache.get(userId, this::fetch);
+    }
+
+    public void invalidate(Long userId) {
+        if (userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(UserProfileChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(UserStatusChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    private boolean fetch(Long userId) {
+        return userRepository.findActiveById(userId).orElse(false);
+    }
+}
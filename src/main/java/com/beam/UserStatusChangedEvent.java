@@ -0,0 +1,26 @@
+package com.beam;
+
+/**
+ * 인증 상태에 영향을 주는 사용자 변경 (비활성화/삭제/로그아웃)
+ * - {@link UserStatusCache}가 커밋 후 해당 사용자 항목을 무효화
+ */
+public class UserStatusChangedEvent {
+
+    public enum Reason {
+        DEACTIVATED,
+        DELETED,
+        LOGGED_OUT
+    }
+
+    private final Long userId;
+    private final Reason reason;
+
+    public UserStatusChangedEvent(Long userId, Reason reason) {
+        this.userId = userId;
+        this.reason = reason;
+    }
+
+    public Long getUserId() { return userId; }
+
+    public Reason getReason() { return reason; }
+}
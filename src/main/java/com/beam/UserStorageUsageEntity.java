@@ -0,0 +1,70 @@
+package com.beam;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별 업로드 용량 집계 (file_metadata SUM 대신 O(1) 할당량 확인용)
+ * - 업로드/삭제 시 증분 UPDATE로 유지, 행이 없으면 처음 필요할 때 file_metadata에서 한 번 계산
+ * - 내용이 같은 파일(blob 공유)도 업로드마다 따로 계산 (사용자가 올린 논리 용량)
+ */
+@Entity
+@Table(name = "user_storage_usage")
+public class UserStorageUsageEntity {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "used_bytes", nullable = false)
+    private Long usedBytes = 0L;
+
+    @Column(name = "file_count", nullable = false)
+    private Long fileCount = 0L;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public UserStorageUsageEntity() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public UserStorageUsageEntity(Long userId, Long usedBytes, Long fileCount) {
+        this.userId = userId;
+        this.usedBytes = usedBytes;
+        this.fileCount = fileCount;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public void setUsedBytes(Long usedBytes) {
+        this.usedBytes = usedBytes;
+    }
+
+    public Long getFileCount() {
+        return fileCount;
+    }
+
+    public void setFileCount(Long fileCount) {
+        this.fileCount = fileCount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
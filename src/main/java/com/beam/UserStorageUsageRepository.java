@@ -0,0 +1,30 @@
+package com.beam;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface UserStorageUsageRepository extends JpaRepository<UserStorageUsageEntity, Long> {
+
+    // 증분 반영 (행이 없으면 0 반환 → file_metadata에서 초기화)
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserStorageUsageEntity u SET u.usedBytes = u.usedBytes + :bytes, " +
+           "u.fileCount = u.fileCount + :files, u.updatedAt = :now WHERE u.userId = :userId")
+    int addUsage(@Param("userId") Long userId, @Param("bytes") long bytes,
+                 @Param("files") long files, @Param("now") LocalDateTime now);
+
+    // save()는 id가 있으면 merge(덮어쓰기)가 되므로 최초 행은 INSERT로만 생성 (동시 생성 시 PK 충돌)
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO user_storage_usage (user_id, used_bytes, file_count, updated_at) " +
+                   "VALUES (:userId, :bytes, :files, :now)", nativeQuery = true)
+    int insertUsage(@Param("userId") Long userId, @Param("bytes") long bytes,
+                    @Param("files") long files, @Param("now") LocalDateTime now);
+}
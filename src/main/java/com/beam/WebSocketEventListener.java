@@ -21,6 +21,9 @@ public class WebSocketEventListener {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserProfileLoader userProfileLoader;
+
     private final Map<String, Long> sessionUserMap = new ConcurrentHashMap<>();
 
     @EventListener
@@ -28,7 +31,7 @@ public class WebSocketEventListener {
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
         String sessionId = headerAccessor.getSessionId();
 
-        Long userId = (Long) headerAccessor.getSessionAttributes().get("userId");
+        Long userId = connectedUserId(event, headerAccessor);
         if (userId != null) {
             sessionUserMap.put(sessionId, userId);
 
@@ -36,6 +39,7 @@ public class WebSocketEventListener {
                 user.setIsOnline(true);
                 user.setLastSeen(LocalDateTime.now());
                 userRepository.save(user);
+                userProfileLoader.invalidate(userId);
 
                 if (messagingTemplate != null) {
                     Map<String, Object> statusUpdate = Map.of(
@@ -60,6 +64,7 @@ public class WebSocketEventListener {
                 user.setIsOnline(false);
                 user.setLastSeen(LocalDateTime.now());
                 userRepository.save(user);
+                userProfileLoader.invalidate(userId);
 
                 if (messagingTemplate != null) {
                     Map<String, Object> statusUpdate = Map.of(
@@ -72,4 +77,14 @@ public class WebSocketEventListener {
             });
         }
     }
-}
\ No newline at end of file
+
+    // CONNECT_ACK 메시지에는 세션 속성이 없을 수 있으므로 CONNECT 시 인증된 Principal을 우선 사용
+    private Long connectedUserId(SessionConnectedEvent event, StompHeaderAccessor headerAccessor) {
+        Long userId = StompPrincipal.userIdOf(event.getUser());
+        if (userId != null) {
+            return userId;
+        }
+        Map<String, Object> sessionAttributes = headerAccessor.getSessionAttributes();
+        return sessionAttributes != null ? (Long) sessionAttributes.get("userId") : null;
+    }
+}
@@ -0,0 +1,226 @@
+package com.beam;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * WebSocket Outbound Queue Service
+ *
+ * <p>Wraps each raw WebSocket session in a {@link QueuedWebSocketSession} so that
+ * sends never block the inbound thread of the sender.
+ *
+ * <h3>Features:</h3>
+ * <ul>
+ *   <li>Bounded per-session queue (frame count and buffered bytes)</li>
+ *   <li>Writer pool capped by available cores, one drain task per session at a time</li>
+ *   <li>Send time limit: a watchdog closes sessions stuck in a single write, and the container's
+ *       blocking send timeout is set to the same limit so the writer thread itself is released</li>
+ *   <li>Configurable overflow policy (see {@link OutboundOverflowPolicy})</li>
+ * </ul>
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ *   <li>beam_ws_outbound_queue_depth - Frames queued across all sessions</li>
+ *   <li>beam_ws_outbound_queue_max_depth - Deepest single session queue</li>
+ *   <li>beam_ws_outbound_dropped_total{policy} - Frames dropped on overflow, or discarded
+ *       (policy=SESSION_CLOSED) when a send fails or the session is closed as unreliable</li>
+ *   <li>beam_ws_outbound_disconnects_total - Sessions closed as unreliable</li>
+ * </ul>
+ *
+ * @since 1.2.0
+ */
+@Service
+public class WebSocketOutboundService {
+
+    // Tomcat 세션 속성: 블로킹 전송(sendMessage) 최대 대기 시간 (ms)
+    private static final String BLOCKING_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+    private final Map<String, QueuedWebSocketSession> queues = new ConcurrentHashMap<>();
+    private final Map<OutboundOverflowPolicy, Counter> dropCounters = new EnumMap<>(OutboundOverflowPolicy.class);
+    private final Counter closedDropCounter;
+    private final Counter disconnectCounter;
+    private final ExecutorService writerPool;
+    private final ScheduledExecutorService watchdog;
+
+    private final int queueCapacity;
+    private final long bufferSizeLimit;
+    private final long sendTimeLimitNanos;
+    private final OutboundOverflowPolicy overflowPolicy;
+    private final Set<String> nonCriticalTypes;
+
+    public WebSocketOutboundService(
+            MeterRegistry meterRegistry,
+            @Value("${websocket.outbound.queue-capacity:1000}") int queueCapacity,
+            @Value("${websocket.outbound.buffer-size-limit:524288}") long bufferSizeLimit,
+            @Value("${websocket.outbound.send-time-limit-ms:10000}") long sendTimeLimitMs,
+            @Value("${websocket.outbound.overflow-policy:DROP_NON_CRITICAL}") OutboundOverflowPolicy overflowPolicy,
+            @Value("${websocket.outbound.non-critical-types:userlist,readUpdate}") String nonCriticalTypes,
+            @Value("${websocket.outbound.writer-threads:0}") int writerThreads,
+            @Value("${websocket.outbound.watchdog-interval-ms:1000}") long watchdogIntervalMs) {
+        this.queueCapacity = queueCapacity;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.sendTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMs);
+        this.overflowPolicy = overflowPolicy;
+        this.nonCriticalTypes = Arrays.stream(nonCriticalTypes.split(","))
+                .map(String::trim)
+                .filter(type -> !type.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+
+        int threads = writerThreads > 0 ? writerThreads : Runtime.getRuntime().availableProcessors();
+        this.writerPool = Executors.newFixedThreadPool(threads, writerThreadFactory("beam-ws-writer-"));
+
+        // 고정 크기 writer 풀이 멈춘 전송에 모두 묶이지 않도록 전송 시간 제한을 넘긴 세션을 주기적으로 종료
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(writerThreadFactory("beam-ws-watchdog-"));
+        this.watchdog.scheduleWithFixedDelay(this::closeStalledSessions,
+                watchdogIntervalMs, watchdogIntervalMs, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("beam_ws_outbound_queue_depth", queues,
+                        q -> q.values().stream().mapToInt(QueuedWebSocketSession::getQueueDepth).sum())
+                .description("Frames waiting in WebSocket outbound queues")
+                .register(meterRegistry);
+
+        Gauge.builder("beam_ws_outbound_queue_max_depth", queues,
+                        q -> q.values().stream().mapToInt(QueuedWebSocketSession::getQueueDepth).max().orElse(0))
+                .description("Deepest single WebSocket outbound queue")
+                .register(meterRegistry);
+
+        for (OutboundOverflowPolicy policy : OutboundOverflowPolicy.values()) {
+            dropCounters.put(policy, Counter.builder("beam_ws_outbound_dropped_total")
+                    .tag("policy", policy.name())
+                    .description("WebSocket frames dropped before delivery (queue overflow or closed session)")
+                    .register(meterRegistry));
+        }
+        closedDropCounter = Counter.builder("beam_ws_outbound_dropped_total")
+                .tag("policy", "SESSION_CLOSED")
+                .description("WebSocket frames dropped before delivery (queue overflow or closed session)")
+                .register(meterRegistry);
+
+        disconnectCounter = Counter.builder("beam_ws_outbound_disconnects_total")
+                .description("WebSocket sessions closed for exceeding outbound limits")
+                .register(meterRegistry);
+    }
+
+    private static ThreadFactory writerThreadFactory(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Wrap a newly established session with its own outbound queue
+     */
+    public QueuedWebSocketSession register(WebSocketSession session) {
+        limitBlockingSend(session);
+        QueuedWebSocketSession queued = new QueuedWebSocketSession(session, this, writerPool);
+        queues.put(session.getId(), queued);
+        return queued;
+    }
+
+    // 컨테이너(Tomcat)의 블로킹 전송 타임아웃을 전송 시간 제한과 맞춰 각 전송 자체를 bound
+    private void limitBlockingSend(WebSocketSession session) {
+        if (session instanceof NativeWebSocketSession nativeSession) {
+            jakarta.websocket.Session container = nativeSession.getNativeSession(jakarta.websocket.Session.class);
+            if (container != null) {
+                container.getUserProperties().put(BLOCKING_SEND_TIMEOUT,
+                        TimeUnit.NANOSECONDS.toMillis(sendTimeLimitNanos));
+            }
+        }
+    }
+
+    private void closeStalledSessions() {
+        try {
+            for (QueuedWebSocketSession queued : queues.values()) {
+                queued.closeIfSendStalled();
+            }
+        } catch (RuntimeException e) {
+            System.err.println("WebSocket 송신 watchdog 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Forget a closed session's queue
+     */
+    public void unregister(String sessionId) {
+        queues.remove(sessionId);
+    }
+
+    /**
+     * Per-session queue statistics (queue depth, buffered bytes, dropped and sent frames)
+     */
+    public List<Map<String, Object>> getSessionStats() {
+        List<Map<String, Object>> stats = new ArrayList<>();
+        for (QueuedWebSocketSession queued : queues.values()) {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("sessionId", queued.getId());
+            entry.put("queueDepth", queued.getQueueDepth());
+            entry.put("bufferedBytes", queued.getBufferedBytes());
+            entry.put("droppedFrames", queued.getDroppedFrames());
+            entry.put("sentFrames", queued.getSentFrames());
+            stats.add(entry);
+        }
+        return stats;
+    }
+
+    boolean isCritical(String type) {
+        return type == null || !nonCriticalTypes.contains(type);
+    }
+
+    void recordDrop(OutboundOverflowPolicy policy) {
+        dropCounters.get(policy).increment();
+    }
+
+    void recordClosedDrops(int frames) {
+        closedDropCounter.increment(frames);
+    }
+
+    void recordDisconnect() {
+        disconnectCounter.increment();
+    }
+
+    int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    long getBufferSizeLimit() {
+        return bufferSizeLimit;
+    }
+
+    long getSendTimeLimitNanos() {
+        return sendTimeLimitNanos;
+    }
+
+    OutboundOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        writerPool.shutdown();
+    }
+}
@@ -4,8 +4,11 @@ CREATE SCHEMA IF NOT EXISTS chat;
 SET search_path TO chat;
 
 -- 기존 테이블 삭제 (FK 관계 역순)
+DROP TABLE IF EXISTS cluster_bus_overflow CASCADE;
 DROP TABLE IF EXISTS read_receipts CASCADE;
 DROP TABLE IF EXISTS file_metadata CASCADE;
+DROP TABLE IF EXISTS file_blobs CASCADE;
+DROP TABLE IF EXISTS user_storage_usage CASCADE;
 DROP TABLE IF EXISTS group_messages CASCADE;
 DROP TABLE IF EXISTS room_members CASCADE;
 DROP TABLE IF EXISTS rooms CASCADE;
@@ -95,6 +98,8 @@ CREATE TABLE direct_messages (
 CREATE INDEX idx_dm_sender_receiver ON direct_messages(sender_id, receiver_id);
 CREATE INDEX idx_dm_conversation ON direct_messages(conversation_id);
 CREATE INDEX idx_dm_timestamp ON direct_messages(timestamp);
+-- Hibernate pooled 시퀀스 (allocationSize = 50)
+ALTER SEQUENCE direct_messages_id_seq INCREMENT BY 50;
 
 -- 5. Rooms 테이블 (그룹 채팅방)
 CREATE TABLE rooms (
@@ -154,6 +159,8 @@ CREATE TABLE group_messages (
 
 CREATE INDEX idx_gm_room_timestamp ON group_messages(room_id, timestamp);
 CREATE INDEX idx_gm_sender ON group_messages(sender_id);
+-- Hibernate pooled 시퀀스 (allocationSize = 50)
+ALTER SEQUENCE group_messages_id_seq INCREMENT BY 50;
 
 -- 8. File Metadata 테이블
 CREATE TABLE file_metadata (
@@ -172,12 +179,43 @@ CREATE TABLE file_metadata (
     is_deleted BOOLEAN NOT NULL DEFAULT false,
     deleted_at TIMESTAMP,
     uploaded_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    content_hash VARCHAR(64),
+    derivative_status VARCHAR(20),
+    derivative_attempts INTEGER DEFAULT 0,
+    derivative_updated_at TIMESTAMP,
+    derivatives VARCHAR(200),
+    image_width INTEGER,
+    image_height INTEGER,
     CONSTRAINT chk_file_category CHECK (category IN ('IMAGE', 'VIDEO', 'AUDIO', 'DOCUMENT', 'OTHER'))
 );
 
 CREATE INDEX idx_file_uploader ON file_metadata(uploader_id);
 CREATE INDEX idx_file_conversation ON file_metadata(conversation_id);
 CREATE INDEX idx_file_room ON file_metadata(room_id);
+CREATE INDEX idx_file_derivative_status ON file_metadata(derivative_status, derivative_updated_at);
+CREATE INDEX idx_file_content_hash ON file_metadata(content_hash);
+CREATE INDEX idx_file_room_uploaded ON file_metadata(room_id, is_deleted, uploaded_at);
+CREATE INDEX idx_file_room_category_uploaded ON file_metadata(room_id, category, uploaded_at);
+CREATE INDEX idx_file_conversation_uploaded ON file_metadata(conversation_id, is_deleted, uploaded_at);
+CREATE INDEX idx_file_conversation_category_uploaded ON file_metadata(conversation_id, category, uploaded_at);
+CREATE INDEX idx_file_uploader_uploaded ON file_metadata(uploader_id, is_deleted, uploaded_at);
+
+-- 8-1. 내용 주소 blob (같은 내용의 업로드는 물리 파일 하나를 공유)
+CREATE TABLE file_blobs (
+    content_hash VARCHAR(64) PRIMARY KEY,
+    storage_path VARCHAR(200) NOT NULL,
+    file_size BIGINT NOT NULL,
+    ref_count BIGINT NOT NULL DEFAULT 1,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 8-2. 사용자별 업로드 용량 집계 (할당량 확인용)
+CREATE TABLE user_storage_usage (
+    user_id BIGINT PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    used_bytes BIGINT NOT NULL DEFAULT 0,
+    file_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
 
 -- 9. Read Receipts 테이블
 CREATE TABLE read_receipts (
@@ -210,6 +248,14 @@ CREATE INDEX idx_sessions_session_id ON user_sessions(session_id);
 CREATE INDEX idx_sessions_user_id ON user_sessions(user_id);
 CREATE INDEX idx_sessions_is_online ON user_sessions(is_online);
 
+-- 11. Cluster Bus Overflow 테이블 (NOTIFY 한도 8000바이트를 넘는 노드 간 이벤트, 5분 후 삭제)
+-- cluster.bus=postgres 인 노드가 시작할 때도 CREATE TABLE IF NOT EXISTS로 생성함
+CREATE TABLE cluster_bus_overflow (
+    id BIGSERIAL PRIMARY KEY,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
 -- 기본 채팅방 생성 (시스템 사용자 없이)
 -- INSERT INTO rooms (room_name, description, room_type, created_by, max_members) VALUES
 -- ('일반 채팅방', '모든 사용자가 참여할 수 있는 일반 채팅방입니다.', 'PUBLIC', 1, 1000),
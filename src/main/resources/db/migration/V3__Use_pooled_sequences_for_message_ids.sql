@@ -0,0 +1,7 @@
+-- V3: Pooled sequence ids for group and direct messages
+-- GroupMessageEntity / DirectMessageEntity use SEQUENCE generation with Hibernate's pooled
+-- optimizer (allocationSize = 50), which requires the sequence to advance by the same amount.
+-- One nextval now reserves 50 ids, and inserts can be JDBC-batched.
+
+ALTER SEQUENCE group_messages_id_seq INCREMENT BY 50;
+ALTER SEQUENCE direct_messages_id_seq INCREMENT BY 50;
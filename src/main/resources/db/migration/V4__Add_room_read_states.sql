@@ -0,0 +1,33 @@
+-- V4: Per-user, per-room read watermark
+-- Replaces per-message read receipts (message_read_receipts) for the legacy messages table: marking a room as read
+-- is a single upsert, and the unread count is a range count on (room_id, timestamp).
+
+CREATE TABLE IF NOT EXISTS room_read_states (
+    id BIGSERIAL PRIMARY KEY,
+    room_id VARCHAR(50) NOT NULL,
+    user_id BIGINT NOT NULL,
+    last_read_message_id BIGINT,
+    last_read_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_room_read_states_room_user UNIQUE (room_id, user_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_room_read_states_room_last_read ON room_read_states(room_id, last_read_at);
+CREATE INDEX IF NOT EXISTS idx_messages_room_timestamp ON messages(room_id, timestamp);
+
+-- Backfill: seed each (room_id, user_id) watermark from the newest message the user had a
+-- per-message receipt for, so existing read history is not reported as unread.
+-- message_read_receipts was only ever created by ddl-auto / init-chatapp-*.sql, hence the guard.
+DO $$
+BEGIN
+    IF to_regclass('message_read_receipts') IS NOT NULL THEN
+        INSERT INTO room_read_states (room_id, user_id, last_read_message_id, last_read_at, updated_at)
+        SELECT DISTINCT ON (m.room_id, r.user_id)
+               m.room_id, r.user_id, m.id, m.timestamp, CURRENT_TIMESTAMP
+        FROM message_read_receipts r
+        JOIN messages m ON m.id = r.message_id
+        ORDER BY m.room_id, r.user_id, m.timestamp DESC, m.id DESC
+        ON CONFLICT (room_id, user_id) DO NOTHING;
+    END IF;
+END $$;
@@ -0,0 +1,11 @@
+-- V5: Composite indexes for keyset-paginated message history
+-- History pages are read with (timestamp, id) cursors:
+--   WHERE <room or conversation> = ? AND (timestamp, id) < (?, ?) ORDER BY timestamp DESC, id DESC LIMIT n
+-- so each page is an index range scan of n rows regardless of history size.
+
+CREATE INDEX IF NOT EXISTS idx_gm_room_timestamp_id ON group_messages(room_id, timestamp, id);
+CREATE INDEX IF NOT EXISTS idx_dm_conversation_timestamp_id ON direct_messages(conversation_id, timestamp, id);
+
+-- Supersedes idx_messages_room_timestamp from V4 (unread counts still use the leading columns)
+CREATE INDEX IF NOT EXISTS idx_messages_room_timestamp_id ON messages(room_id, timestamp, id);
+DROP INDEX IF EXISTS idx_messages_room_timestamp;
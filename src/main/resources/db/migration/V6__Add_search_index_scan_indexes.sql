@@ -0,0 +1,7 @@
+-- V6: Indexes for building the message search index
+-- The search index is (re)built by walking all messages in (timestamp, id) order:
+--   WHERE (timestamp, id) > (?, ?) ORDER BY timestamp, id LIMIT n
+-- and after a restart only messages newer than the last flushed segment are read again.
+
+CREATE INDEX IF NOT EXISTS idx_gm_timestamp_id ON group_messages(timestamp, id);
+CREATE INDEX IF NOT EXISTS idx_dm_timestamp_id ON direct_messages(timestamp, id);
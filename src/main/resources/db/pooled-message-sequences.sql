@@ -0,0 +1,7 @@
+-- Pooled sequence ids for group and direct messages (Flyway V3 와 동일, 멱등)
+-- Flyway 가 비활성화되어 있고 ddl-auto=update 는 기존 시퀀스의 INCREMENT 를 바꾸지 않으므로,
+-- JPA 초기화 전에 spring.sql.init 으로 매번 실행해 allocationSize = 50 과 맞춘다.
+-- (불일치 시 Hibernate 6 의 시퀀스 검증이 시작 시점에 실패한다)
+
+ALTER SEQUENCE IF EXISTS group_messages_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS direct_messages_id_seq INCREMENT BY 50;
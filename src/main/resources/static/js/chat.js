@@ -582,7 +582,9 @@ class ChatApp {
 
             if (!response.ok) throw new Error('Search failed');
 
-            const results = await response.json();
+            const data = await response.json();
+            // 채팅방 검색은 페이지 객체 { rooms, page, size, total, hasMore }
+            const results = Array.isArray(data) ? data : data.rooms;
 
             if (results.length === 0) {
                 conversationList.innerHTML = `